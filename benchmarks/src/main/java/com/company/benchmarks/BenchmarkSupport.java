@@ -0,0 +1,72 @@
+package com.company.benchmarks;
+
+import com.company.core.logging.CoreLoggerFactory;
+import com.company.core.logging.LogLevel;
+import com.company.core.model.BusinessContext;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shared fixtures for the benchmark suites
+ */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Keep log output out of the measurement, only warnings and errors are written
+     */
+    static void quietLogging() {
+        CoreLoggerFactory.setLevel(CoreLoggerFactory.ROOT, LogLevel.WARN);
+    }
+
+    /**
+     * Context shaped like the ones built by the tenant UniversalControllers
+     */
+    static BusinessContext newContext(String scenario, String tenantId, long sequence) {
+        BusinessContext context = new BusinessContext(scenario, businessTypeOf(scenario));
+        context.setBusinessId(tenantId + "-" + scenario + "-" + sequence);
+        context.setTenantId(tenantId);
+        context.setOperatorId("bench-operator");
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("orderId", "ORD-" + sequence);
+        data.put("userId", "user-" + (sequence & 1023));
+        data.put("amount", (sequence & 1) == 0 ? 2500 : 60000);
+        data.put("itemCount", (int) (sequence % 6) + 1);
+        data.put("position", "SENIOR");
+        context.setData(data);
+        return context;
+    }
+
+    static String businessTypeOf(String scenario) {
+        switch (scenario) {
+            case "order":
+                return "ORDER_PROCESS";
+            case "medical":
+                return "PRESCRIPTION";
+            case "finance":
+                return "EXPENSE_AUDIT";
+            case "analytics":
+                return "INTELLIGENT_ANALYSIS";
+            default:
+                return "GENERIC";
+        }
+    }
+
+    /**
+     * Set a private (typically @Autowired) field on a bean built outside Spring
+     */
+    static void inject(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot inject " + fieldName + " into " + target.getClass(), e);
+        }
+    }
+}
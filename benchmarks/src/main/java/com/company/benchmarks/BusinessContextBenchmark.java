@@ -0,0 +1,77 @@
+package com.company.benchmarks;
+
+import com.company.core.model.BusinessContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BusinessContext construction and attribute/data access as done by tenant listeners
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BusinessContextBenchmark {
+
+    private static final String[] LISTENER_ATTRIBUTES = {
+        "fraud.check", "fast.track", "recommendation.engine", "external.integration",
+        "business.insights", "audit.timestamp", "notification.channels", "processed.by"
+    };
+
+    private BusinessContext populated;
+
+    @Setup
+    public void setUp() {
+        populated = BenchmarkSupport.newContext("order", "tenant2", 1);
+        for (String attribute : LISTENER_ATTRIBUTES) {
+            populated.setAttribute(attribute, "ENABLED");
+        }
+    }
+
+    @Benchmark
+    public BusinessContext construct() {
+        return new BusinessContext("order", "ORDER_PROCESS");
+    }
+
+    @Benchmark
+    public BusinessContext constructWithAttributes() {
+        BusinessContext context = new BusinessContext("order", "ORDER_PROCESS");
+        for (String attribute : LISTENER_ATTRIBUTES) {
+            context.setAttribute(attribute, "ENABLED");
+        }
+        return context;
+    }
+
+    @Benchmark
+    public void getAttributes(Blackhole blackhole) {
+        for (String attribute : LISTENER_ATTRIBUTES) {
+            blackhole.consume(populated.getAttribute(attribute));
+        }
+    }
+
+    @Benchmark
+    public void readHotData(Blackhole blackhole) {
+        Object amount = populated.getData().get("amount");
+        blackhole.consume(((Number) amount).doubleValue() > 5000);
+        blackhole.consume((Integer) populated.getData().get("itemCount") <= 3);
+    }
+
+    @Benchmark
+    public void readTypedData(Blackhole blackhole) {
+        blackhole.consume(populated.hasAmount() && populated.getAmountMinor() > 500_000L);
+        blackhole.consume(populated.hasItemCount() && populated.getItemCount() <= 3);
+    }
+}
@@ -0,0 +1,78 @@
+package com.company.benchmarks;
+
+import com.company.core.model.BusinessContext;
+import com.company.core.processor.UniversalProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Allocating vs pooled processing of a replay batch; run with -prof gc to compare
+ * gc.alloc.rate.norm per item
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PooledProcessingBenchmark {
+
+    private static final int BATCH = 256;
+
+    private UniversalProcessor processor;
+    private List<Long> amounts;
+    private BiConsumer<Long, BusinessContext> populator;
+    private Consumer<UniversalProcessor.ProcessResult> sink;
+    private long succeeded;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        processor = new UniversalProcessor();
+        amounts = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            amounts.add((i & 1) == 0 ? 250_000L : 6_000_000L);
+        }
+        populator = (amountMinor, context) -> {
+            context.setScenario("order");
+            context.setBusinessType("ORDER_PROCESS");
+            context.setTenantId("tenant1");
+            context.setAmountMinor(amountMinor);
+        };
+        sink = result -> succeeded += result.isSuccess() ? 1 : 0;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void allocating(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            BusinessContext context = new BusinessContext("order", "ORDER_PROCESS");
+            context.setTenantId("tenant1");
+            context.setAmountMinor(amounts.get(i));
+            blackhole.consume(processor.processBusiness(context).isSuccess());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long pooled() {
+        processor.processPooled(amounts, populator, sink);
+        return succeeded;
+    }
+}
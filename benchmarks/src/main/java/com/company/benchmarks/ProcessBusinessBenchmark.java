@@ -0,0 +1,45 @@
+package com.company.benchmarks;
+
+import com.company.core.processor.UniversalProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Core UniversalProcessor.processBusiness per scenario, without tenant customization
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProcessBusinessBenchmark {
+
+    @Param({"order", "medical", "finance", "analytics"})
+    public String scenario;
+
+    private UniversalProcessor processor;
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        processor = new UniversalProcessor();
+    }
+
+    @Benchmark
+    public UniversalProcessor.ProcessResult processBusiness() {
+        return processor.processBusiness(BenchmarkSupport.newContext(scenario, "tenant1", sequence++));
+    }
+}
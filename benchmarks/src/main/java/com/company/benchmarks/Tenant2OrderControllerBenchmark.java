@@ -0,0 +1,114 @@
+package com.company.benchmarks;
+
+import com.company.core.dto.ApiResponse;
+import com.company.core.dto.CursorPage;
+import com.company.core.processor.UniversalProcessor;
+import com.company.core.store.InMemoryOrderStore;
+import com.company.core.store.OffHeapOrderStore;
+import com.company.core.store.StorageMode;
+import com.company.tenant2.app.controller.OrderController;
+import com.company.tenant2.app.dto.CreateOrderRequest;
+import com.company.tenant2.app.dto.OrderDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tenant2 OrderController listing and lookup - offset and cursor pagination plus convertToDto
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Tenant2OrderControllerBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000", "100000"})
+    public int orderCount;
+
+    @Param({"HEAP", "OFF_HEAP"})
+    public StorageMode storage;
+
+    private OrderController controller;
+    private String knownOrderId;
+    private int deepPage;
+    private String deepCursor;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        controller = new OrderController();
+        BenchmarkSupport.inject(controller, "orderProcessor", new UniversalProcessor());
+        BigDecimal threshold = new BigDecimal("50000");
+        BenchmarkSupport.inject(controller, "orderStore", storage == StorageMode.OFF_HEAP
+                ? new OffHeapOrderStore(threshold)
+                : new InMemoryOrderStore(threshold));
+
+        for (int i = 0; i < orderCount; i++) {
+            CreateOrderRequest request = new CreateOrderRequest();
+            request.setUserId("user-" + (i % 1000));
+            request.setUserName("Bench User");
+            request.setUserPhone("000-000-0000");
+            request.setAmount(BigDecimal.valueOf(100 + (i % 100_000)));
+            request.setEnterpriseId("ENT-" + (i % 8));
+            request.setOrderType("ENTERPRISE");
+            ResponseEntity<ApiResponse<OrderDto>> response = controller.createOrder(request);
+            if (knownOrderId == null) {
+                knownOrderId = response.getBody().getData().getId();
+            }
+        }
+        deepPage = orderCount / PAGE_SIZE - 1;
+
+        // Cursor of the same deep page, reached by scrolling
+        for (int i = 0; i < deepPage; i++) {
+            deepCursor = controller.scrollOrders(deepCursor, PAGE_SIZE, null).getBody().getData().getNextCursor();
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiResponse<List<OrderDto>>> firstPage() {
+        return controller.getOrders(0, PAGE_SIZE, null);
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiResponse<List<OrderDto>>> deepPage() {
+        return controller.getOrders(deepPage, PAGE_SIZE, null);
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiResponse<CursorPage<OrderDto>>> firstScrollPage() {
+        return controller.scrollOrders(null, PAGE_SIZE, null);
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiResponse<CursorPage<OrderDto>>> deepScrollPage() {
+        return controller.scrollOrders(deepCursor, PAGE_SIZE, null);
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiResponse<Map<String, Object>>> statistics() {
+        return controller.getTenant2Statistics();
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiResponse<OrderDto>> getOrder() {
+        return controller.getOrder(knownOrderId);
+    }
+}
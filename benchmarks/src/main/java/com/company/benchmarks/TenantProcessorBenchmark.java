@@ -0,0 +1,83 @@
+package com.company.benchmarks;
+
+import com.company.core.event.BusinessEvent;
+import com.company.core.event.BusinessEventBus;
+import com.company.core.model.BusinessContext;
+import com.company.core.processor.UniversalProcessor;
+import com.company.tenant1.listener.OrderEventListener;
+import com.company.tenant1.processor.CustomOrderProcessor;
+import com.company.tenant2.listener.AdvancedOrderEventListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tenant variants of the pipeline - tenant1 inheritance processor, tenant2 event listener
+ * run inline, and the full pipeline publishing through the event bus, whose tenant
+ * listeners run on the publishing thread
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TenantProcessorBenchmark {
+
+    @Param({"order", "medical", "finance"})
+    public String scenario;
+
+    private CustomOrderProcessor tenant1Processor;
+    private AdvancedOrderEventListener tenant2Listener;
+    private UniversalProcessor busProcessor;
+    private BusinessEventBus eventBus;
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        tenant1Processor = new CustomOrderProcessor();
+        tenant2Listener = new AdvancedOrderEventListener();
+
+        eventBus = new BusinessEventBus(Arrays.asList(new OrderEventListener(), tenant2Listener));
+        eventBus.start();
+        busProcessor = new UniversalProcessor();
+        busProcessor.setEventBus(eventBus);
+    }
+
+    @TearDown
+    public void tearDown() {
+        eventBus.close();
+    }
+
+    @Benchmark
+    public UniversalProcessor.ProcessResult tenant1CustomProcessor() {
+        return tenant1Processor.processBusiness(BenchmarkSupport.newContext(scenario, "tenant1", sequence++));
+    }
+
+    @Benchmark
+    public BusinessContext tenant2ListenerInline() {
+        BusinessContext context = BenchmarkSupport.newContext(scenario, "tenant2", sequence++);
+        tenant2Listener.handleBusinessEvent(new BusinessEvent("BEFORE_PROCESS", context));
+        tenant2Listener.handleBusinessEvent(new BusinessEvent("AFTER_PROCESS", context));
+        return context;
+    }
+
+    @Benchmark
+    public UniversalProcessor.ProcessResult tenant2ViaEventBus() {
+        return busProcessor.processBusiness(BenchmarkSupport.newContext(scenario, "tenant2", sequence++));
+    }
+}
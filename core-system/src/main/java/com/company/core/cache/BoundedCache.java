@@ -0,0 +1,398 @@
+package com.company.core.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Bounded Cache - concurrent cache bounded by entry count and total weight, with a W-TinyLFU policy
+ * New entries enter a small LRU window (1% of the weight); entries leaving the window compete
+ * with the least recently used entry of the probation segment, and the one a count-min
+ * {@link FrequencySketch} says was used more often stays. A second hit promotes a probation
+ * entry to the protected segment (80% of the main space). This keeps popular records cached
+ * through scans of one-off IDs, which plain LRU does not.
+ * Lookups are lock-free: hits go into a lossy ring buffer that is replayed against the policy
+ * whenever the policy lock is free, while inserts, invalidations and evictions take the lock.
+ * Read-through loads run inside the map's per-key compute, so an {@link #invalidate} issued
+ * after the backing store was written waits for a concurrent load and never leaves a stale value.
+ */
+public class BoundedCache<K, V> {
+
+    private static final int READ_BUFFER_SIZE = 128;
+    private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+    private static final int DRAIN_MASK = 31;
+    private static final int ADMIT_HASH_FLOOD_GUARD = 6;
+
+    private static final int NONE = 0;
+    private static final int WINDOW = 1;
+    private static final int PROBATION = 2;
+    private static final int PROTECTED = 3;
+
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final long maximumSize;
+    private final long maximumWeight;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private final ToIntFunction<? super V> weigher;
+
+    // Policy state, guarded by evictionLock
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final AccessQueue<K, V> window = new AccessQueue<>();
+    private final AccessQueue<K, V> probation = new AccessQueue<>();
+    private final AccessQueue<K, V> protectedSegment = new AccessQueue<>();
+    private long windowWeight;
+    private long protectedWeight;
+    private volatile long totalWeight;
+    private volatile long entries;
+
+    private final AtomicReferenceArray<Node<K, V>> readBuffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+    private final AtomicLong reads = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder evictedWeight = new LongAdder();
+
+    public BoundedCache(long maximumSize) {
+        this(maximumSize, maximumSize, value -> 1);
+    }
+
+    public BoundedCache(long maximumSize, long maximumWeight, ToIntFunction<? super V> weigher) {
+        if (maximumSize < 1 || maximumWeight < 1) {
+            throw new IllegalArgumentException("Cache bounds must be positive");
+        }
+        this.maximumSize = maximumSize;
+        this.maximumWeight = maximumWeight;
+        this.windowMaximum = Math.max(1, maximumWeight / 100);
+        this.protectedMaximum = (maximumWeight - windowMaximum) * 8 / 10;
+        this.weigher = weigher;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    /**
+     * Cached value or null, counting a hit or a miss
+     */
+    public V getIfPresent(K key) {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        recordRead(node);
+        return node.value;
+    }
+
+    /**
+     * Cached value, or the loader's value which is then cached; a null from the loader is not cached
+     * The loader runs at most once per key at a time and must not use this cache.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V cached = getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Node<K, V>[] created = new Node[1];
+        Node<K, V> node = data.computeIfAbsent(key, k -> {
+            V value = loader.apply(k);
+            if (value == null) {
+                return null;
+            }
+            loads.increment();
+            created[0] = new Node<>(k, value, weigher.applyAsInt(value));
+            return created[0];
+        });
+        if (created[0] != null) {
+            afterWrite(created[0], null);
+        }
+        return node != null ? node.value : null;
+    }
+
+    public void put(K key, V value) {
+        Node<K, V> node = new Node<>(key, value, weigher.applyAsInt(value));
+        afterWrite(node, data.put(key, node));
+    }
+
+    /**
+     * Drop the key; call after the backing store was updated
+     */
+    public void invalidate(K key) {
+        Node<K, V> removed = data.remove(key);
+        if (removed != null) {
+            evictionLock.lock();
+            try {
+                retire(removed);
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        evictionLock.lock();
+        try {
+            for (Node<K, V> node : data.values()) {
+                retire(node);
+            }
+            data.clear();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public long estimatedSize() { return entries; }
+    public long weightedSize() { return totalWeight; }
+    public long getMaximumSize() { return maximumSize; }
+    public long getMaximumWeight() { return maximumWeight; }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), loads.sum(), evictions.sum(), evictedWeight.sum(),
+                entries, totalWeight);
+    }
+
+    private void recordRead(Node<K, V> node) {
+        long index = reads.getAndIncrement();
+        readBuffer.lazySet((int) (index & READ_BUFFER_MASK), node);
+        if ((index & DRAIN_MASK) == DRAIN_MASK && evictionLock.tryLock()) {
+            try {
+                drainReads();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private void afterWrite(Node<K, V> node, Node<K, V> replaced) {
+        evictionLock.lock();
+        try {
+            drainReads();
+            if (replaced != null) {
+                retire(replaced);
+            }
+            // Already invalidated or replaced by a later write whose policy update ran first
+            if (node.retired) {
+                return;
+            }
+            sketch.increment(spread(node.key));
+            node.queue = WINDOW;
+            window.addLast(node);
+            windowWeight += node.weight;
+            totalWeight += node.weight;
+            entries++;
+            evict();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void drainReads() {
+        for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+            Node<K, V> node = readBuffer.getAndSet(i, null);
+            if (node != null) {
+                onAccess(node);
+            }
+        }
+    }
+
+    private void onAccess(Node<K, V> node) {
+        if (node.retired || node.queue == NONE) {
+            return;
+        }
+        sketch.increment(spread(node.key));
+        if (node.queue == WINDOW) {
+            window.moveToBack(node);
+        } else if (node.queue == PROBATION) {
+            probation.remove(node);
+            node.queue = PROTECTED;
+            protectedSegment.addLast(node);
+            protectedWeight += node.weight;
+            while (protectedWeight > protectedMaximum && protectedSegment.first() != null) {
+                Node<K, V> demoted = protectedSegment.first();
+                protectedSegment.remove(demoted);
+                protectedWeight -= demoted.weight;
+                demoted.queue = PROBATION;
+                probation.addLast(demoted);
+            }
+        } else {
+            protectedSegment.moveToBack(node);
+        }
+    }
+
+    private void evict() {
+        // Entries leaving the window become admission candidates at the probation tail
+        while (windowWeight > windowMaximum && window.first() != null) {
+            Node<K, V> node = window.first();
+            window.remove(node);
+            windowWeight -= node.weight;
+            node.queue = PROBATION;
+            probation.addLast(node);
+        }
+        while (totalWeight > maximumWeight || entries > maximumSize) {
+            Node<K, V> victim = probation.first();
+            Node<K, V> candidate = probation.last();
+            if (victim == null) {
+                victim = protectedSegment.first() != null ? protectedSegment.first() : window.first();
+                candidate = null;
+            }
+            if (victim == null) {
+                break;
+            }
+            if (candidate == null || candidate == victim) {
+                evictNode(victim);
+            } else {
+                evictNode(admit(candidate, victim) ? victim : candidate);
+            }
+        }
+    }
+
+    private boolean admit(Node<K, V> candidate, Node<K, V> victim) {
+        int candidateFrequency = sketch.frequency(spread(candidate.key));
+        int victimFrequency = sketch.frequency(spread(victim.key));
+        if (candidateFrequency > victimFrequency) {
+            return true;
+        }
+        // A warm candidate occasionally wins a tie, so an attacker cannot pin a victim by inflating it
+        return candidateFrequency >= ADMIT_HASH_FLOOD_GUARD && ThreadLocalRandom.current().nextInt(128) == 0;
+    }
+
+    private void evictNode(Node<K, V> node) {
+        data.remove(node.key, node);
+        retire(node);
+        evictions.increment();
+        evictedWeight.add(node.weight);
+    }
+
+    // Unlink from the policy; a node that was never linked is marked so its pending insert is skipped
+    private void retire(Node<K, V> node) {
+        if (node.retired) {
+            return;
+        }
+        node.retired = true;
+        if (node.queue == NONE) {
+            return;
+        }
+        if (node.queue == WINDOW) {
+            window.remove(node);
+            windowWeight -= node.weight;
+        } else if (node.queue == PROBATION) {
+            probation.remove(node);
+        } else {
+            protectedSegment.remove(node);
+            protectedWeight -= node.weight;
+        }
+        node.queue = NONE;
+        totalWeight -= node.weight;
+        entries--;
+    }
+
+    private static int spread(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        final V value;
+        final int weight;
+        // Guarded by evictionLock
+        int queue = NONE;
+        boolean retired;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, V value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = Math.max(0, weight);
+        }
+    }
+
+    /**
+     * Doubly-linked LRU order, least recently used first
+     */
+    private static final class AccessQueue<K, V> {
+        private Node<K, V> head;
+        private Node<K, V> tail;
+
+        Node<K, V> first() { return head; }
+        Node<K, V> last() { return tail; }
+
+        void addLast(Node<K, V> node) {
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+        }
+
+        void moveToBack(Node<K, V> node) {
+            if (node != tail) {
+                remove(node);
+                addLast(node);
+            }
+        }
+    }
+
+    /**
+     * Point-in-time cache counters
+     */
+    public static final class Stats {
+        private final long hitCount;
+        private final long missCount;
+        private final long loadCount;
+        private final long evictionCount;
+        private final long evictionWeight;
+        private final long size;
+        private final long weight;
+
+        Stats(long hitCount, long missCount, long loadCount, long evictionCount, long evictionWeight,
+              long size, long weight) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.loadCount = loadCount;
+            this.evictionCount = evictionCount;
+            this.evictionWeight = evictionWeight;
+            this.size = size;
+            this.weight = weight;
+        }
+
+        public long getHitCount() { return hitCount; }
+        public long getMissCount() { return missCount; }
+        public long getLoadCount() { return loadCount; }
+        public long getEvictionCount() { return evictionCount; }
+        public long getEvictionWeight() { return evictionWeight; }
+        public long getSize() { return size; }
+        public long getWeight() { return weight; }
+
+        public double getHitRate() {
+            long requests = hitCount + missCount;
+            return requests == 0 ? 0.0 : (double) hitCount / requests;
+        }
+    }
+}
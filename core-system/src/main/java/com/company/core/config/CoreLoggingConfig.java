@@ -0,0 +1,27 @@
+package com.company.core.config;
+
+import com.company.core.logging.CoreLoggerFactory;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Core Logging Configuration
+ * Applies the application's logging.level entries to the core logging facade (CoreLogger).
+ * Registered as an auto-configuration, so every Spring Boot application built on
+ * core-system picks it up without declaring its own.
+ */
+@AutoConfiguration
+public class CoreLoggingConfig {
+
+    public CoreLoggingConfig(Environment environment) {
+        Map<String, String> levels = Binder.get(environment)
+            .bind("logging.level", Bindable.mapOf(String.class, String.class))
+            .orElse(Collections.emptyMap());
+        CoreLoggerFactory.configure(levels);
+    }
+}
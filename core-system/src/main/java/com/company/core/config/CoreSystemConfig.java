@@ -1,36 +1,181 @@
 package com.company.core.config;
 
+import com.company.core.event.BusinessEventBus;
+import com.company.core.event.BusinessEventListener;
+import com.company.core.maintenance.MaintenanceScheduler;
+import com.company.core.notification.NotificationChannel;
+import com.company.core.notification.NotificationOutbox;
+import com.company.core.notification.NotificationTemplates;
+import com.company.core.notification.OverflowPolicy;
+import com.company.core.notification.StubTransport;
 import com.company.core.processor.OrderProcessor;
 import com.company.core.processor.UniversalProcessor;
 import com.company.core.service.NotificationService;
-// NOTE: Spring imports commented out for standalone compilation
-// import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
-// import org.springframework.context.annotation.Bean;
-// import org.springframework.context.annotation.Configuration;
+import com.company.core.store.InMemoryOrderStore;
+import com.company.core.store.OffHeapCompactionTask;
+import com.company.core.store.OffHeapOrderStore;
+import com.company.core.store.OrderStore;
+import com.company.core.store.StorageMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import java.math.BigDecimal;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * Core System Configuration
  * Provides default beans when no tenant-specific implementations are available
- * NOTE: Spring annotations commented out for standalone compilation
+ * Registered as an auto-configuration, so it is evaluated after the application's own and
+ * scanned tenant beans and each default backs off when a tenant declares its own.
  */
-// @Configuration
+@AutoConfiguration
 public class CoreSystemConfig {
     
     /**
      * Default order processor when no tenant customization is available
      */
-    // @Bean
-    // @ConditionalOnMissingBean(OrderProcessor.class)
+    @Bean
+    @ConditionalOnMissingBean(OrderProcessor.class)
     public UniversalProcessor universalProcessor() {
+        // Event bus and backpressure signal are injected through the processor's setters
         return new UniversalProcessor();
     }
+
+    /**
+     * Asynchronous event bus, tenant listeners are picked up as BusinessEventListener beans
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnMissingBean(BusinessEventBus.class)
+    public BusinessEventBus businessEventBus(ObjectProvider<BusinessEventListener> listeners) {
+        return new BusinessEventBus(listeners.orderedStream().collect(Collectors.toList()));
+    }
     
     /**
-     * Default notification service
+     * Default order store, thread-safe and indexed by creation time
+     * High-value statistics use orders.high-value-threshold; orders.storage=OFF_HEAP keeps
+     * the orders in direct memory instead of on the heap
+     */
+    @Bean
+    @ConditionalOnMissingBean(OrderStore.class)
+    public OrderStore orderStore(
+            @Value("${orders.high-value-threshold:10000}")
+            BigDecimal highValueThreshold,
+            @Value("${orders.storage:HEAP}")
+            StorageMode storage) {
+        if (storage == StorageMode.OFF_HEAP) {
+            return new OffHeapOrderStore(highValueThreshold);
+        }
+        return new InMemoryOrderStore(highValueThreshold);
+    }
+
+    /**
+     * Background compaction of the off-heap order store
+     * Superseded order versions are evacuated chunk by chunk in budgeted increments on a
+     * low-priority thread; writes never compact themselves.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "orders.storage", havingValue = "OFF_HEAP")
+    public MaintenanceScheduler orderStoreMaintenance(
+            OrderStore orderStore,
+            @Value("${orders.compaction.interval-seconds:60}")
+            long intervalSeconds,
+            @Value("${orders.compaction.increment-cpu-millis:2}")
+            long incrementCpuMillis,
+            @Value("${orders.compaction.increment-io-kb:256}")
+            long incrementIoKb,
+            @Value("${orders.compaction.pause-millis:20}")
+            long pauseMillis) {
+        MaintenanceScheduler scheduler = new MaintenanceScheduler("order-store-maintenance",
+                incrementCpuMillis, incrementIoKb << 10, pauseMillis);
+        if (orderStore instanceof OffHeapOrderStore) {
+            scheduler.register(new OffHeapCompactionTask("order-compaction",
+                    ((OffHeapOrderStore) orderStore).getRecords()), TimeUnit.SECONDS.toMillis(intervalSeconds));
+            scheduler.start();
+        }
+        return scheduler;
+    }
+
+    /**
+     * Default notification outbox, delivering through the local stub transport
+     * Tenants plug in real providers by declaring their own outbox with Email/SMS transports.
+     * Rates of 0 leave a channel or tenant unlimited, a coalescing window of 0 disables coalescing.
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnMissingBean(NotificationOutbox.class)
+    public NotificationOutbox notificationOutbox(
+            @Value("${notifications.queue-capacity:10000}")
+            int queueCapacity,
+            @Value("${notifications.batch-size:50}")
+            int batchSize,
+            @Value("${notifications.linger-ms:20}")
+            long lingerMillis,
+            @Value("${notifications.overflow-policy:BLOCK}")
+            OverflowPolicy overflowPolicy,
+            @Value("${notifications.block-timeout-ms:100}")
+            long blockTimeoutMillis,
+            @Value("${notifications.spill-dir:./data/notification-spill}")
+            String spillDirectory,
+            @Value("${notifications.rate-limit.email-per-second:0}")
+            double emailPerSecond,
+            @Value("${notifications.rate-limit.sms-per-second:0}")
+            double smsPerSecond,
+            @Value("${notifications.rate-limit.burst:100}")
+            int burst,
+            @Value("${notifications.rate-limit.tenant-per-second:0}")
+            double tenantPerSecond,
+            @Value("${notifications.rate-limit.tenant-burst:200}")
+            int tenantBurst,
+            @Value("${notifications.coalescing.window-ms:0}")
+            long coalescingWindowMillis,
+            @Value("${notifications.coalescing.max-tracked:100000}")
+            int coalescingMaxTracked) {
+        StubTransport transport = new StubTransport();
+        return new NotificationOutbox(transport, transport, queueCapacity, batchSize, lingerMillis)
+                .withOverflowPolicy(overflowPolicy, blockTimeoutMillis, Paths.get(spillDirectory))
+                .withChannelRateLimit(NotificationChannel.EMAIL, emailPerSecond, burst)
+                .withChannelRateLimit(NotificationChannel.SMS, smsPerSecond, burst)
+                .withTenantRateLimit(NotificationChannel.EMAIL, tenantPerSecond, tenantBurst)
+                .withTenantRateLimit(NotificationChannel.SMS, tenantPerSecond, tenantBurst)
+                .withCoalescing(coalescingWindowMillis, coalescingMaxTracked);
+    }
+
+    /**
+     * Core notification templates plus the tenant's overrides from notifications.templates
+     * Overrides are compiled at startup, so a misspelt placeholder fails the application
+     */
+    @Bean
+    @ConditionalOnMissingBean(NotificationTemplates.class)
+    public NotificationTemplates notificationTemplates(
+            Environment environment,
+            @Value("${tenant.id:}")
+            String tenantId) {
+        Map<String, String> overrides = Binder.get(environment)
+                .bind("notifications.templates", Bindable.mapOf(String.class, String.class))
+                .orElse(Collections.emptyMap());
+        return NotificationTemplates.withDefaults().override(tenantId, overrides);
+    }
+
+    /**
+     * Default notification service, queueing into the outbox
      */
-    // @Bean
-    // @ConditionalOnMissingBean(NotificationService.class)
-    public NotificationService notificationService() {
-        return new NotificationService();
+    @Bean
+    @ConditionalOnMissingBean(NotificationService.class)
+    public NotificationService notificationService(
+            NotificationOutbox notificationOutbox,
+            NotificationTemplates notificationTemplates,
+            @Value("${tenant.id:}")
+            String tenantId) {
+        return new NotificationService(notificationOutbox, tenantId, notificationTemplates);
     }
 }
\ No newline at end of file
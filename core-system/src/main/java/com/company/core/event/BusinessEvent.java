@@ -16,6 +16,13 @@ public class BusinessEvent {
         this.phase = phase;
     }
 
+    // Rebind a bus-owned event to the next queued phase/context
+    void reuse(String phase, BusinessContext context) {
+        this.phase = phase;
+        this.context = context;
+        this.skipDefault = false;
+    }
+
     public String getPhase() { return phase; }
     public BusinessContext getContext() { return context; }
     
@@ -23,6 +30,12 @@ public class BusinessEvent {
         return this.phase != null && this.phase.equals(phase);
     }
     
+    /**
+     * Ask the publisher to skip its default action
+     * Only synchronous listeners can do this: the publisher checks {@link #isSkipDefault()}
+     * after {@link BusinessEventBus#publish(BusinessEvent)} returns, before asynchronous
+     * listeners have run. On BEFORE_PROCESS the processor then skips the scenario handler.
+     */
     public void skipDefaultAction() {
         this.skipDefault = true;
     }
@@ -0,0 +1,339 @@
+package com.company.core.event;
+
+import com.company.core.logging.CoreLogger;
+import com.company.core.logging.CoreLoggerFactory;
+import com.company.core.model.BusinessContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Business Event Bus - asynchronous in-process dispatch of {@link BusinessEvent}
+ * Synchronous listeners, those that write to the context, run on the publishing thread
+ * before publish returns. For the others publishing only claims a ring buffer slot and they
+ * run in batches on consumer threads. Events are spread over partitions according to the
+ * configured {@link EventOrdering}, each partition owning one ring buffer and one consumer
+ * thread.
+ */
+public class BusinessEventBus implements AutoCloseable {
+
+    private static final CoreLogger log = CoreLoggerFactory.getLogger(BusinessEventBus.class);
+
+    public static final int DEFAULT_PARTITIONS = 4;
+    public static final int DEFAULT_RING_SIZE = 1024;
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    private static final int IDLE_SPINS = 100;
+    private static final long MAX_IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    private final List<BusinessEventListener> synchronousListeners = new ArrayList<>();
+    private final List<BusinessEventListener> listeners = new ArrayList<>();
+    private final EventOrdering ordering;
+    private final int batchSize;
+    private final Partition[] partitions;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder listenerFailures = new LongAdder();
+
+    private volatile boolean running;
+
+    public BusinessEventBus(List<BusinessEventListener> listeners) {
+        this(listeners, EventOrdering.PER_BUSINESS, DEFAULT_PARTITIONS, DEFAULT_RING_SIZE, DEFAULT_BATCH_SIZE);
+    }
+
+    public BusinessEventBus(List<BusinessEventListener> listeners, EventOrdering ordering,
+                            int partitionCount, int ringSize, int batchSize) {
+        if (partitionCount < 1 || ringSize < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Partitions, ring size and batch size must be positive");
+        }
+        if (listeners != null) {
+            for (BusinessEventListener listener : listeners) {
+                (listener.isSynchronous() ? synchronousListeners : this.listeners).add(listener);
+            }
+        }
+        this.ordering = ordering != null ? ordering : EventOrdering.PER_BUSINESS;
+        this.batchSize = batchSize;
+
+        int effectivePartitions = this.ordering == EventOrdering.GLOBAL ? 1 : partitionCount;
+        this.partitions = new Partition[effectivePartitions];
+        for (int i = 0; i < effectivePartitions; i++) {
+            partitions[i] = new Partition(i, ringSize);
+        }
+    }
+
+    /**
+     * Start consumer threads, idempotent
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        for (Partition partition : partitions) {
+            partition.start();
+        }
+    }
+
+    /**
+     * Publish an event, waiting for a free slot when the partition is full
+     * Synchronous listeners have run when this returns. Returns false only when the bus is
+     * not running. A pooled context is retained until its asynchronous listeners have run.
+     */
+    public boolean publish(String phase, BusinessContext context) {
+        if (!running) {
+            return false;
+        }
+        if (!synchronousListeners.isEmpty()) {
+            dispatchSynchronous(new BusinessEvent(phase, context));
+        }
+        return enqueue(phase, context);
+    }
+
+    /**
+     * Publish an event the caller inspects afterwards, e.g. for {@link BusinessEvent#isSkipDefault()}
+     */
+    public boolean publish(BusinessEvent event) {
+        if (!running) {
+            return false;
+        }
+        dispatchSynchronous(event);
+        return enqueue(event.getPhase(), event.getContext());
+    }
+
+    /**
+     * Publish without waiting, returns false when the partition is full or the bus is stopped
+     * Synchronous listeners run either way; on a full partition only the asynchronous
+     * listeners miss the event.
+     */
+    public boolean tryPublish(String phase, BusinessContext context) {
+        if (!running) {
+            return false;
+        }
+        if (!synchronousListeners.isEmpty()) {
+            dispatchSynchronous(new BusinessEvent(phase, context));
+        }
+        if (listeners.isEmpty()) {
+            published.increment();
+            dispatched.increment();
+            return true;
+        }
+        Partition partition = partitionFor(context);
+        retain(context);
+        if (!partition.ring.offer(phase, context)) {
+            release(context);
+            return false;
+        }
+        published.increment();
+        partition.afterOffer();
+        return true;
+    }
+
+    private boolean enqueue(String phase, BusinessContext context) {
+        published.increment();
+        if (listeners.isEmpty()) {
+            dispatched.increment();
+            return true;
+        }
+        Partition partition = partitionFor(context);
+        retain(context);
+        int attempts = 0;
+        while (running) {
+            if (partition.ring.offer(phase, context)) {
+                partition.afterOffer();
+                return true;
+            }
+            backOff(++attempts);
+        }
+        release(context);
+        return false;
+    }
+
+    /**
+     * Stop accepting events, drain what is queued and stop consumer threads
+     * Events offered while the bus was stopping are dispatched on the closing thread, or on
+     * the publishing thread if it offered after that final drain.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+        }
+        for (Partition partition : partitions) {
+            partition.stop();
+        }
+    }
+
+    public boolean isRunning() { return running; }
+    public boolean hasSynchronousListeners() { return !synchronousListeners.isEmpty(); }
+    public EventOrdering getOrdering() { return ordering; }
+    public int getPartitionCount() { return partitions.length; }
+    public long getPublishedCount() { return published.sum(); }
+    public long getDispatchedCount() { return dispatched.sum(); }
+    public long getListenerFailureCount() { return listenerFailures.sum(); }
+
+    public int getPendingEvents() {
+        int pending = 0;
+        for (Partition partition : partitions) {
+            pending += partition.ring.size();
+        }
+        return pending;
+    }
+
+    private Partition partitionFor(BusinessContext context) {
+        if (partitions.length == 1) {
+            return partitions[0];
+        }
+        int hash;
+        switch (ordering) {
+            case PER_TENANT:
+                hash = hashOf(context != null ? context.getTenantId() : null);
+                break;
+            case PER_BUSINESS:
+                hash = hashOf(context != null ? context.getBusinessId() : null);
+                break;
+            default:
+                hash = Long.hashCode(Thread.currentThread().getId());
+                break;
+        }
+        return partitions[Math.floorMod(hash ^ (hash >>> 16), partitions.length)];
+    }
+
+    private static int hashOf(String key) {
+        return key != null ? key.hashCode() : 0;
+    }
+
+    private static void backOff(int attempts) {
+        if (attempts < IDLE_SPINS) {
+            Thread.onSpinWait();
+        } else {
+            LockSupport.parkNanos(MAX_IDLE_PARK_NANOS);
+        }
+    }
+
+    private static void retain(BusinessContext context) {
+        if (context != null) {
+            context.retain();
+        }
+    }
+
+    private static void release(BusinessContext context) {
+        if (context != null) {
+            context.release();
+        }
+    }
+
+    // Publishing thread: synchronous listeners see the caller's event and context
+    private void dispatchSynchronous(BusinessEvent event) {
+        for (BusinessEventListener listener : synchronousListeners) {
+            notifyListener(listener, event);
+        }
+    }
+
+    private void notifyListener(BusinessEventListener listener, BusinessEvent event) {
+        try {
+            listener.onEvent(event);
+        } catch (Exception e) {
+            listenerFailures.increment();
+            log.warn("EVENT BUS: Listener {} failed on {}: {}",
+                    listener.getClass().getSimpleName(), event.getPhase(), e.getMessage());
+        }
+    }
+
+    // Consumer thread only: the partition's event instance is rebound for every dispatch
+    private void dispatch(BusinessEvent event, String phase, BusinessContext context) {
+        event.reuse(phase, context);
+        try {
+            for (BusinessEventListener listener : listeners) {
+                notifyListener(listener, event);
+            }
+        } finally {
+            event.reuse(null, null);
+            release(context);
+        }
+        dispatched.increment();
+    }
+
+    /**
+     * One ring buffer plus the consumer thread draining it
+     */
+    private final class Partition implements Runnable {
+
+        private final EventRingBuffer ring;
+        private final Thread consumer;
+        private final BusinessEvent event = new BusinessEvent(null, null);
+
+        Partition(int index, int ringSize) {
+            this.ring = new EventRingBuffer(ringSize);
+            this.consumer = new Thread(this, "business-event-bus-" + index);
+            this.consumer.setDaemon(true);
+        }
+
+        void start() {
+            consumer.start();
+        }
+
+        private boolean stopped;
+
+        void stop() {
+            LockSupport.unpark(consumer);
+            try {
+                consumer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (consumer.isAlive()) {
+                log.warn("EVENT BUS: Consumer {} did not stop, {} events left to it", consumer.getName(), ring.size());
+                return;
+            }
+            synchronized (this) {
+                stopped = true;
+                drainRemaining();
+            }
+        }
+
+        // A publisher that passed the running check may offer after the consumer exited
+        void afterOffer() {
+            if (!running) {
+                synchronized (this) {
+                    if (stopped) {
+                        drainRemaining();
+                    }
+                }
+            }
+        }
+
+        // Called once the consumer has exited, serialized by the partition lock; waits for
+        // slots that were claimed but not yet published
+        private void drainRemaining() {
+            EventRingBuffer.Sink sink = (phase, context) -> dispatch(event, phase, context);
+            int idle = 0;
+            while (ring.size() > 0) {
+                if (ring.drain(batchSize, sink) > 0) {
+                    idle = 0;
+                } else {
+                    backOff(++idle);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            EventRingBuffer.Sink sink = (phase, context) -> dispatch(event, phase, context);
+            int idle = 0;
+            while (running || ring.size() > 0) {
+                if (ring.drain(batchSize, sink) > 0) {
+                    idle = 0;
+                } else {
+                    backOff(++idle);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.company.core.event;
+
+/**
+ * Business Event Listener - receives events dispatched by {@link BusinessEventBus}
+ * Asynchronous listeners (the default) are called on a bus consumer thread while the request
+ * carries on, so they must treat the context as read-only. The event instance is reused for
+ * the next dispatch and pooled contexts are recycled once all listeners returned, so neither
+ * may be retained beyond onEvent.
+ */
+public interface BusinessEventListener {
+
+    /**
+     * Handle a single business event
+     */
+    void onEvent(BusinessEvent event);
+
+    /**
+     * Whether the listener runs on the publishing thread before publish returns
+     * Listeners that write to the context or call {@link BusinessEvent#skipDefaultAction()}
+     * must return true, so that processing and the response see their changes.
+     */
+    default boolean isSynchronous() {
+        return false;
+    }
+}
@@ -0,0 +1,28 @@
+package com.company.core.event;
+
+/**
+ * Ordering guarantee offered by {@link BusinessEventBus}
+ * Events sharing the same key are always delivered in publish order
+ */
+public enum EventOrdering {
+
+    /**
+     * Single consumer, total order across all events
+     */
+    GLOBAL,
+
+    /**
+     * Events of the same tenantId are delivered in order
+     */
+    PER_TENANT,
+
+    /**
+     * Events of the same businessId are delivered in order
+     */
+    PER_BUSINESS,
+
+    /**
+     * Only events published by the same thread are delivered in order
+     */
+    UNORDERED
+}
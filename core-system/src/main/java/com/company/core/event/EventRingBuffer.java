@@ -0,0 +1,105 @@
+package com.company.core.event;
+
+import com.company.core.model.BusinessContext;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free ring buffer - many producers, one consumer
+ * Each slot carries a sequence number: producers claim a slot with a single CAS on
+ * the tail, the consumer owns the head and hands slots back by bumping their sequence
+ */
+final class EventRingBuffer {
+
+    /**
+     * Receives drained events on the consumer thread
+     */
+    interface Sink {
+        void accept(String phase, BusinessContext context);
+    }
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final String[] phases;
+    private final BusinessContext[] contexts;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    EventRingBuffer(int requestedCapacity) {
+        this.capacity = roundUpToPowerOfTwo(requestedCapacity);
+        this.mask = capacity - 1;
+        this.sequences = new AtomicLongArray(capacity);
+        this.phases = new String[capacity];
+        this.contexts = new BusinessContext[capacity];
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Try to enqueue an event, returns false when the ring is full
+     */
+    boolean offer(String phase, BusinessContext context) {
+        long position = tail.get();
+        for (;;) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    phases[index] = phase;
+                    contexts[index] = context;
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Drain up to maxEvents into the sink, consumer thread only
+     */
+    int drain(int maxEvents, Sink sink) {
+        long position = head;
+        int drained = 0;
+        while (drained < maxEvents) {
+            int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            String phase = phases[index];
+            BusinessContext context = contexts[index];
+            phases[index] = null;
+            contexts[index] = null;
+            sequences.lazySet(index, position + capacity);
+            position++;
+            drained++;
+            sink.accept(phase, context);
+        }
+        if (drained > 0) {
+            head = position;
+        }
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    private static int roundUpToPowerOfTwo(int value) {
+        if (value < 2) {
+            return 2;
+        }
+        return Integer.highestOneBit(value - 1) << 1;
+    }
+}
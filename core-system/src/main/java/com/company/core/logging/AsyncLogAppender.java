@@ -0,0 +1,190 @@
+package com.company.core.logging;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Async Log Appender - moves formatting and console output off request threads
+ * Callers only enqueue a {@link LogRecord}; a single writer thread formats batches into a
+ * reused buffer and writes them with one flush per batch. When the queue is full the record
+ * is dropped and counted instead of blocking the caller; so is a record that fails to format
+ * or write, without affecting the rest of its batch.
+ */
+public final class AsyncLogAppender implements AutoCloseable {
+
+    public static final int DEFAULT_CAPACITY = 8192;
+    private static final int BATCH_SIZE = 256;
+    private static final long POLL_MILLIS = 100;
+
+    private final BlockingQueue<LogRecord> queue;
+    private final Writer out;
+    private final Writer err;
+    private final Thread writerThread;
+    private final LongAdder dropped = new LongAdder();
+
+    // Writer thread state
+    private final List<LogRecord> batch = new ArrayList<>(BATCH_SIZE);
+    private final StringBuilder line = new StringBuilder(256);
+    private char[] chars = new char[256];
+    private final TimeZone timeZone = TimeZone.getDefault();
+
+    private volatile boolean running = true;
+
+    public AsyncLogAppender(OutputStream out, OutputStream err, int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.out = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        this.err = new OutputStreamWriter(err, StandardCharsets.UTF_8);
+        this.writerThread = new Thread(this::drainLoop, "core-log-appender");
+        this.writerThread.setDaemon(true);
+        this.writerThread.setPriority(Thread.NORM_PRIORITY - 1);
+        this.writerThread.start();
+    }
+
+    void append(LogRecord record) {
+        if (!running || !queue.offer(record)) {
+            dropped.increment();
+        }
+    }
+
+    public long getDroppedCount() { return dropped.sum(); }
+    public int getQueueDepth() { return queue.size(); }
+
+    /**
+     * Stop the writer thread after flushing queued records
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                LogRecord first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                writeBatch();
+            } catch (InterruptedException e) {
+                running = false;
+            }
+        }
+    }
+
+    private void writeBatch() {
+        boolean wroteOut = false;
+        boolean wroteErr = false;
+        for (LogRecord record : batch) {
+            boolean toErr = record.level.compareTo(LogLevel.WARN) >= 0;
+            // Never let one record's formatting or write failure kill the writer thread
+            try {
+                format(record);
+                write(toErr ? err : out);
+                wroteOut |= !toErr;
+                wroteErr |= toErr;
+            } catch (Exception e) {
+                dropped.increment();
+            }
+        }
+        batch.clear();
+        flush(wroteOut, out);
+        flush(wroteErr, err);
+    }
+
+    private void flush(boolean wrote, Writer target) {
+        if (wrote) {
+            try {
+                target.flush();
+            } catch (IOException e) {
+                // A broken stream fails the next writes too, which are counted as dropped
+            }
+        }
+    }
+
+    private void write(Writer target) throws IOException {
+        int length = line.length();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        line.getChars(0, length, chars, 0);
+        target.write(chars, 0, length);
+    }
+
+    private void format(LogRecord record) {
+        line.setLength(0);
+        appendTime(record.timestampMillis);
+        line.append(" [").append(record.threadName).append("] ");
+        line.append(record.level.name());
+        for (int i = record.level.name().length(); i < 5; i++) {
+            line.append(' ');
+        }
+        line.append(' ').append(record.loggerName).append(" - ");
+        appendMessage(record);
+        line.append(System.lineSeparator());
+        if (record.error != null) {
+            StringWriter trace = new StringWriter();
+            record.error.printStackTrace(new PrintWriter(trace));
+            line.append(trace);
+        }
+    }
+
+    private void appendMessage(LogRecord record) {
+        String message = record.message;
+        if (message == null) {
+            line.append("null");
+            return;
+        }
+        int argIndex = 0;
+        int length = message.length();
+        for (int i = 0; i < length; i++) {
+            char c = message.charAt(i);
+            if (c == '{' && i + 1 < length && message.charAt(i + 1) == '}' && argIndex < record.argCount) {
+                line.append(record.arg(argIndex++));
+                i++;
+            } else {
+                line.append(c);
+            }
+        }
+    }
+
+    private void appendTime(long millis) {
+        long local = millis + timeZone.getOffset(millis);
+        int millisOfDay = (int) Math.floorMod(local, TimeUnit.DAYS.toMillis(1));
+        appendPadded(millisOfDay / 3_600_000, 2);
+        line.append(':');
+        appendPadded(millisOfDay / 60_000 % 60, 2);
+        line.append(':');
+        appendPadded(millisOfDay / 1000 % 60, 2);
+        line.append('.');
+        appendPadded(millisOfDay % 1000, 3);
+    }
+
+    private void appendPadded(int value, int width) {
+        if (width == 3 && value < 100) {
+            line.append('0');
+        }
+        if (value < 10) {
+            line.append('0');
+        }
+        line.append(value);
+    }
+}
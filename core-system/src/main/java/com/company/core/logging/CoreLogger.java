@@ -0,0 +1,129 @@
+package com.company.core.logging;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Core Logger - level-gated logging facade over {@link AsyncLogAppender}
+ * Messages use {} placeholders and are formatted on the appender thread, so a disabled
+ * statement costs one field read. Strings, boxed primitives, big numbers and enums are passed
+ * as they are; any other argument is converted to a String on the caller thread when the
+ * level is enabled, because the caller may change or recycle it (such as a pooled
+ * BusinessContext) before the appender gets to it. Fixed-arity overloads avoid varargs arrays.
+ */
+public final class CoreLogger {
+
+    private final String name;
+    private final String displayName;
+    private final AsyncLogAppender appender;
+    private volatile int threshold;
+
+    CoreLogger(String name, LogLevel level, AsyncLogAppender appender) {
+        this.name = name;
+        this.displayName = name.substring(name.lastIndexOf('.') + 1);
+        this.appender = appender;
+        this.threshold = level.ordinal();
+    }
+
+    void setLevel(LogLevel level) {
+        this.threshold = level.ordinal();
+    }
+
+    public String getName() { return name; }
+    public LogLevel getLevel() { return LogLevel.values()[threshold]; }
+
+    public boolean isEnabled(LogLevel level) {
+        return level.ordinal() >= threshold && level != LogLevel.OFF;
+    }
+
+    public boolean isTraceEnabled() { return threshold <= LogLevel.TRACE.ordinal(); }
+    public boolean isDebugEnabled() { return threshold <= LogLevel.DEBUG.ordinal(); }
+    public boolean isInfoEnabled() { return threshold <= LogLevel.INFO.ordinal(); }
+    public boolean isWarnEnabled() { return threshold <= LogLevel.WARN.ordinal(); }
+    public boolean isErrorEnabled() { return threshold <= LogLevel.ERROR.ordinal(); }
+
+    public void debug(String message) {
+        if (isDebugEnabled()) log(LogLevel.DEBUG, message, null, null, null, 0, null);
+    }
+
+    public void debug(String message, Object arg) {
+        if (isDebugEnabled()) log(LogLevel.DEBUG, message, arg, null, null, 1, null);
+    }
+
+    public void debug(String message, Object arg1, Object arg2) {
+        if (isDebugEnabled()) log(LogLevel.DEBUG, message, arg1, arg2, null, 2, null);
+    }
+
+    public void debug(String message, Object arg1, Object arg2, Object arg3) {
+        if (isDebugEnabled()) log(LogLevel.DEBUG, message, arg1, arg2, arg3, 3, null);
+    }
+
+    public void info(String message) {
+        if (isInfoEnabled()) log(LogLevel.INFO, message, null, null, null, 0, null);
+    }
+
+    public void info(String message, Object arg) {
+        if (isInfoEnabled()) log(LogLevel.INFO, message, arg, null, null, 1, null);
+    }
+
+    public void info(String message, Object arg1, Object arg2) {
+        if (isInfoEnabled()) log(LogLevel.INFO, message, arg1, arg2, null, 2, null);
+    }
+
+    public void info(String message, Object arg1, Object arg2, Object arg3) {
+        if (isInfoEnabled()) log(LogLevel.INFO, message, arg1, arg2, arg3, 3, null);
+    }
+
+    public void warn(String message) {
+        if (isWarnEnabled()) log(LogLevel.WARN, message, null, null, null, 0, null);
+    }
+
+    public void warn(String message, Object arg) {
+        if (isWarnEnabled()) log(LogLevel.WARN, message, arg, null, null, 1, null);
+    }
+
+    public void warn(String message, Object arg1, Object arg2) {
+        if (isWarnEnabled()) log(LogLevel.WARN, message, arg1, arg2, null, 2, null);
+    }
+
+    public void warn(String message, Object arg1, Object arg2, Object arg3) {
+        if (isWarnEnabled()) log(LogLevel.WARN, message, arg1, arg2, arg3, 3, null);
+    }
+
+    public void error(String message) {
+        if (isErrorEnabled()) log(LogLevel.ERROR, message, null, null, null, 0, null);
+    }
+
+    public void error(String message, Object arg) {
+        if (isErrorEnabled()) log(LogLevel.ERROR, message, arg, null, null, 1, null);
+    }
+
+    public void error(String message, Throwable error) {
+        if (isErrorEnabled()) log(LogLevel.ERROR, message, null, null, null, 0, error);
+    }
+
+    public void error(String message, Object arg, Throwable error) {
+        if (isErrorEnabled()) log(LogLevel.ERROR, message, arg, null, null, 1, error);
+    }
+
+    private void log(LogLevel level, String message, Object arg1, Object arg2, Object arg3,
+                     int argCount, Throwable error) {
+        appender.append(new LogRecord(level, displayName, message,
+                snapshot(arg1), snapshot(arg2), snapshot(arg3), argCount, error));
+    }
+
+    // Immutable values are safe to format later, anything else is rendered now
+    private static Object snapshot(Object arg) {
+        if (arg == null || arg instanceof String || arg instanceof Long || arg instanceof Integer
+                || arg instanceof Double || arg instanceof Float || arg instanceof Short || arg instanceof Byte
+                || arg instanceof Boolean || arg instanceof Character || arg instanceof BigDecimal
+                || arg instanceof BigInteger || arg instanceof Enum) {
+            return arg;
+        }
+        try {
+            return String.valueOf(arg);
+        } catch (RuntimeException e) {
+            return "[" + arg.getClass().getName() + ".toString() failed: " + e + "]";
+        }
+    }
+}
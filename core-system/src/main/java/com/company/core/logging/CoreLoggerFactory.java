@@ -0,0 +1,89 @@
+package com.company.core.logging;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Core Logger Factory - loggers and per-package levels for the core logging facade
+ * Levels use the same keys as Spring's logging.level (package prefixes plus "root"),
+ * so tenant YAML such as logging.level.com.company.tenant1: DEBUG applies as-is.
+ */
+public final class CoreLoggerFactory {
+
+    public static final String ROOT = "root";
+
+    private static final AsyncLogAppender APPENDER = new AsyncLogAppender(
+            System.out, System.err, AsyncLogAppender.DEFAULT_CAPACITY);
+
+    private static final Map<String, CoreLogger> LOGGERS = new ConcurrentHashMap<>();
+    private static final Map<String, LogLevel> LEVELS = new HashMap<>();
+
+    static {
+        LEVELS.put(ROOT, LogLevel.INFO);
+        Runtime.getRuntime().addShutdownHook(new Thread(APPENDER::close, "core-log-shutdown"));
+    }
+
+    private CoreLoggerFactory() {
+    }
+
+    public static CoreLogger getLogger(Class<?> type) {
+        return getLogger(type.getName());
+    }
+
+    public static CoreLogger getLogger(String name) {
+        CoreLogger logger = LOGGERS.get(name);
+        if (logger != null) {
+            return logger;
+        }
+        synchronized (CoreLoggerFactory.class) {
+            return LOGGERS.computeIfAbsent(name,
+                    key -> new CoreLogger(key, resolveLevel(key), APPENDER));
+        }
+    }
+
+    /**
+     * Apply logging.level entries, e.g. {"root": "INFO", "com.company.tenant1": "DEBUG"}
+     * Unknown level names are ignored
+     */
+    public static synchronized void configure(Map<String, String> levels) {
+        for (Map.Entry<String, String> entry : levels.entrySet()) {
+            LogLevel level = LogLevel.parse(entry.getValue());
+            if (entry.getKey() != null && level != null) {
+                LEVELS.put(entry.getKey(), level);
+            }
+        }
+        refreshLevels();
+    }
+
+    public static synchronized void setLevel(String prefix, LogLevel level) {
+        LEVELS.put(prefix, level);
+        refreshLevels();
+    }
+
+    public static AsyncLogAppender getAppender() {
+        return APPENDER;
+    }
+
+    private static void refreshLevels() {
+        for (CoreLogger logger : LOGGERS.values()) {
+            logger.setLevel(resolveLevel(logger.getName()));
+        }
+    }
+
+    // Longest configured package prefix wins, falling back to root
+    private static LogLevel resolveLevel(String name) {
+        String candidate = name;
+        while (true) {
+            LogLevel level = LEVELS.get(candidate);
+            if (level != null) {
+                return level;
+            }
+            int dot = candidate.lastIndexOf('.');
+            if (dot < 0) {
+                return LEVELS.get(ROOT);
+            }
+            candidate = candidate.substring(0, dot);
+        }
+    }
+}
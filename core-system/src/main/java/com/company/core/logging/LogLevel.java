@@ -0,0 +1,35 @@
+package com.company.core.logging;
+
+/**
+ * Log levels of the core logging facade, ordered from most to least verbose
+ */
+public enum LogLevel {
+    TRACE,
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR,
+    OFF;
+
+    /**
+     * Parse a level name as written under logging.level, null when unknown
+     */
+    public static LogLevel parse(String name) {
+        if (name == null) {
+            return null;
+        }
+        String normalized = name.trim().toUpperCase();
+        if ("WARNING".equals(normalized)) {
+            return WARN;
+        }
+        if ("FATAL".equals(normalized)) {
+            return ERROR;
+        }
+        for (LogLevel level : values()) {
+            if (level.name().equals(normalized)) {
+                return level;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,40 @@
+package com.company.core.logging;
+
+/**
+ * One pending log statement - unformatted template plus its arguments
+ */
+final class LogRecord {
+
+    final LogLevel level;
+    final String loggerName;
+    final String message;
+    final Object arg1;
+    final Object arg2;
+    final Object arg3;
+    final int argCount;
+    final Throwable error;
+    final long timestampMillis;
+    final String threadName;
+
+    LogRecord(LogLevel level, String loggerName, String message, Object arg1, Object arg2, Object arg3,
+              int argCount, Throwable error) {
+        this.level = level;
+        this.loggerName = loggerName;
+        this.message = message;
+        this.arg1 = arg1;
+        this.arg2 = arg2;
+        this.arg3 = arg3;
+        this.argCount = argCount;
+        this.error = error;
+        this.timestampMillis = System.currentTimeMillis();
+        this.threadName = Thread.currentThread().getName();
+    }
+
+    Object arg(int index) {
+        switch (index) {
+            case 0: return arg1;
+            case 1: return arg2;
+            default: return arg3;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.company.core.maintenance;
+
+/**
+ * Incremental Task - background work split into short, budgeted increments
+ * A pass is the unit of work (one sweep over the data); {@link MaintenanceScheduler} starts a
+ * pass, then calls {@link #runIncrement} repeatedly with a fresh budget until it reports the
+ * pass complete. Implementations keep their cursor between increments and should check the
+ * budget after every item so no increment runs much past it.
+ */
+public interface IncrementalTask {
+
+    String getName();
+
+    /**
+     * Prepare a new pass, e.g. take a snapshot of the keys to visit
+     */
+    void startPass();
+
+    /**
+     * Do work until the budget is exhausted or the pass is done
+     *
+     * @return true when the pass is complete
+     */
+    boolean runIncrement(MaintenanceBudget budget);
+
+    /**
+     * Completed fraction of the current pass, 0 to 1
+     */
+    double getProgress();
+
+    /**
+     * Task doing all of its work in one increment, for work that cannot be split
+     */
+    static IncrementalTask of(String name, Runnable work) {
+        return new IncrementalTask() {
+            private volatile boolean running;
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public void startPass() {
+                running = true;
+            }
+
+            @Override
+            public boolean runIncrement(MaintenanceBudget budget) {
+                try {
+                    work.run();
+                } finally {
+                    running = false;
+                }
+                return true;
+            }
+
+            @Override
+            public double getProgress() {
+                return running ? 0.0 : 1.0;
+            }
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.company.core.maintenance;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Key Scan Task - incremental pass over a snapshot of record keys
+ * The key list is copied at the start of each pass and walked with a cursor, one key per
+ * {@link #visit}; keys added during the pass are picked up by the next one.
+ */
+public abstract class KeyScanTask implements IncrementalTask {
+
+    private final String name;
+    private final Supplier<? extends Collection<String>> keys;
+    private volatile List<String> pass = new ArrayList<>();
+    private volatile int cursor;
+
+    protected KeyScanTask(String name, Supplier<? extends Collection<String>> keys) {
+        this.name = name;
+        this.keys = keys;
+    }
+
+    /**
+     * Process one key, returning the bytes read or written for the I/O budget
+     */
+    protected abstract long visit(String key);
+
+    /**
+     * Called after the last key of a pass
+     */
+    protected void passCompleted() {
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void startPass() {
+        pass = new ArrayList<>(keys.get());
+        cursor = 0;
+    }
+
+    @Override
+    public boolean runIncrement(MaintenanceBudget budget) {
+        List<String> current = pass;
+        int position = cursor;
+        while (position < current.size() && !budget.isExhausted()) {
+            budget.recordItem(visit(current.get(position++)));
+            cursor = position;
+        }
+        if (position < current.size()) {
+            return false;
+        }
+        // Release the key copy between passes
+        pass = new ArrayList<>();
+        cursor = 0;
+        passCompleted();
+        return true;
+    }
+
+    @Override
+    public double getProgress() {
+        int total = pass.size();
+        return total == 0 ? 0.0 : (double) cursor / total;
+    }
+}
@@ -0,0 +1,61 @@
+package com.company.core.maintenance;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Maintenance Budget - CPU time and I/O bytes one increment may spend
+ * CPU time is the scheduler thread's own CPU clock where the JVM supports it, so time the
+ * low-priority thread spends descheduled does not count; otherwise wall time is used. Reading
+ * the clock costs about a microsecond, so it is sampled every few items.
+ */
+public final class MaintenanceBudget {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_CLOCK = THREADS.isCurrentThreadCpuTimeSupported();
+    private static final int CLOCK_SAMPLE_MASK = 7;
+
+    private final long cpuBudgetNanos;
+    private final long ioBudgetBytes;
+    private final long startCpuNanos;
+    private final long startWallNanos;
+    private long ioBytes;
+    private long items;
+    private boolean exhausted;
+
+    MaintenanceBudget(long cpuBudgetNanos, long ioBudgetBytes) {
+        this.cpuBudgetNanos = cpuBudgetNanos;
+        this.ioBudgetBytes = ioBudgetBytes;
+        this.startCpuNanos = cpuNanos();
+        this.startWallNanos = System.nanoTime();
+    }
+
+    /**
+     * Count one processed item and the bytes it read or wrote
+     */
+    public void recordItem(long bytes) {
+        items++;
+        ioBytes += bytes;
+    }
+
+    public boolean isExhausted() {
+        if (exhausted) {
+            return true;
+        }
+        if (ioBytes >= ioBudgetBytes) {
+            exhausted = true;
+        } else if ((items & CLOCK_SAMPLE_MASK) == 0 && getCpuNanos() >= cpuBudgetNanos) {
+            exhausted = true;
+        }
+        return exhausted;
+    }
+
+    public long getCpuNanos() { return cpuNanos() - startCpuNanos; }
+    public long getWallNanos() { return System.nanoTime() - startWallNanos; }
+    public long getIoBytes() { return ioBytes; }
+    public long getItems() { return items; }
+
+    private static long cpuNanos() {
+        return CPU_CLOCK ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+}
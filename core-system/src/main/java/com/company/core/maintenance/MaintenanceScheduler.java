@@ -0,0 +1,264 @@
+package com.company.core.maintenance;
+
+import com.company.core.logging.CoreLogger;
+import com.company.core.logging.CoreLoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintenance Scheduler - runs {@link IncrementalTask}s in budgeted slices on one low-priority thread
+ * Tasks that are mid-pass or due for a new pass take turns, one increment each; every increment
+ * gets the same CPU and I/O budget, and the thread pauses between increments so request threads
+ * keep the CPU and any locks the task touches. A pass that fails is logged and retried after
+ * the task's interval. Per-task progress and cost are available from {@link #getMetrics()}.
+ */
+public class MaintenanceScheduler implements AutoCloseable {
+
+    private static final CoreLogger log = CoreLoggerFactory.getLogger(MaintenanceScheduler.class);
+
+    private static final long MAX_IDLE_MILLIS = 1000;
+
+    private final String threadName;
+    private final long cpuBudgetNanos;
+    private final long ioBudgetBytes;
+    private final long pauseMillis;
+    private final List<TaskState> tasks = new CopyOnWriteArrayList<>();
+    private final Object wakeup = new Object();
+    private Thread thread;
+    private volatile boolean running;
+    private int nextIndex;
+
+    public MaintenanceScheduler(String threadName, long cpuBudgetMillis, long ioBudgetBytes, long pauseMillis) {
+        if (cpuBudgetMillis <= 0 || ioBudgetBytes <= 0 || pauseMillis < 0) {
+            throw new IllegalArgumentException("Maintenance budgets must be positive");
+        }
+        this.threadName = threadName;
+        this.cpuBudgetNanos = TimeUnit.MILLISECONDS.toNanos(cpuBudgetMillis);
+        this.ioBudgetBytes = ioBudgetBytes;
+        this.pauseMillis = pauseMillis;
+    }
+
+    /**
+     * Register a task whose passes start {@code intervalMillis} after the previous one ended
+     * The first pass is due one interval after registration.
+     */
+    public void register(IncrementalTask task, long intervalMillis) {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("Pass interval must be positive");
+        }
+        TaskState state = new TaskState(task, intervalMillis);
+        state.nextPassAt = System.currentTimeMillis() + intervalMillis;
+        tasks.add(state);
+        signal();
+    }
+
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::runLoop, threadName);
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * Start a pass of the named task as soon as the thread is free, false when unknown
+     */
+    public boolean requestPass(String name) {
+        for (TaskState state : tasks) {
+            if (state.task.getName().equals(name)) {
+                state.nextPassAt = 0;
+                signal();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public List<TaskMetrics> getMetrics() {
+        List<TaskMetrics> metrics = new ArrayList<>(tasks.size());
+        for (TaskState state : tasks) {
+            metrics.add(state.metrics());
+        }
+        return metrics;
+    }
+
+    @Override
+    public void close() {
+        Thread current;
+        synchronized (this) {
+            running = false;
+            current = thread;
+            thread = null;
+        }
+        if (current != null) {
+            current.interrupt();
+            try {
+                current.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void runLoop() {
+        while (running) {
+            TaskState state = nextDue(System.currentTimeMillis());
+            try {
+                if (state == null) {
+                    idle();
+                    continue;
+                }
+                runIncrement(state);
+                if (pauseMillis > 0) {
+                    Thread.sleep(pauseMillis);
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    // Round robin over tasks that are mid-pass or due
+    private TaskState nextDue(long now) {
+        int count = tasks.size();
+        for (int i = 0; i < count; i++) {
+            int index = (nextIndex + i) % count;
+            TaskState state = tasks.get(index);
+            if (state.inPass || now >= state.nextPassAt) {
+                nextIndex = index + 1;
+                return state;
+            }
+        }
+        return null;
+    }
+
+    private void idle() throws InterruptedException {
+        long now = System.currentTimeMillis();
+        long wait = MAX_IDLE_MILLIS;
+        for (TaskState state : tasks) {
+            wait = Math.min(wait, state.nextPassAt - now);
+        }
+        if (wait > 0) {
+            synchronized (wakeup) {
+                wakeup.wait(wait);
+            }
+        }
+    }
+
+    private void signal() {
+        synchronized (wakeup) {
+            wakeup.notifyAll();
+        }
+    }
+
+    private void runIncrement(TaskState state) {
+        IncrementalTask task = state.task;
+        boolean done;
+        // Starting a pass is charged to its first increment
+        MaintenanceBudget budget = new MaintenanceBudget(cpuBudgetNanos, ioBudgetBytes);
+        try {
+            if (!state.inPass) {
+                state.passStartedAt = System.nanoTime();
+                state.inPass = true;
+                task.startPass();
+            }
+            done = task.runIncrement(budget);
+        } catch (RuntimeException e) {
+            log.warn("Maintenance task {} failed, retrying in {} ms: {}", task.getName(), state.intervalMillis, e.getMessage());
+            state.failures++;
+            done = true;
+        }
+        state.record(budget);
+        if (done) {
+            state.inPass = false;
+            state.passes++;
+            state.lastPassNanos = System.nanoTime() - state.passStartedAt;
+            state.nextPassAt = System.currentTimeMillis() + state.intervalMillis;
+        }
+    }
+
+    // Written by the scheduler thread only, volatile for metric readers
+    private static final class TaskState {
+        final IncrementalTask task;
+        final long intervalMillis;
+        volatile long nextPassAt;
+        volatile boolean inPass;
+        volatile long passStartedAt;
+        volatile long passes;
+        volatile long failures;
+        volatile long increments;
+        volatile long items;
+        volatile long cpuNanos;
+        volatile long ioBytes;
+        volatile long maxIncrementNanos;
+        volatile long lastPassNanos;
+
+        TaskState(IncrementalTask task, long intervalMillis) {
+            this.task = task;
+            this.intervalMillis = intervalMillis;
+        }
+
+        void record(MaintenanceBudget budget) {
+            increments++;
+            items += budget.getItems();
+            cpuNanos += budget.getCpuNanos();
+            ioBytes += budget.getIoBytes();
+            maxIncrementNanos = Math.max(maxIncrementNanos, budget.getWallNanos());
+        }
+
+        TaskMetrics metrics() {
+            return new TaskMetrics(task.getName(), inPass, inPass ? task.getProgress() : 1.0, passes, failures,
+                    increments, items, cpuNanos, ioBytes, maxIncrementNanos, lastPassNanos);
+        }
+    }
+
+    /**
+     * Point-in-time progress and cost of one task
+     */
+    public static final class TaskMetrics {
+        private final String name;
+        private final boolean inPass;
+        private final double progress;
+        private final long passes;
+        private final long failures;
+        private final long increments;
+        private final long items;
+        private final long cpuNanos;
+        private final long ioBytes;
+        private final long maxIncrementNanos;
+        private final long lastPassNanos;
+
+        TaskMetrics(String name, boolean inPass, double progress, long passes, long failures, long increments,
+                    long items, long cpuNanos, long ioBytes, long maxIncrementNanos, long lastPassNanos) {
+            this.name = name;
+            this.inPass = inPass;
+            this.progress = progress;
+            this.passes = passes;
+            this.failures = failures;
+            this.increments = increments;
+            this.items = items;
+            this.cpuNanos = cpuNanos;
+            this.ioBytes = ioBytes;
+            this.maxIncrementNanos = maxIncrementNanos;
+            this.lastPassNanos = lastPassNanos;
+        }
+
+        public String getName() { return name; }
+        public boolean isInPass() { return inPass; }
+        public double getProgress() { return progress; }
+        public long getPasses() { return passes; }
+        public long getFailures() { return failures; }
+        public long getIncrements() { return increments; }
+        public long getItems() { return items; }
+        public long getCpuMillis() { return TimeUnit.NANOSECONDS.toMillis(cpuNanos); }
+        public long getIoBytes() { return ioBytes; }
+        public long getMaxIncrementMicros() { return TimeUnit.NANOSECONDS.toMicros(maxIncrementNanos); }
+        public long getLastPassMillis() { return TimeUnit.NANOSECONDS.toMillis(lastPassNanos); }
+    }
+}
@@ -0,0 +1,67 @@
+package com.company.core.metrics;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Processing Metrics - registry of {@link ScenarioMetrics} keyed by tenantId and scenario
+ * Two-level map so the per-request lookup does not build a composite key. Tenant and scenario
+ * ids come from requests, so only the configured tenants and registered scenarios get their own
+ * entry; anything else, including contexts missing either id, is counted under {@link #OTHER}.
+ * The registry is therefore bounded by (tenants + 1) x (scenarios + 1) entries.
+ */
+public class ProcessingMetrics {
+
+    public static final String OTHER = "other";
+
+    private final Set<String> scenarios;
+    private final Set<String> tenants;
+
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, ScenarioMetrics>> byTenant =
+            new ConcurrentHashMap<>();
+
+    /**
+     * @param scenarios scenarios recorded under their own name, e.g. the registered scenarios
+     * @param tenants   tenants recorded under their own id
+     */
+    public ProcessingMetrics(Collection<String> scenarios, Collection<String> tenants) {
+        this.scenarios = Collections.unmodifiableSet(new HashSet<>(scenarios));
+        this.tenants = Collections.unmodifiableSet(new HashSet<>(tenants));
+    }
+
+    public ScenarioMetrics forScenario(String tenantId, String scenario) {
+        String tenantKey = tenantId != null && tenants.contains(tenantId) ? tenantId : OTHER;
+        String scenarioKey = scenario != null && scenarios.contains(scenario) ? scenario : OTHER;
+
+        ConcurrentHashMap<String, ScenarioMetrics> scenarioMetrics = byTenant.get(tenantKey);
+        if (scenarioMetrics == null) {
+            scenarioMetrics = byTenant.computeIfAbsent(tenantKey, key -> new ConcurrentHashMap<>());
+        }
+        ScenarioMetrics metrics = scenarioMetrics.get(scenarioKey);
+        if (metrics == null) {
+            metrics = scenarioMetrics.computeIfAbsent(scenarioKey, key -> new ScenarioMetrics());
+        }
+        return metrics;
+    }
+
+    public Set<String> getScenarios() { return scenarios; }
+    public Set<String> getTenants() { return tenants; }
+
+    /**
+     * tenantId -> scenario -> summary, sorted for stable output
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> tenantSummaries = new TreeMap<>();
+        byTenant.forEach((tenantId, scenarioMetrics) -> {
+            Map<String, Object> scenarioSummaries = new TreeMap<>();
+            scenarioMetrics.forEach((scenario, metrics) -> scenarioSummaries.put(scenario, metrics.toSummary()));
+            tenantSummaries.put(tenantId, scenarioSummaries);
+        });
+        return tenantSummaries;
+    }
+}
@@ -0,0 +1,14 @@
+package com.company.core.metrics;
+
+/**
+ * Timed phases of UniversalProcessor.processBusiness
+ */
+public enum ProcessingPhase {
+    VALIDATION,
+    BEFORE_PROCESS,
+    BEFORE_EVENT,
+    CORE_LOGIC,
+    AFTER_PROCESS,
+    AFTER_EVENT,
+    TOTAL
+}
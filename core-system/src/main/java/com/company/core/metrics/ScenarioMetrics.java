@@ -0,0 +1,89 @@
+package com.company.core.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Scenario Metrics - per-phase latency histograms and request/error counts
+ * for one tenantId/scenario pair
+ */
+public final class ScenarioMetrics {
+
+    private static final ProcessingPhase[] PHASES = ProcessingPhase.values();
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[PHASES.length];
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    ScenarioMetrics() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    public void record(ProcessingPhase phase, long nanos) {
+        histograms[phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * Record the time elapsed since the previous mark and return the new mark
+     */
+    public long lap(ProcessingPhase phase, long previousMark) {
+        long now = System.nanoTime();
+        histograms[phase.ordinal()].record(now - previousMark);
+        return now;
+    }
+
+    /**
+     * Count a finished request and record its total duration
+     */
+    public void recordRequest(long totalNanos, boolean success) {
+        requests.increment();
+        if (!success) {
+            errors.increment();
+        }
+        histograms[ProcessingPhase.TOTAL.ordinal()].record(totalNanos);
+    }
+
+    public LatencyHistogram getHistogram(ProcessingPhase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    public long getRequestCount() { return requests.sum(); }
+    public long getErrorCount() { return errors.sum(); }
+
+    /**
+     * Summary for the metrics endpoint, latencies in microseconds
+     */
+    public Map<String, Object> toSummary() {
+        long requestCount = requests.sum();
+        long errorCount = errors.sum();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", requestCount);
+        summary.put("errors", errorCount);
+        summary.put("errorRate", requestCount > 0 ? (double) errorCount / requestCount : 0.0);
+
+        Map<String, Object> phases = new LinkedHashMap<>();
+        for (ProcessingPhase phase : PHASES) {
+            LatencyHistogram.Snapshot snapshot = histograms[phase.ordinal()].snapshot();
+            if (snapshot.getCount() == 0) {
+                continue;
+            }
+            Map<String, Object> latency = new LinkedHashMap<>();
+            latency.put("count", snapshot.getCount());
+            latency.put("meanMicros", toMicros(snapshot.getMeanNanos()));
+            latency.put("p50Micros", toMicros(snapshot.getP50Nanos()));
+            latency.put("p99Micros", toMicros(snapshot.getP99Nanos()));
+            latency.put("p999Micros", toMicros(snapshot.getP999Nanos()));
+            latency.put("maxMicros", toMicros(snapshot.getMaxNanos()));
+            phases.put(phase.name(), latency);
+        }
+        summary.put("phases", phases);
+        return summary;
+    }
+
+    private static double toMicros(double nanos) {
+        return Math.round(nanos / 10.0) / 100.0;
+    }
+}
@@ -0,0 +1,110 @@
+package com.company.core.model;
+
+import java.util.Arrays;
+
+/**
+ * Attribute Keys - process-wide registry mapping well-known attribute keys to integer slots
+ * Registered keys are stored by {@link BusinessContext} in a small array indexed by slot;
+ * any other key falls back to a map. Register keys once at class initialization, lookups
+ * are lock-free against an immutable snapshot.
+ */
+public final class AttributeKeys {
+
+    public static final int MAX_SLOTS = 128;
+
+    public static final String PROCESSED_BY = "processed.by";
+    // BackpressureLevel of downstream pipelines, absent when they keep up
+    public static final String BACKPRESSURE = "backpressure";
+
+    private static volatile Table table = new Table(new String[0]);
+
+    static {
+        registerAll(PROCESSED_BY, BACKPRESSURE);
+    }
+
+    private AttributeKeys() {
+    }
+
+    /**
+     * Register a key and return its slot, idempotent
+     * Returns -1 once {@link #MAX_SLOTS} keys are registered; such keys use the fallback map
+     */
+    public static synchronized int register(String key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Attribute key must not be null");
+        }
+        Table current = table;
+        int slot = current.slotOf(key);
+        if (slot >= 0 || current.keys.length >= MAX_SLOTS) {
+            return slot;
+        }
+        String[] keys = Arrays.copyOf(current.keys, current.keys.length + 1);
+        keys[keys.length - 1] = key.intern();
+        table = new Table(keys);
+        return keys.length - 1;
+    }
+
+    public static void registerAll(String... keys) {
+        for (String key : keys) {
+            register(key);
+        }
+    }
+
+    /**
+     * Slot of a registered key, -1 for unknown keys
+     */
+    public static int slotOf(String key) {
+        return key != null ? table.slotOf(key) : -1;
+    }
+
+    static String keyAt(int slot) {
+        return table.keys[slot];
+    }
+
+    public static int size() {
+        return table.keys.length;
+    }
+
+    /**
+     * Immutable open-addressing index from key to slot
+     */
+    private static final class Table {
+
+        private final String[] keys;
+        private final String[] probeKeys;
+        private final int[] probeSlots;
+        private final int mask;
+
+        Table(String[] keys) {
+            this.keys = keys;
+            int capacity = Integer.highestOneBit(Math.max(4, keys.length * 4) - 1) << 1;
+            this.probeKeys = new String[capacity];
+            this.probeSlots = new int[capacity];
+            this.mask = capacity - 1;
+            for (int slot = 0; slot < keys.length; slot++) {
+                int index = spread(keys[slot].hashCode()) & mask;
+                while (probeKeys[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                probeKeys[index] = keys[slot];
+                probeSlots[index] = slot;
+            }
+        }
+
+        int slotOf(String key) {
+            int index = spread(key.hashCode()) & mask;
+            String candidate;
+            while ((candidate = probeKeys[index]) != null) {
+                if (candidate == key || candidate.equals(key)) {
+                    return probeSlots[index];
+                }
+                index = (index + 1) & mask;
+            }
+            return -1;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.company.core.model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Attribute Map - compact attribute storage backing {@link BusinessContext}
+ * Keys registered in {@link AttributeKeys} live in a String array indexed by slot,
+ * other keys in a fallback HashMap that is only allocated when first needed.
+ * A value put before its key was registered stays in the fallback map: lookups fall back to
+ * it on an empty slot and the next put or remove of the key moves it out, so a key is never
+ * held in both places.
+ * A null value means absent, so putting null removes the attribute.
+ * Not thread-safe, like the HashMap it replaces.
+ */
+final class AttributeMap extends AbstractMap<String, String> {
+
+    private static final String[] EMPTY = new String[0];
+
+    private String[] values = EMPTY;
+    private int slotCount;
+    private Map<String, String> overflow;
+    private Set<Entry<String, String>> entrySet;
+
+    @Override
+    public String get(Object key) {
+        if (key instanceof String) {
+            int slot = AttributeKeys.slotOf((String) key);
+            if (slot >= 0 && slot < values.length && values[slot] != null) {
+                return values[slot];
+            }
+        }
+        return overflow != null ? overflow.get(key) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public String put(String key, String value) {
+        if (value == null) {
+            return remove(key);
+        }
+        int slot = AttributeKeys.slotOf(key);
+        if (slot < 0) {
+            if (overflow == null) {
+                overflow = new HashMap<>(4);
+            }
+            return overflow.put(key, value);
+        }
+        if (slot >= values.length) {
+            values = Arrays.copyOf(values, Math.max(slot + 1, AttributeKeys.size()));
+        }
+        String previous = values[slot];
+        values[slot] = value;
+        if (previous == null) {
+            slotCount++;
+            previous = removeOverflow(key);
+        }
+        return previous;
+    }
+
+    @Override
+    public String remove(Object key) {
+        if (key instanceof String) {
+            int slot = AttributeKeys.slotOf((String) key);
+            if (slot >= 0 && slot < values.length && values[slot] != null) {
+                return clearSlot(slot);
+            }
+        }
+        return removeOverflow(key);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(values, null);
+        slotCount = 0;
+        if (overflow != null) {
+            overflow.clear();
+        }
+    }
+
+    @Override
+    public int size() {
+        return slotCount + (overflow != null ? overflow.size() : 0);
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        Set<Entry<String, String>> entries = entrySet;
+        if (entries == null) {
+            entries = new AbstractSet<Entry<String, String>>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return AttributeMap.this.size();
+                }
+
+                @Override
+                public void clear() {
+                    AttributeMap.this.clear();
+                }
+            };
+            entrySet = entries;
+        }
+        return entries;
+    }
+
+    private String removeOverflow(Object key) {
+        return overflow != null && !overflow.isEmpty() ? overflow.remove(key) : null;
+    }
+
+    private String clearSlot(int slot) {
+        String previous = values[slot];
+        if (previous != null) {
+            values[slot] = null;
+            slotCount--;
+        }
+        return previous;
+    }
+
+    /**
+     * Slot entries in slot order, then fallback entries
+     */
+    private final class EntryIterator implements Iterator<Entry<String, String>> {
+
+        private int nextSlot = advance(0);
+        private int lastSlot = -1;
+        private Iterator<Entry<String, String>> overflowIterator;
+
+        @Override
+        public boolean hasNext() {
+            if (nextSlot < values.length) {
+                return true;
+            }
+            if (overflowIterator == null && overflow != null) {
+                overflowIterator = overflow.entrySet().iterator();
+            }
+            return overflowIterator != null && overflowIterator.hasNext();
+        }
+
+        @Override
+        public Entry<String, String> next() {
+            if (nextSlot < values.length) {
+                lastSlot = nextSlot;
+                nextSlot = advance(nextSlot + 1);
+                return new SimpleImmutableEntry<>(AttributeKeys.keyAt(lastSlot), values[lastSlot]);
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastSlot = -1;
+            return overflowIterator.next();
+        }
+
+        @Override
+        public void remove() {
+            if (lastSlot >= 0) {
+                clearSlot(lastSlot);
+                lastSlot = -1;
+            } else if (overflowIterator != null) {
+                overflowIterator.remove();
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+
+        private int advance(int from) {
+            int slot = from;
+            while (slot < values.length && values[slot] == null) {
+                slot++;
+            }
+            return slot;
+        }
+    }
+}
@@ -1,28 +1,61 @@
 package com.company.core.model;
 
+import com.company.core.pool.ObjectPool;
+
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /**
  * Universal Business Context - supports multiple business scenarios
+ * Contexts from {@link #acquire()} are pooled: they are reference counted and return to
+ * the pool, reset, when the last holder calls {@link #release()}. Plain instances ignore both.
  */
 public class BusinessContext {
+
+    private static final ObjectPool<BusinessContext> POOL =
+            new ObjectPool<>(BusinessContext::new, BusinessContext::reset);
+
+    private static final AtomicIntegerFieldUpdater<BusinessContext> REFERENCES =
+            AtomicIntegerFieldUpdater.newUpdater(BusinessContext.class, "references");
+
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    public static final String AMOUNT = "amount";
+    public static final String ITEM_COUNT = "itemCount";
+
+    // Marker values of the typed fields when the request carries no usable value
+    public static final long NO_AMOUNT = Long.MIN_VALUE;
+    public static final int NO_ITEM_COUNT = -1;
     
     private String businessId;
     private String scenario;           // Business scenario: order, medical, etc
     private String businessType;       // Business type: ORDER_PROCESS, PRESCRIPTION, etc
     private String tenantId;
     private String operatorId;
+    // Creation time in epoch millis, converted to LocalDateTime on first request
+    private long timestampMillis;
     private LocalDateTime timestamp;
     
-    // Universal business data container
-    private Map<String, Object> data = new HashMap<>();
-    private Map<String, String> attributes = new HashMap<>();
+    // Universal business data container, allocated on first use
+    private Map<String, Object> data;
+    private boolean ownsData;
+    // Slot-based attribute storage, see AttributeKeys
+    private final AttributeMap attributes = new AttributeMap();
+    // Hot values parsed once from data, see setData/putData
+    private long amountMinor = NO_AMOUNT;
+    private int itemCount = NO_ITEM_COUNT;
     private String status = "CREATED";
 
+    // Pooling state, see acquire/retain/release
+    private boolean pooled;
+    private volatile int references;
+
     public BusinessContext() {
-        this.timestamp = LocalDateTime.now();
+        this.timestampMillis = System.currentTimeMillis();
     }
 
     public BusinessContext(String scenario, String businessType) {
@@ -31,13 +64,74 @@ public class BusinessContext {
         this.businessType = businessType;
     }
 
+    /**
+     * Take a reset context from the shared pool, held once by the caller
+     * The caller must call {@link #release()} when done and not touch the context afterwards
+     */
+    public static BusinessContext acquire() {
+        BusinessContext context = POOL.acquire();
+        context.pooled = true;
+        context.timestampMillis = System.currentTimeMillis();
+        REFERENCES.set(context, 1);
+        return context;
+    }
+
+    /**
+     * Add a holder to a pooled context, e.g. an event queued for asynchronous listeners
+     */
+    public void retain() {
+        if (pooled) {
+            REFERENCES.incrementAndGet(this);
+        }
+    }
+
+    /**
+     * Drop a holder; the last release returns a pooled context to the pool
+     */
+    public void release() {
+        if (pooled && REFERENCES.decrementAndGet(this) == 0) {
+            POOL.recycle(this);
+        }
+    }
+
+    public boolean isPooled() { return pooled; }
+
+    /**
+     * Clear all state so the instance can be reused; an owned data map is kept and cleared
+     */
+    public void reset() {
+        businessId = null;
+        scenario = null;
+        businessType = null;
+        tenantId = null;
+        operatorId = null;
+        timestampMillis = System.currentTimeMillis();
+        timestamp = null;
+        if (ownsData) {
+            data.clear();
+        } else {
+            data = null;
+        }
+        attributes.clear();
+        amountMinor = NO_AMOUNT;
+        itemCount = NO_ITEM_COUNT;
+        status = "CREATED";
+        pooled = false;
+        REFERENCES.set(this, 0);
+    }
+
+    public static ObjectPool<BusinessContext> getPool() {
+        return POOL;
+    }
+
     // Convenience methods
     public void putData(String key, Object value) {
-        this.data.put(key, value);
+        getData().put(key, value);
+        updateTypedData(key, value);
     }
     
     public <T> T getData(String key, Class<T> type) {
-        return type.cast(this.data.get(key));
+        return data != null ? type.cast(data.get(key)) : null;
     }
     
     public void setAttribute(String key, String value) {
@@ -64,17 +158,98 @@ public class BusinessContext {
     public String getOperatorId() { return operatorId; }
     public void setOperatorId(String operatorId) { this.operatorId = operatorId; }
 
-    public LocalDateTime getTimestamp() { return timestamp; }
-    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+    public LocalDateTime getTimestamp() {
+        if (timestamp == null && timestampMillis != NO_TIMESTAMP) {
+            timestamp = LocalDateTime.ofInstant(Instant.ofEpochMilli(timestampMillis), ZoneId.systemDefault());
+        }
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+        this.timestampMillis = timestamp != null
+                ? timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : NO_TIMESTAMP;
+    }
+
+    public long getTimestampMillis() { return timestampMillis; }
+
+    public void setTimestampMillis(long timestampMillis) {
+        this.timestampMillis = timestampMillis;
+        this.timestamp = null;
+    }
+
+    public Map<String, Object> getData() {
+        if (data == null) {
+            data = new HashMap<>();
+            ownsData = true;
+        }
+        return data;
+    }
+
+    /**
+     * Replace the data map and parse its typed values once
+     * Later writes through {@link #getData()} bypass the typed fields; use putData instead
+     */
+    public void setData(Map<String, Object> data) {
+        this.data = data;
+        this.ownsData = false;
+        this.amountMinor = NO_AMOUNT;
+        this.itemCount = NO_ITEM_COUNT;
+        if (data != null) {
+            updateTypedData(AMOUNT, data.get(AMOUNT));
+            updateTypedData(ITEM_COUNT, data.get(ITEM_COUNT));
+        }
+    }
+
+    // Typed accessors for hot values
+    public boolean hasAmount() { return amountMinor != NO_AMOUNT; }
+    public long getAmountMinor() { return amountMinor; }
+    public void setAmountMinor(long amountMinor) { this.amountMinor = amountMinor; }
 
-    public Map<String, Object> getData() { return data; }
-    public void setData(Map<String, Object> data) { this.data = data; }
+    public boolean hasItemCount() { return itemCount != NO_ITEM_COUNT; }
+    public int getItemCount() { return itemCount; }
+    public void setItemCount(int itemCount) { this.itemCount = itemCount; }
+
+    // Unparseable values leave the typed field unset, as if the key were absent
+    private void updateTypedData(String key, Object value) {
+        if (AMOUNT.equals(key)) {
+            amountMinor = NO_AMOUNT;
+            if (value != null) {
+                try {
+                    amountMinor = MinorUnits.parse(value);
+                } catch (ArithmeticException | NumberFormatException e) {
+                    // keep NO_AMOUNT
+                }
+            }
+        } else if (ITEM_COUNT.equals(key)) {
+            itemCount = NO_ITEM_COUNT;
+            if (value instanceof Number) {
+                itemCount = ((Number) value).intValue();
+            } else if (value != null) {
+                try {
+                    itemCount = Integer.parseInt(value.toString().trim());
+                } catch (NumberFormatException e) {
+                    // keep NO_ITEM_COUNT
+                }
+            }
+        }
+    }
 
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
 
+    /**
+     * Live view of the attributes, writes go through to the context
+     */
     public Map<String, String> getAttributes() { return attributes; }
-    public void setAttributes(Map<String, String> attributes) { this.attributes = attributes; }
+
+    public void setAttributes(Map<String, String> attributes) {
+        this.attributes.clear();
+        if (attributes != null) {
+            this.attributes.putAll(attributes);
+        }
+    }
 
     @Override
     public String toString() {
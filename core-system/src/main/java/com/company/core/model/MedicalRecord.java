@@ -0,0 +1,56 @@
+package com.company.core.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Medical Record model for the medical scenario
+ */
+public class MedicalRecord {
+
+    private String id;
+    private String patientId;
+    private String doctorId;
+    private String diagnosis;
+    private String prescription;
+    private String status = "CREATED";
+    private LocalDateTime createTime;
+
+    public MedicalRecord() {
+        this.createTime = LocalDateTime.now();
+    }
+
+    public MedicalRecord(String id, String patientId, String doctorId) {
+        this();
+        this.id = id;
+        this.patientId = patientId;
+        this.doctorId = doctorId;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getPatientId() { return patientId; }
+    public void setPatientId(String patientId) { this.patientId = patientId; }
+
+    public String getDoctorId() { return doctorId; }
+    public void setDoctorId(String doctorId) { this.doctorId = doctorId; }
+
+    public String getDiagnosis() { return diagnosis; }
+    public void setDiagnosis(String diagnosis) { this.diagnosis = diagnosis; }
+
+    public String getPrescription() { return prescription; }
+    public void setPrescription(String prescription) { this.prescription = prescription; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public LocalDateTime getCreateTime() { return createTime; }
+    public void setCreateTime(LocalDateTime createTime) { this.createTime = createTime; }
+
+    @Override
+    public String toString() {
+        return String.format("MedicalRecord{id='%s', patientId='%s', doctorId='%s', status='%s'}",
+                           id, patientId, doctorId, status);
+    }
+}
@@ -0,0 +1,45 @@
+package com.company.core.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Minor Units - conversion of monetary amounts to a long count of minor units (cents)
+ * Lets hot paths compare amounts as primitives instead of BigDecimal or boxed doubles.
+ */
+public final class MinorUnits {
+
+    public static final int SCALE = 2;
+
+    private MinorUnits() {
+    }
+
+    public static long of(BigDecimal amount) {
+        return amount.movePointRight(SCALE).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    public static long of(long majorUnits) {
+        return Math.multiplyExact(majorUnits, 100L);
+    }
+
+    public static BigDecimal toBigDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    /**
+     * Parse a request value (Number or numeric String) into minor units
+     * Throws ArithmeticException or NumberFormatException for unusable values
+     */
+    static long parse(Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return of(((Number) value).longValue());
+        }
+        if (value instanceof BigDecimal) {
+            return of((BigDecimal) value);
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return of(BigDecimal.valueOf(((Number) value).doubleValue()));
+        }
+        return of(new BigDecimal(value.toString().trim()));
+    }
+}
@@ -13,6 +13,7 @@ public class Order {
     private BigDecimal amount;
     private String status = "CREATED";
     private LocalDateTime createTime;
+    private String enterpriseId;       // Owning enterprise for enterprise tenants, optional
     private User user;
 
     public Order() {
@@ -41,6 +42,9 @@ public class Order {
     public LocalDateTime getCreateTime() { return createTime; }
     public void setCreateTime(LocalDateTime createTime) { this.createTime = createTime; }
 
+    public String getEnterpriseId() { return enterpriseId; }
+    public void setEnterpriseId(String enterpriseId) { this.enterpriseId = enterpriseId; }
+
     public User getUser() { return user; }
     public void setUser(User user) { this.user = user; }
 
@@ -0,0 +1,7 @@
+package com.company.core.notification;
+
+/**
+ * Transport for {@link NotificationChannel#EMAIL}
+ */
+public interface EmailTransport extends NotificationTransport {
+}
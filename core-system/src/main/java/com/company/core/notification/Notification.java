@@ -0,0 +1,53 @@
+package com.company.core.notification;
+
+import java.util.Objects;
+
+/**
+ * Notification - one outbound message as queued in the {@link NotificationOutbox}
+ * Carries only the resolved recipient address and text, so request objects are not retained
+ * while the message waits for its batch.
+ */
+public final class Notification {
+
+    private final NotificationChannel channel;
+    private final String tenantId;
+    private final String userId;
+    private final String recipient;
+    private final String message;
+    private final long createdNanos;
+
+    public Notification(NotificationChannel channel, String tenantId, String userId, String recipient, String message) {
+        this(channel, tenantId, userId, recipient, message, System.nanoTime());
+    }
+
+    // Keeps the original creation time when notifications are merged
+    Notification(NotificationChannel channel, String tenantId, String userId, String recipient, String message,
+                 long createdNanos) {
+        this.channel = channel;
+        this.tenantId = tenantId;
+        this.userId = userId;
+        this.recipient = recipient;
+        this.message = message;
+        this.createdNanos = createdNanos;
+    }
+
+    /**
+     * Same tenant, user, channel and recipient, so the two can be delivered as one message
+     */
+    boolean sameRecipient(Notification other) {
+        return channel == other.channel && Objects.equals(tenantId, other.tenantId)
+                && Objects.equals(userId, other.userId) && Objects.equals(recipient, other.recipient);
+    }
+
+    public NotificationChannel getChannel() { return channel; }
+    public String getTenantId() { return tenantId; }
+    public String getUserId() { return userId; }
+    public String getRecipient() { return recipient; }
+    public String getMessage() { return message; }
+    public long getCreatedNanos() { return createdNanos; }
+
+    @Override
+    public String toString() {
+        return channel + " to " + recipient + ": " + message;
+    }
+}
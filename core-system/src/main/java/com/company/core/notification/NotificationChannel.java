@@ -0,0 +1,9 @@
+package com.company.core.notification;
+
+/**
+ * Delivery channels, each with its own outbox queue and dispatcher thread
+ */
+public enum NotificationChannel {
+    EMAIL,
+    SMS
+}
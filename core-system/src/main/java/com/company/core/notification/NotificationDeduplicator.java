@@ -0,0 +1,170 @@
+package com.company.core.notification;
+
+import java.util.Arrays;
+
+/**
+ * Notification Deduplicator - bounded, time-bucketed set of recently seen notifications
+ * Each notification is reduced to a 64-bit fingerprint of tenant, user, recipient and message
+ * and stored with the time bucket it was seen in, in an open-addressing table of at most
+ * {@code maxEntries} live entries. Buckets are a quarter of the window; when time moves to a
+ * new bucket, entries older than {@link #BUCKETS} buckets are swept out, so a fingerprint is
+ * remembered for between the window and a quarter more. Once the table holds
+ * {@code maxEntries}, further notifications pass through unrecorded rather than growing it.
+ * Not thread-safe, callers synchronize on the instance.
+ */
+final class NotificationDeduplicator {
+
+    private static final int BUCKETS = 5;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final long bucketNanos;
+    private final int maxEntries;
+    private final int mask;
+    private final long origin = System.nanoTime();
+    // Fingerprint 0 marks an empty slot; the spare pair is swapped in by each sweep
+    private long[] fingerprints;
+    private long[] buckets;
+    private long[] spareFingerprints;
+    private long[] spareBuckets;
+    private int size;
+    private long currentBucket;
+    private long untracked;
+
+    NotificationDeduplicator(long windowNanos, int maxEntries) {
+        if (windowNanos <= 0 || maxEntries < 1) {
+            throw new IllegalArgumentException("Window and tracked entries must be positive");
+        }
+        this.bucketNanos = Math.max(1, windowNanos / (BUCKETS - 1));
+        this.maxEntries = maxEntries;
+        int capacity = Integer.highestOneBit(Math.max(2, maxEntries * 2 - 1)) << 1;
+        this.mask = capacity - 1;
+        this.fingerprints = new long[capacity];
+        this.buckets = new long[capacity];
+        this.spareFingerprints = new long[capacity];
+        this.spareBuckets = new long[capacity];
+    }
+
+    /**
+     * Record the notification, false when an identical one was seen within the window
+     */
+    boolean firstSeen(Notification notification, long nowNanos) {
+        advance((nowNanos - origin) / bucketNanos);
+        long fingerprint = fingerprint(notification);
+        int slot = (int) fingerprint & mask;
+        long candidate;
+        while ((candidate = fingerprints[slot]) != 0) {
+            if (candidate == fingerprint) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size >= maxEntries) {
+            untracked++;
+            return true;
+        }
+        fingerprints[slot] = fingerprint;
+        buckets[slot] = currentBucket;
+        size++;
+        return true;
+    }
+
+    /**
+     * Drop the notification's fingerprint, for one recorded by firstSeen but then not queued
+     */
+    void forget(Notification notification) {
+        long fingerprint = fingerprint(notification);
+        int slot = (int) fingerprint & mask;
+        long candidate;
+        while ((candidate = fingerprints[slot]) != 0) {
+            if (candidate == fingerprint) {
+                deleteSlot(slot);
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Notifications let through unrecorded because the table was full
+     */
+    long getUntracked() {
+        return untracked;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Entering a new bucket rebuilds the table without the expired entries
+    private void advance(long bucket) {
+        if (bucket <= currentBucket) {
+            return;
+        }
+        currentBucket = bucket;
+        if (size == 0) {
+            return;
+        }
+        long[] oldFingerprints = fingerprints;
+        long[] oldBuckets = buckets;
+        fingerprints = spareFingerprints;
+        buckets = spareBuckets;
+        size = 0;
+        for (int i = 0; i < oldFingerprints.length; i++) {
+            long fingerprint = oldFingerprints[i];
+            if (fingerprint != 0 && bucket - oldBuckets[i] < BUCKETS) {
+                int slot = (int) fingerprint & mask;
+                while (fingerprints[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                fingerprints[slot] = fingerprint;
+                buckets[slot] = oldBuckets[i];
+                size++;
+            }
+        }
+        Arrays.fill(oldFingerprints, 0L);
+        spareFingerprints = oldFingerprints;
+        spareBuckets = oldBuckets;
+    }
+
+    // Linear probing deletion without tombstones: shift later entries of the run back into the hole
+    private void deleteSlot(int slot) {
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (fingerprints[next] != 0) {
+            int home = (int) fingerprints[next] & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                fingerprints[hole] = fingerprints[next];
+                buckets[hole] = buckets[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        fingerprints[hole] = 0;
+        size--;
+    }
+
+    // FNV-1a over the fields with separators, finished with a 64-bit mixer; 0 is reserved
+    static long fingerprint(Notification notification) {
+        long hash = FNV_OFFSET;
+        hash = mix(hash, notification.getTenantId());
+        hash = mix(hash, notification.getUserId());
+        hash = mix(hash, notification.getRecipient());
+        hash = mix(hash, notification.getMessage());
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash != 0 ? hash : 1;
+    }
+
+    private static long mix(long hash, String value) {
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+            }
+        }
+        return (hash ^ 0xFFFF) * FNV_PRIME;
+    }
+}
@@ -0,0 +1,680 @@
+package com.company.core.notification;
+
+import com.company.core.logging.CoreLogger;
+import com.company.core.logging.CoreLoggerFactory;
+import com.company.core.metrics.LatencyHistogram;
+import com.company.core.processor.BackpressureLevel;
+import com.company.core.processor.BackpressureSignal;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Notification Outbox - asynchronous, batched delivery of notifications per channel
+ * {@link #enqueue} only offers the notification to its channel's bounded queue. One dispatcher
+ * thread per channel takes the first waiting notification, lingers up to the linger time for
+ * the batch to fill, then hands the batch to the channel's transport. A failed batch is retried
+ * with a short back-off and then counted as failed. On close the queues are drained without
+ * lingering. End-to-end latency runs from {@link Notification} creation to transport return.
+ *
+ * Optional limits, configured before {@link #start}: a token bucket per tenant and channel
+ * rejects a tenant's notifications above its rate at enqueue, and a token bucket per channel
+ * paces the dispatcher to the provider's rate. A full queue is handled by the
+ * {@link OverflowPolicy}. Queue fill, pacing and overflow are published as a
+ * {@link BackpressureSignal}, so request processing can trim notification work before
+ * notifications start being dropped.
+ *
+ * With coalescing enabled, a notification identical to one accepted within the window (same
+ * tenant, user, recipient and text, as resent by a restarted workflow) is suppressed at
+ * enqueue, and notifications for the same user and channel that meet in one batch are merged
+ * into a single message.
+ */
+public class NotificationOutbox implements AutoCloseable, BackpressureSignal {
+
+    private static final CoreLogger log = CoreLoggerFactory.getLogger(NotificationOutbox.class);
+
+    public static final int DEFAULT_CAPACITY = 10_000;
+    public static final int DEFAULT_BATCH_SIZE = 50;
+    public static final long DEFAULT_LINGER_MILLIS = 20;
+    public static final long DEFAULT_BLOCK_TIMEOUT_MILLIS = 100;
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_MILLIS = 50;
+    private static final long IDLE_POLL_MILLIS = 100;
+    // Overflow keeps the channel saturated this long after the last occurrence
+    private static final long OVERFLOW_HOLD_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<NotificationChannel, ChannelDispatcher> dispatchers = new EnumMap<>(NotificationChannel.class);
+    private final int batchSize;
+    private final long lingerNanos;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    private long blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_BLOCK_TIMEOUT_MILLIS);
+    private Path spillDirectory;
+    private boolean started;
+    private volatile boolean running;
+
+    public NotificationOutbox(EmailTransport email, SmsTransport sms) {
+        this(email, sms, DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE, DEFAULT_LINGER_MILLIS);
+    }
+
+    public NotificationOutbox(EmailTransport email, SmsTransport sms, int capacity, int batchSize, long lingerMillis) {
+        if (email == null || sms == null) {
+            throw new IllegalArgumentException("Email and SMS transports are required");
+        }
+        if (capacity < 1 || batchSize < 1 || lingerMillis < 0) {
+            throw new IllegalArgumentException("Capacity and batch size must be positive, linger not negative");
+        }
+        this.batchSize = batchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        dispatchers.put(NotificationChannel.EMAIL, new ChannelDispatcher(NotificationChannel.EMAIL, email, capacity));
+        dispatchers.put(NotificationChannel.SMS, new ChannelDispatcher(NotificationChannel.SMS, sms, capacity));
+    }
+
+    /**
+     * Set how a full queue is handled, before start
+     * BLOCK waits up to {@code blockTimeoutMillis}; SPILL_TO_DISK needs {@code spillDirectory}.
+     */
+    public synchronized NotificationOutbox withOverflowPolicy(OverflowPolicy policy, long blockTimeoutMillis,
+                                                              Path spillDirectory) {
+        checkNotStarted();
+        if (policy == null || blockTimeoutMillis < 0) {
+            throw new IllegalArgumentException("Overflow policy is required, block timeout not negative");
+        }
+        if (policy == OverflowPolicy.SPILL_TO_DISK && spillDirectory == null) {
+            throw new IllegalArgumentException("Spilling to disk needs a spill directory");
+        }
+        this.overflowPolicy = policy;
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMillis);
+        this.spillDirectory = spillDirectory;
+        return this;
+    }
+
+    /**
+     * Pace a channel's deliveries to the provider's rate, before start; a rate of 0 means unlimited
+     */
+    public synchronized NotificationOutbox withChannelRateLimit(NotificationChannel channel, double permitsPerSecond,
+                                                                int burst) {
+        checkNotStarted();
+        dispatchers.get(channel).rateLimit = permitsPerSecond > 0 ? new TokenBucket(permitsPerSecond, burst) : null;
+        return this;
+    }
+
+    /**
+     * Limit each tenant's notifications on a channel, before start; a rate of 0 means unlimited
+     * Notifications above the rate are rejected at enqueue and counted as throttled.
+     */
+    public synchronized NotificationOutbox withTenantRateLimit(NotificationChannel channel, double permitsPerSecond,
+                                                               int burst) {
+        checkNotStarted();
+        if (permitsPerSecond > 0 && burst < 1) {
+            throw new IllegalArgumentException("Burst must be positive");
+        }
+        ChannelDispatcher dispatcher = dispatchers.get(channel);
+        dispatcher.tenantRate = Math.max(0, permitsPerSecond);
+        dispatcher.tenantBurst = burst;
+        return this;
+    }
+
+    /**
+     * Suppress repeats within {@code windowMillis} and merge per-user messages, before start
+     * Each channel remembers at most {@code maxTracked} notifications; a window of 0 disables it.
+     */
+    public synchronized NotificationOutbox withCoalescing(long windowMillis, int maxTracked) {
+        checkNotStarted();
+        for (ChannelDispatcher dispatcher : dispatchers.values()) {
+            dispatcher.deduplicator = windowMillis > 0
+                    ? new NotificationDeduplicator(TimeUnit.MILLISECONDS.toNanos(windowMillis), maxTracked)
+                    : null;
+        }
+        return this;
+    }
+
+    /**
+     * Start dispatcher threads, idempotent
+     * With SPILL_TO_DISK, notifications spilled by a previous run are delivered first.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        started = true;
+        for (ChannelDispatcher dispatcher : dispatchers.values()) {
+            dispatcher.openSpill();
+        }
+        running = true;
+        for (ChannelDispatcher dispatcher : dispatchers.values()) {
+            dispatcher.start();
+        }
+    }
+
+    /**
+     * Queue a notification
+     * Returns false when the tenant is over its rate (counted as throttled), when the overflow
+     * policy gives up on a full queue or the outbox is stopped (counted as dropped). A repeat
+     * suppressed by coalescing returns true, as its message is already on the way. A rejected
+     * notification is not remembered for coalescing, so a retry is not suppressed as a repeat,
+     * and one dropped after admission gives its tenant token back. Only BLOCK waits, for at most
+     * the block timeout.
+     */
+    public boolean enqueue(Notification notification) {
+        ChannelDispatcher dispatcher = dispatchers.get(notification.getChannel());
+        if (!running) {
+            dispatcher.dropped.increment();
+            return false;
+        }
+        if (!dispatcher.firstSeen(notification)) {
+            dispatcher.deduplicated.increment();
+            return true;
+        }
+        if (!dispatcher.admit(notification.getTenantId())) {
+            dispatcher.forget(notification);
+            dispatcher.throttled.increment();
+            return false;
+        }
+        if (!dispatcher.offer(notification)) {
+            dispatcher.forget(notification);
+            dispatcher.refund(notification.getTenantId());
+            dispatcher.dropped.increment();
+            return false;
+        }
+        dispatcher.enqueued.increment();
+        dispatcher.afterOffer();
+        return true;
+    }
+
+    /**
+     * Stop accepting notifications, deliver what is queued and stop the dispatcher threads
+     * Notifications queued while the outbox was stopping are delivered on the closing thread,
+     * or on the enqueuing thread if it queued after that final drain. Spilled notifications
+     * stay on disk for the next start.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+        }
+        for (ChannelDispatcher dispatcher : dispatchers.values()) {
+            dispatcher.stop();
+        }
+    }
+
+    /**
+     * Highest backpressure level over all channels
+     */
+    @Override
+    public BackpressureLevel getBackpressure() {
+        BackpressureLevel level = BackpressureLevel.NONE;
+        for (ChannelDispatcher dispatcher : dispatchers.values()) {
+            BackpressureLevel channelLevel = dispatcher.currentLevel();
+            if (channelLevel.compareTo(level) > 0) {
+                level = channelLevel;
+            }
+        }
+        return level;
+    }
+
+    public BackpressureLevel getBackpressure(NotificationChannel channel) {
+        return dispatchers.get(channel).currentLevel();
+    }
+
+    public boolean isRunning() { return running; }
+
+    public OverflowPolicy getOverflowPolicy() { return overflowPolicy; }
+
+    public int getQueueDepth(NotificationChannel channel) {
+        return dispatchers.get(channel).queue.size();
+    }
+
+    public ChannelStats getStats(NotificationChannel channel) {
+        return dispatchers.get(channel).stats();
+    }
+
+    public Map<NotificationChannel, ChannelStats> getStats() {
+        Map<NotificationChannel, ChannelStats> stats = new EnumMap<>(NotificationChannel.class);
+        dispatchers.forEach((channel, dispatcher) -> stats.put(channel, dispatcher.stats()));
+        return stats;
+    }
+
+    private void checkNotStarted() {
+        if (started) {
+            throw new IllegalStateException("Outbox limits must be configured before start");
+        }
+    }
+
+    /**
+     * Bounded queue plus the thread delivering it in batches
+     */
+    private final class ChannelDispatcher implements Runnable {
+
+        private final NotificationChannel channel;
+        private final NotificationTransport transport;
+        private final int capacity;
+        private final BlockingQueue<Notification> queue;
+        private final Thread worker;
+        private final List<Notification> batch;
+        // Set under the dispatcher lock once the worker has exited
+        private boolean stopped;
+
+        // Set before start, published by the volatile write of running
+        private TokenBucket rateLimit;
+        private double tenantRate;
+        private int tenantBurst;
+        private SpillFile spill;
+        private NotificationDeduplicator deduplicator;
+        private final ConcurrentHashMap<String, TokenBucket> tenantLimits = new ConcurrentHashMap<>();
+
+        // Written by the worker, except that producers raise it on overflow
+        private volatile BackpressureLevel level = BackpressureLevel.NONE;
+        private volatile long lastOverflowNanos = System.nanoTime() - OVERFLOW_HOLD_NANOS;
+        private volatile long pacedUntilNanos;
+
+        private final LongAdder enqueued = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder throttled = new LongAdder();
+        private final LongAdder deduplicated = new LongAdder();
+        private final LongAdder coalesced = new LongAdder();
+        private final LongAdder spilled = new LongAdder();
+        private final LongAdder sent = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder batches = new LongAdder();
+        private final LongAdder pacedNanos = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        ChannelDispatcher(NotificationChannel channel, NotificationTransport transport, int capacity) {
+            this.channel = channel;
+            this.transport = transport;
+            this.capacity = capacity;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.batch = new ArrayList<>(batchSize);
+            this.worker = new Thread(this, "notification-outbox-" + channel.name().toLowerCase());
+            this.worker.setDaemon(true);
+        }
+
+        void openSpill() {
+            if (overflowPolicy != OverflowPolicy.SPILL_TO_DISK || spill != null) {
+                return;
+            }
+            Path path = spillDirectory.resolve("outbox-" + channel.name().toLowerCase() + ".spill");
+            try {
+                spill = new SpillFile(path);
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot open spill file " + path, e);
+            }
+            if (spill.hasPending()) {
+                log.info("OUTBOX: {} replaying notifications spilled to {}", channel, path);
+            }
+        }
+
+        void start() {
+            worker.start();
+        }
+
+        // The worker notices within one idle poll; not interrupted, so an in-flight send completes
+        void stop() {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (worker.isAlive()) {
+                log.warn("OUTBOX: {} dispatcher did not stop, {} notifications left to it", channel, queue.size());
+                return;
+            }
+            synchronized (this) {
+                stopped = true;
+                drainRemaining();
+            }
+            if (spill != null) {
+                try {
+                    spill.close();
+                } catch (IOException e) {
+                    log.warn("OUTBOX: closing {} spill file failed: {}", channel, e.getMessage());
+                }
+            }
+        }
+
+        // A producer that passed the running check may queue after the worker exited
+        void afterOffer() {
+            if (!running) {
+                synchronized (this) {
+                    if (stopped) {
+                        drainRemaining();
+                    }
+                }
+            }
+        }
+
+        // Called once the worker has exited, serialized by the dispatcher lock
+        private void drainRemaining() {
+            while (queue.drainTo(batch, batchSize) > 0) {
+                deliver();
+            }
+        }
+
+        boolean admit(String tenantId) {
+            if (tenantRate <= 0) {
+                return true;
+            }
+            String key = tenantId != null ? tenantId : "";
+            TokenBucket limit = tenantLimits.get(key);
+            if (limit == null) {
+                limit = tenantLimits.computeIfAbsent(key, id -> new TokenBucket(tenantRate, tenantBurst));
+            }
+            return limit.tryAcquire(1);
+        }
+
+        void refund(String tenantId) {
+            if (tenantRate <= 0) {
+                return;
+            }
+            TokenBucket limit = tenantLimits.get(tenantId != null ? tenantId : "");
+            if (limit != null) {
+                limit.release(1);
+            }
+        }
+
+        boolean firstSeen(Notification notification) {
+            if (deduplicator == null) {
+                return true;
+            }
+            synchronized (deduplicator) {
+                return deduplicator.firstSeen(notification, System.nanoTime());
+            }
+        }
+
+        void forget(Notification notification) {
+            if (deduplicator != null) {
+                synchronized (deduplicator) {
+                    deduplicator.forget(notification);
+                }
+            }
+        }
+
+        // While anything is spilled new notifications go to the spill file too, keeping FIFO order
+        boolean offer(Notification notification) {
+            if ((spill == null || !spill.hasPending()) && queue.offer(notification)) {
+                return true;
+            }
+            overflowed();
+            switch (overflowPolicy) {
+                case DROP_OLDEST:
+                    while (!queue.offer(notification)) {
+                        if (queue.poll() != null) {
+                            dropped.increment();
+                        }
+                    }
+                    return true;
+                case SPILL_TO_DISK:
+                    return spill(notification);
+                case BLOCK:
+                default:
+                    try {
+                        return queue.offer(notification, blockTimeoutNanos, TimeUnit.NANOSECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+            }
+        }
+
+        private boolean spill(Notification notification) {
+            synchronized (spill) {
+                if (!spill.hasPending() && queue.offer(notification)) {
+                    return true;
+                }
+                try {
+                    spill.append(notification);
+                    spilled.increment();
+                    return true;
+                } catch (IOException e) {
+                    log.warn("OUTBOX: {} spill to disk failed: {}", channel, e.getMessage());
+                    return false;
+                }
+            }
+        }
+
+        private void overflowed() {
+            lastOverflowNanos = System.nanoTime();
+            if (level != BackpressureLevel.SATURATED) {
+                level = BackpressureLevel.SATURATED;
+            }
+        }
+
+        @Override
+        public void run() {
+            while (running || !queue.isEmpty()) {
+                try {
+                    if (running && queue.isEmpty() && spill != null && spill.hasPending()) {
+                        // Everything queued predates the spill, so it is read once the queue is empty
+                        readSpill();
+                    } else {
+                        Notification first = running ? queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS) : queue.poll();
+                        if (first != null) {
+                            batch.add(first);
+                            fillBatch(first.getCreatedNanos() + lingerNanos);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    // Deliver what was collected; the loop ends once stopped and drained
+                }
+                if (!batch.isEmpty()) {
+                    deliver();
+                }
+                updateLevel();
+            }
+            level = BackpressureLevel.NONE;
+        }
+
+        private void readSpill() {
+            synchronized (spill) {
+                try {
+                    spill.read(batchSize, batch);
+                } catch (IOException | RuntimeException e) {
+                    log.warn("OUTBOX: {} spill file unreadable, discarding it: {}", channel, e.getMessage());
+                    try {
+                        spill.discard();
+                    } catch (IOException discardFailed) {
+                        log.error("OUTBOX: cannot discard spill file {}", spill.getPath(), discardFailed);
+                    }
+                }
+            }
+        }
+
+        // Linger is measured from the first notification's creation, so a backlog is sent immediately
+        private void fillBatch(long deadline) throws InterruptedException {
+            while (batch.size() < batchSize) {
+                queue.drainTo(batch, batchSize - batch.size());
+                long remaining = deadline - System.nanoTime();
+                if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                    return;
+                }
+                Notification next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    return;
+                }
+                batch.add(next);
+            }
+        }
+
+        private void deliver() {
+            if (deduplicator != null && batch.size() > 1) {
+                coalesce();
+            }
+            pace();
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    transport.send(batch);
+                    long now = System.nanoTime();
+                    for (Notification notification : batch) {
+                        latency.record(now - notification.getCreatedNanos());
+                    }
+                    sent.add(batch.size());
+                    batches.increment();
+                    break;
+                } catch (Exception e) {
+                    if (attempt >= MAX_ATTEMPTS || !backOff(attempt)) {
+                        failed.add(batch.size());
+                        log.warn("OUTBOX: {} batch of {} failed: {}", channel, batch.size(), e.getMessage());
+                        break;
+                    }
+                }
+            }
+            batch.clear();
+        }
+
+        // Merge notifications to the same recipient into the first one, keeping batch order
+        private void coalesce() {
+            int kept = 0;
+            next:
+            for (int i = 0; i < batch.size(); i++) {
+                Notification notification = batch.get(i);
+                for (int j = 0; j < kept; j++) {
+                    Notification target = batch.get(j);
+                    if (target.sameRecipient(notification)) {
+                        if (!target.getMessage().equals(notification.getMessage())) {
+                            batch.set(j, new Notification(channel, target.getTenantId(), target.getUserId(),
+                                    target.getRecipient(), target.getMessage() + "\n" + notification.getMessage(),
+                                    target.getCreatedNanos()));
+                        }
+                        coalesced.increment();
+                        continue next;
+                    }
+                }
+                batch.set(kept++, notification);
+            }
+            batch.subList(kept, batch.size()).clear();
+        }
+
+        // Wait for the channel's tokens; the queue absorbs the difference and raises backpressure
+        private void pace() {
+            if (rateLimit == null) {
+                return;
+            }
+            long waitNanos = rateLimit.reserve(batch.size());
+            if (waitNanos <= 0) {
+                return;
+            }
+            pacedUntilNanos = System.nanoTime() + waitNanos;
+            pacedNanos.add(waitNanos);
+            if (level == BackpressureLevel.NONE) {
+                level = BackpressureLevel.ELEVATED;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                // Sent early rather than held back
+            }
+        }
+
+        // False when interrupted, the batch is then given up
+        private boolean backOff(int attempt) {
+            try {
+                Thread.sleep(RETRY_BACKOFF_MILLIS * attempt);
+                return true;
+            } catch (InterruptedException e) {
+                return false;
+            }
+        }
+
+        private void updateLevel() {
+            level = computeLevel(System.nanoTime());
+        }
+
+        // Refreshed by the worker at least once per idle poll, so reads stay off the queue lock
+        BackpressureLevel currentLevel() {
+            return running ? level : BackpressureLevel.NONE;
+        }
+
+        private BackpressureLevel computeLevel(long now) {
+            int depth = queue.size();
+            if (now - lastOverflowNanos < OVERFLOW_HOLD_NANOS || depth * 10L >= capacity * 9L
+                    || (spill != null && spill.hasPending())) {
+                return BackpressureLevel.SATURATED;
+            }
+            if (depth * 2L >= capacity || now - pacedUntilNanos < 0) {
+                return BackpressureLevel.ELEVATED;
+            }
+            return BackpressureLevel.NONE;
+        }
+
+        ChannelStats stats() {
+            return new ChannelStats(queue.size(), enqueued.sum(), dropped.sum(), throttled.sum(), deduplicated.sum(),
+                    coalesced.sum(), spilled.sum(), spill != null ? spill.getPending() : 0, sent.sum(), failed.sum(),
+                    batches.sum(),
+                    TimeUnit.NANOSECONDS.toMillis(pacedNanos.sum()), currentLevel(), latency.snapshot());
+        }
+    }
+
+    /**
+     * Point-in-time counters of one channel
+     */
+    public static final class ChannelStats {
+        private final int queueDepth;
+        private final long enqueued;
+        private final long dropped;
+        private final long throttled;
+        private final long deduplicated;
+        private final long coalesced;
+        private final long spilled;
+        private final long spillPending;
+        private final long sent;
+        private final long failed;
+        private final long batches;
+        private final long pacedMillis;
+        private final BackpressureLevel backpressure;
+        private final LatencyHistogram.Snapshot latency;
+
+        ChannelStats(int queueDepth, long enqueued, long dropped, long throttled, long deduplicated, long coalesced,
+                     long spilled, long spillPending, long sent, long failed, long batches, long pacedMillis,
+                     BackpressureLevel backpressure, LatencyHistogram.Snapshot latency) {
+            this.queueDepth = queueDepth;
+            this.enqueued = enqueued;
+            this.dropped = dropped;
+            this.throttled = throttled;
+            this.deduplicated = deduplicated;
+            this.coalesced = coalesced;
+            this.spilled = spilled;
+            this.spillPending = spillPending;
+            this.sent = sent;
+            this.failed = failed;
+            this.batches = batches;
+            this.pacedMillis = pacedMillis;
+            this.backpressure = backpressure;
+            this.latency = latency;
+        }
+
+        public int getQueueDepth() { return queueDepth; }
+        public long getEnqueued() { return enqueued; }
+        public long getDropped() { return dropped; }
+        public long getThrottled() { return throttled; }
+        /** Repeats suppressed at enqueue */
+        public long getDeduplicated() { return deduplicated; }
+        /** Notifications merged into another one of the same batch */
+        public long getCoalesced() { return coalesced; }
+        public long getSpilled() { return spilled; }
+        /** Notifications waiting on disk, -1 while a spill file from a previous run is replayed */
+        public long getSpillPending() { return spillPending; }
+        public long getSent() { return sent; }
+        public long getFailed() { return failed; }
+        public long getBatches() { return batches; }
+        public long getPacedMillis() { return pacedMillis; }
+        public BackpressureLevel getBackpressure() { return backpressure; }
+        public LatencyHistogram.Snapshot getLatency() { return latency; }
+
+        public double getAverageBatchSize() {
+            return batches == 0 ? 0.0 : (double) sent / batches;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.company.core.notification;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Notification Template - message text with named placeholders, compiled once
+ * The source is split at placeholders such as {@code {orderId}} into literal segments and
+ * argument indexes, resolved against the variable names the template is declared with;
+ * {@code {{} and {@code }}} stand for literal braces. Rendering appends segments and argument
+ * values straight into a buffer reused per thread, so the only string built is the message.
+ * Immutable and thread-safe.
+ */
+public final class NotificationTemplate {
+
+    private static final int MAX_RETAINED_BUFFER = 4096;
+    private static final ThreadLocal<StringBuilder> BUFFERS = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private final String name;
+    private final String source;
+    private final String[] variableNames;
+    // literals[i] precedes the argument at arguments[i], the last literal trails the message
+    private final String[] literals;
+    private final int[] arguments;
+    private final int estimatedLength;
+
+    private NotificationTemplate(String name, String source, String[] variableNames, String[] literals,
+                                 int[] arguments) {
+        this.name = name;
+        this.source = source;
+        this.variableNames = variableNames;
+        this.literals = literals;
+        this.arguments = arguments;
+        int length = 16 * arguments.length;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.estimatedLength = length;
+    }
+
+    /**
+     * Parse a template whose placeholders must be among {@code variables}
+     *
+     * @throws IllegalArgumentException for unknown variables or unbalanced braces
+     */
+    public static NotificationTemplate compile(String name, String source, String... variables) {
+        if (source == null) {
+            throw new IllegalArgumentException("Template " + name + " has no text");
+        }
+        List<String> literals = new ArrayList<>();
+        int[] arguments = new int[source.length() / 2 + 1];
+        int count = 0;
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            if ((c == '{' || c == '}') && i + 1 < source.length() && source.charAt(i + 1) == c) {
+                literal.append(c);
+                i += 2;
+            } else if (c == '{') {
+                int end = source.indexOf('}', i);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unclosed placeholder in template " + name + ": " + source);
+                }
+                String variable = source.substring(i + 1, end).trim();
+                int index = indexOf(variables, variable);
+                if (index < 0) {
+                    throw new IllegalArgumentException("Unknown variable {" + variable + "} in template " + name
+                            + ", expected one of " + Arrays.toString(variables));
+                }
+                literals.add(literal.toString());
+                literal.setLength(0);
+                arguments[count++] = index;
+                i = end + 1;
+            } else if (c == '}') {
+                throw new IllegalArgumentException("Unmatched '}' in template " + name + ": " + source);
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        literals.add(literal.toString());
+        return new NotificationTemplate(name, source, variables.clone(), literals.toArray(new String[0]),
+                Arrays.copyOf(arguments, count));
+    }
+
+    /**
+     * Render with arguments in the order of the declared variables
+     */
+    public String render(Object... values) {
+        StringBuilder buffer = BUFFERS.get();
+        buffer.setLength(0);
+        String message = renderTo(buffer, values).toString();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+            BUFFERS.remove();
+        }
+        return message;
+    }
+
+    /**
+     * Append the rendered message to {@code out}, for callers composing larger messages
+     */
+    public StringBuilder renderTo(StringBuilder out, Object... values) {
+        if (values.length < variableNames.length) {
+            throw new IllegalArgumentException("Template " + name + " needs " + variableNames.length
+                    + " arguments, got " + values.length);
+        }
+        out.ensureCapacity(out.length() + estimatedLength);
+        for (int i = 0; i < arguments.length; i++) {
+            out.append(literals[i]);
+            append(out, values[arguments[i]]);
+        }
+        return out.append(literals[arguments.length]);
+    }
+
+    public String getName() { return name; }
+    public String getSource() { return source; }
+
+    public String[] getVariables() {
+        return variableNames.clone();
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + source;
+    }
+
+    // Common value types are appended without converting them to a String first
+    private static void append(StringBuilder out, Object value) {
+        if (value instanceof CharSequence) {
+            out.append((CharSequence) value);
+        } else if (value instanceof Long || value instanceof Integer) {
+            out.append(((Number) value).longValue());
+        } else if (value != null) {
+            out.append(value);
+        }
+    }
+
+    private static int indexOf(String[] variables, String variable) {
+        for (int i = 0; i < variables.length; i++) {
+            if (variables[i].equals(variable)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
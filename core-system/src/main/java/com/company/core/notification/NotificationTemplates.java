@@ -0,0 +1,92 @@
+package com.company.core.notification;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Notification Templates - compiled message templates with per-tenant overrides
+ * Each template is defined once with its variables and default text. Tenants override the
+ * text, typically from notifications.templates in their YAML; an override is compiled against
+ * the same variables, so a misspelt placeholder fails at startup rather than at send time.
+ * Lookups after startup only read the maps.
+ */
+public class NotificationTemplates {
+
+    /** Order processed, variables: orderId, userName */
+    public static final String ORDER_PROCESSED = "order-processed";
+
+    private final Map<String, NotificationTemplate> defaults = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, NotificationTemplate>> overrides = new ConcurrentHashMap<>();
+
+    /**
+     * Registry holding the core templates
+     */
+    public static NotificationTemplates withDefaults() {
+        return new NotificationTemplates()
+                .define(ORDER_PROCESSED, "Your order {orderId} has been processed", "orderId", "userName");
+    }
+
+    /**
+     * Define a template and its default text
+     */
+    public NotificationTemplates define(String name, String source, String... variables) {
+        defaults.put(name, NotificationTemplate.compile(name, source, variables));
+        return this;
+    }
+
+    /**
+     * Replace texts of defined templates for one tenant
+     *
+     * @throws IllegalArgumentException for an undefined template or a text that does not compile
+     */
+    public NotificationTemplates override(String tenantId, Map<String, String> sources) {
+        if (tenantId == null || sources == null || sources.isEmpty()) {
+            return this;
+        }
+        Map<String, NotificationTemplate> tenantTemplates = new ConcurrentHashMap<>();
+        for (Map.Entry<String, String> entry : sources.entrySet()) {
+            NotificationTemplate base = defaults.get(entry.getKey());
+            if (base == null) {
+                throw new IllegalArgumentException("Tenant " + tenantId + " overrides undefined template "
+                        + entry.getKey() + ", defined: " + defaults.keySet());
+            }
+            tenantTemplates.put(entry.getKey(),
+                    NotificationTemplate.compile(entry.getKey(), entry.getValue(), base.getVariables()));
+        }
+        overrides.merge(tenantId, tenantTemplates, (existing, added) -> {
+            existing.putAll(added);
+            return existing;
+        });
+        return this;
+    }
+
+    /**
+     * The tenant's template, falling back to the default text
+     *
+     * @throws IllegalArgumentException for an undefined template
+     */
+    public NotificationTemplate get(String tenantId, String name) {
+        if (tenantId != null) {
+            Map<String, NotificationTemplate> tenantTemplates = overrides.get(tenantId);
+            NotificationTemplate template = tenantTemplates != null ? tenantTemplates.get(name) : null;
+            if (template != null) {
+                return template;
+            }
+        }
+        NotificationTemplate template = defaults.get(name);
+        if (template == null) {
+            throw new IllegalArgumentException("Undefined notification template " + name);
+        }
+        return template;
+    }
+
+    public Map<String, NotificationTemplate> getDefaults() {
+        return Collections.unmodifiableMap(defaults);
+    }
+
+    public Map<String, NotificationTemplate> getOverrides(String tenantId) {
+        Map<String, NotificationTemplate> tenantTemplates = overrides.get(tenantId);
+        return tenantTemplates != null ? Collections.unmodifiableMap(tenantTemplates) : Collections.emptyMap();
+    }
+}
@@ -0,0 +1,13 @@
+package com.company.core.notification;
+
+import java.util.List;
+
+/**
+ * Notification Transport - delivers batches of one channel to the provider
+ * Called on that channel's dispatcher thread only. Throwing fails the whole batch, which the
+ * outbox retries a bounded number of times.
+ */
+public interface NotificationTransport {
+
+    void send(List<Notification> batch) throws Exception;
+}
@@ -0,0 +1,13 @@
+package com.company.core.notification;
+
+/**
+ * What {@link NotificationOutbox#enqueue} does when a channel's queue is full
+ */
+public enum OverflowPolicy {
+    /** Wait up to the block timeout for space, then drop the new notification */
+    BLOCK,
+    /** Drop the oldest queued notification to make room */
+    DROP_OLDEST,
+    /** Append to the channel's spill file, replayed in order once the queue has room */
+    SPILL_TO_DISK
+}
@@ -0,0 +1,7 @@
+package com.company.core.notification;
+
+/**
+ * Transport for {@link NotificationChannel#SMS}
+ */
+public interface SmsTransport extends NotificationTransport {
+}
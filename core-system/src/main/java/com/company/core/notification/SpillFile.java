@@ -0,0 +1,150 @@
+package com.company.core.notification;
+
+import com.company.core.store.BinaryReader;
+import com.company.core.store.BinaryWriter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Spill File - FIFO overflow of one channel's queue on disk
+ * Records are [int length][channel byte][tenant][user][recipient][message] appended at the end
+ * and read from a separate position; once everything is read the file is truncated. A file
+ * left by a previous run is replayed, a torn record at its end is discarded. Not thread-safe,
+ * callers synchronize on the instance.
+ */
+final class SpillFile implements AutoCloseable {
+
+    private final Path path;
+    private final FileChannel channel;
+    private final BinaryWriter writer = new BinaryWriter(256);
+    private final BinaryReader reader = new BinaryReader(null);
+    private final ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+    private long readPosition;
+    private long writePosition;
+    private volatile long pending;
+
+    SpillFile(Path path) throws IOException {
+        Files.createDirectories(path.getParent());
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.writePosition = channel.size();
+        this.pending = writePosition > 0 ? -1 : 0;
+    }
+
+    void append(Notification notification) throws IOException {
+        writer.reset();
+        writer.writeInt(0);
+        writer.writeByte((byte) notification.getChannel().ordinal());
+        writer.writeString(notification.getTenantId());
+        writer.writeString(notification.getUserId());
+        writer.writeString(notification.getRecipient());
+        writer.writeString(notification.getMessage());
+        ByteBuffer record = writer.toByteBuffer();
+        record.putInt(0, record.remaining() - Integer.BYTES);
+        while (record.hasRemaining()) {
+            writePosition += channel.write(record, writePosition);
+        }
+        pending = pending < 0 ? -1 : pending + 1;
+    }
+
+    /**
+     * Move up to {@code max} spilled notifications into {@code out}, truncating once drained
+     */
+    int read(int max, List<Notification> out) throws IOException {
+        int read = 0;
+        while (read < max && readPosition < writePosition) {
+            header.clear();
+            if (!readFully(header, readPosition) || header.getInt(0) < 0
+                    || readPosition + Integer.BYTES + header.getInt(0) > writePosition) {
+                // Torn record from a crash, nothing after it is usable
+                readPosition = writePosition;
+                break;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(header.getInt(0));
+            if (!readFully(payload, readPosition + Integer.BYTES)) {
+                readPosition = writePosition;
+                break;
+            }
+            payload.flip();
+            reader.wrap(payload);
+            NotificationChannel target = NotificationChannel.values()[reader.readByte()];
+            out.add(new Notification(target, reader.readString(), reader.readString(), reader.readString(), reader.readString()));
+            readPosition += Integer.BYTES + payload.capacity();
+            read++;
+        }
+        if (readPosition >= writePosition) {
+            discard();
+        } else if (pending > 0) {
+            pending -= read;
+        }
+        return read;
+    }
+
+    // FileChannel.read may return fewer bytes than asked for, keep reading until the buffer is full
+    private boolean readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int count = channel.read(buffer, position);
+            if (count < 0) {
+                return false;
+            }
+            position += count;
+        }
+        return true;
+    }
+
+    /**
+     * Drop everything still on disk
+     */
+    void discard() throws IOException {
+        channel.truncate(0);
+        readPosition = 0;
+        writePosition = 0;
+        pending = 0;
+    }
+
+    boolean hasPending() {
+        return pending != 0;
+    }
+
+    /**
+     * Records waiting on disk, -1 when a file from a previous run has not been counted
+     */
+    long getPending() {
+        return pending;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    /**
+     * Close, keeping only the unread records so the next run does not resend delivered ones
+     * A crash before close still replays the whole file, delivery is at least once.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (readPosition > 0 && readPosition < writePosition) {
+                Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+                try (FileChannel tail = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    long position = readPosition;
+                    while (position < writePosition) {
+                        position += channel.transferTo(position, writePosition - position, tail);
+                    }
+                    tail.force(true);
+                }
+                Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.company.core.notification;
+
+import com.company.core.logging.CoreLogger;
+import com.company.core.logging.CoreLoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stub Transport - local email and SMS transport that logs and keeps what it delivered
+ * The default when no provider is configured, and a test double: the most recent messages
+ * are kept for inspection and {@link #failNextBatches} makes the next sends throw.
+ */
+public class StubTransport implements EmailTransport, SmsTransport {
+
+    private static final CoreLogger log = CoreLoggerFactory.getLogger(StubTransport.class);
+
+    public static final int DEFAULT_RETAINED = 1000;
+
+    private final int retained;
+    private final Deque<Notification> recent = new ArrayDeque<>();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final AtomicInteger failuresRequested = new AtomicInteger();
+
+    public StubTransport() {
+        this(DEFAULT_RETAINED);
+    }
+
+    public StubTransport(int retained) {
+        this.retained = retained;
+    }
+
+    @Override
+    public void send(List<Notification> batch) {
+        if (failuresRequested.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+            throw new IllegalStateException("Stub transport failure");
+        }
+        for (Notification notification : batch) {
+            log.info("{}: To {} - {}", notification.getChannel(), notification.getRecipient(), notification.getMessage());
+        }
+        synchronized (recent) {
+            for (Notification notification : batch) {
+                if (recent.size() == retained) {
+                    recent.removeFirst();
+                }
+                recent.addLast(notification);
+            }
+        }
+        sent.add(batch.size());
+        batches.increment();
+    }
+
+    /**
+     * Make the next {@code count} batches fail
+     */
+    public void failNextBatches(int count) {
+        failuresRequested.set(count);
+    }
+
+    /**
+     * Most recently delivered notifications, oldest first
+     */
+    public List<Notification> getSent() {
+        synchronized (recent) {
+            return new ArrayList<>(recent);
+        }
+    }
+
+    public long getSentCount() { return sent.sum(); }
+    public long getBatchCount() { return batches.sum(); }
+
+    public void clear() {
+        synchronized (recent) {
+            recent.clear();
+        }
+        sent.reset();
+        batches.reset();
+    }
+}
@@ -0,0 +1,69 @@
+package com.company.core.notification;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token Bucket - lock-free rate limiter refilling at a fixed rate up to a burst capacity
+ * Kept as a single timestamp (the generic cell rate algorithm): the bucket is full at any time
+ * past {@code base + burst * interval}, and taking n tokens advances the base by n intervals.
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong base;
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.capacityNanos = intervalNanos * burst;
+        this.base = new AtomicLong(System.nanoTime() - capacityNanos);
+    }
+
+    /**
+     * Take tokens if they are all available now
+     */
+    public boolean tryAcquire(int permits) {
+        long cost = permits * intervalNanos;
+        while (true) {
+            long now = System.nanoTime();
+            long current = base.get();
+            long start = Math.max(current, now - capacityNanos);
+            if (start + cost > now) {
+                return false;
+            }
+            if (base.compareAndSet(current, start + cost)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Take tokens unconditionally, returns how long the caller must wait before using them
+     */
+    public long reserve(int permits) {
+        long cost = permits * intervalNanos;
+        while (true) {
+            long now = System.nanoTime();
+            long current = base.get();
+            long next = Math.max(current, now - capacityNanos) + cost;
+            if (base.compareAndSet(current, next)) {
+                return Math.max(0, next - now);
+            }
+        }
+    }
+
+    /**
+     * Give back tokens that were taken but not used; the bucket still never exceeds its burst
+     */
+    public void release(int permits) {
+        base.addAndGet(-permits * intervalNanos);
+    }
+
+    public double getPermitsPerSecond() {
+        return (double) TimeUnit.SECONDS.toNanos(1) / intervalNanos;
+    }
+}
@@ -0,0 +1,113 @@
+package com.company.core.pool;
+
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Object Pool - recycles objects through per-thread stacks backed by a shared ring
+ * Acquire and recycle on a thread that acquires from the pool touch only a thread-local array.
+ * Objects recycled on a thread that never acquires (e.g. an event bus consumer), where they
+ * would be stranded, or beyond the local capacity go to a bounded shared queue that acquirers
+ * fall back to; beyond that they are dropped for GC.
+ */
+public final class ObjectPool<T> {
+
+    public static final int DEFAULT_LOCAL_CAPACITY = 64;
+    public static final int DEFAULT_SHARED_CAPACITY = 1024;
+
+    private final Supplier<T> factory;
+    private final Consumer<T> resetter;
+    private final int localCapacity;
+    private final ThreadLocal<LocalStack<T>> local;
+    private final ArrayBlockingQueue<T> shared;
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder recycled = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public ObjectPool(Supplier<T> factory, Consumer<T> resetter) {
+        this(factory, resetter, DEFAULT_LOCAL_CAPACITY, DEFAULT_SHARED_CAPACITY);
+    }
+
+    public ObjectPool(Supplier<T> factory, Consumer<T> resetter, int localCapacity, int sharedCapacity) {
+        if (localCapacity < 1 || sharedCapacity < 1) {
+            throw new IllegalArgumentException("Pool capacities must be positive");
+        }
+        this.factory = Objects.requireNonNull(factory, "factory");
+        this.resetter = Objects.requireNonNull(resetter, "resetter");
+        this.localCapacity = localCapacity;
+        this.local = ThreadLocal.withInitial(() -> new LocalStack<>(this.localCapacity));
+        this.shared = new ArrayBlockingQueue<>(sharedCapacity);
+    }
+
+    /**
+     * Take a reset object from the pool, creating one when the pool is empty
+     */
+    public T acquire() {
+        LocalStack<T> stack = local.get();
+        stack.acquiring = true;
+        T instance = stack.pop();
+        if (instance == null) {
+            instance = shared.poll();
+        }
+        if (instance == null) {
+            created.increment();
+            instance = factory.get();
+        }
+        return instance;
+    }
+
+    /**
+     * Reset an object and return it to the pool
+     * Kept on the calling thread's stack if that thread acquires from the pool and has room,
+     * otherwise offered to the shared queue. The caller must not touch the object afterwards.
+     */
+    public void recycle(T instance) {
+        resetter.accept(instance);
+        recycled.increment();
+        LocalStack<T> stack = local.get();
+        if (!(stack.acquiring && stack.push(instance)) && !shared.offer(instance)) {
+            dropped.increment();
+        }
+    }
+
+    public long getCreatedCount() { return created.sum(); }
+    public long getRecycledCount() { return recycled.sum(); }
+    public long getDroppedCount() { return dropped.sum(); }
+
+    /**
+     * Bounded array stack owned by one thread
+     */
+    private static final class LocalStack<T> {
+
+        private final Object[] items;
+        private int size;
+        // Set on the first acquire; stacks of recycle-only threads stay empty
+        private boolean acquiring;
+
+        LocalStack(int capacity) {
+            this.items = new Object[capacity];
+        }
+
+        boolean push(T item) {
+            if (size == items.length) {
+                return false;
+            }
+            items[size++] = item;
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        T pop() {
+            if (size == 0) {
+                return null;
+            }
+            T item = (T) items[--size];
+            items[size] = null;
+            return item;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.company.core.processor;
+
+/**
+ * How hard a downstream pipeline is pushing back on request processing
+ */
+public enum BackpressureLevel {
+    /** Keeping up */
+    NONE,
+    /** Queues filling or rate limits engaged, optional work should be trimmed */
+    ELEVATED,
+    /** Queues full or overflowing, only essential work should be queued */
+    SATURATED
+}
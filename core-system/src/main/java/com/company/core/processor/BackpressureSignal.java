@@ -0,0 +1,11 @@
+package com.company.core.processor;
+
+/**
+ * Backpressure Signal - current load level of a downstream pipeline
+ * Read by {@link UniversalProcessor} on every request, so implementations return a
+ * precomputed value instead of inspecting their queues.
+ */
+public interface BackpressureSignal {
+
+    BackpressureLevel getBackpressure();
+}
@@ -0,0 +1,79 @@
+package com.company.core.processor;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Processor Executors - executors backing asynchronous business processing
+ * Virtual threads are used when the running JVM provides them (Java 21+); older runtimes
+ * fall back to a fixed pool of daemon platform threads
+ */
+public final class ProcessorExecutors {
+
+    private static final int PLATFORM_THREADS_PER_CPU = 8;
+
+    // Executors.newVirtualThreadPerTaskExecutor(), resolved reflectively to keep the Java 11 baseline
+    private static final Method VIRTUAL_FACTORY = lookupVirtualFactory();
+
+    private ProcessorExecutors() {
+    }
+
+    /**
+     * Shared default executor for {@link UniversalProcessor#processBusinessAsync}
+     */
+    public static ExecutorService defaultAsyncExecutor() {
+        return DefaultHolder.EXECUTOR;
+    }
+
+    /**
+     * New executor starting one virtual thread per task, platform pool when unsupported
+     */
+    public static ExecutorService newAsyncExecutor() {
+        ExecutorService virtual = newVirtualThreadExecutor();
+        return virtual != null ? virtual : newPlatformExecutor(
+                Runtime.getRuntime().availableProcessors() * PLATFORM_THREADS_PER_CPU);
+    }
+
+    /**
+     * Fixed pool of daemon platform threads
+     */
+    public static ExecutorService newPlatformExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "universal-processor-async-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(threads, factory);
+    }
+
+    public static boolean isVirtualThreadSupported() {
+        return VIRTUAL_FACTORY != null;
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        if (VIRTUAL_FACTORY == null) {
+            return null;
+        }
+        try {
+            return (ExecutorService) VIRTUAL_FACTORY.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static Method lookupVirtualFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static final class DefaultHolder {
+        static final ExecutorService EXECUTOR = newAsyncExecutor();
+    }
+}
@@ -0,0 +1,73 @@
+package com.company.core.processor;
+
+import com.company.core.model.BusinessContext;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Scenario Dispatch Table - immutable scenario to handler lookup built by {@link ScenarioRegistry}
+ * Open-addressing arrays keyed by interned scenario ids: a lookup is one hash probe,
+ * matching by reference first and falling back to equals for non-interned ids
+ */
+public final class ScenarioDispatchTable {
+
+    private final String[] keys;
+    private final ScenarioHandler[] handlers;
+    private final int mask;
+    private final ScenarioHandler defaultHandler;
+    private final Set<String> scenarios;
+
+    ScenarioDispatchTable(Map<String, ScenarioHandler> registrations, ScenarioHandler defaultHandler) {
+        int capacity = Integer.highestOneBit(Math.max(2, registrations.size() * 2 - 1)) << 1;
+        this.keys = new String[capacity];
+        this.handlers = new ScenarioHandler[capacity];
+        this.mask = capacity - 1;
+        this.defaultHandler = defaultHandler;
+        for (Map.Entry<String, ScenarioHandler> entry : registrations.entrySet()) {
+            int index = indexOf(entry.getKey());
+            while (keys[index] != null) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = entry.getKey();
+            handlers[index] = entry.getValue();
+        }
+        this.scenarios = Collections.unmodifiableSet(new LinkedHashSet<>(registrations.keySet()));
+    }
+
+    /**
+     * Resolve the handler for a scenario, the default handler when none is registered
+     */
+    public ScenarioHandler handlerFor(String scenario) {
+        if (scenario == null) {
+            return defaultHandler;
+        }
+        int index = indexOf(scenario);
+        String key;
+        while ((key = keys[index]) != null) {
+            if (key == scenario || key.equals(scenario)) {
+                return handlers[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return defaultHandler;
+    }
+
+    /**
+     * Dispatch a context to the handler of its scenario
+     */
+    public void dispatch(BusinessContext context) {
+        handlerFor(context.getScenario()).handle(context);
+    }
+
+    public Set<String> getScenarios() {
+        return scenarios;
+    }
+
+    private int indexOf(String scenario) {
+        int hash = scenario.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,16 @@
+package com.company.core.processor;
+
+import com.company.core.model.BusinessContext;
+
+/**
+ * Scenario Handler SPI - business logic for one scenario
+ * Registered in a {@link ScenarioRegistry} under a scenario id such as "order" or "medical"
+ */
+@FunctionalInterface
+public interface ScenarioHandler {
+
+    /**
+     * Handle a business context of the registered scenario
+     */
+    void handle(BusinessContext context);
+}
@@ -0,0 +1,47 @@
+package com.company.core.processor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Scenario Registry - collects scenario handlers at startup
+ * Call {@link #compile()} once to obtain the immutable dispatch table used per request
+ */
+public class ScenarioRegistry {
+
+    private final Map<String, ScenarioHandler> handlers = new LinkedHashMap<>();
+    private ScenarioHandler defaultHandler = context -> { };
+
+    /**
+     * Register a handler, replacing any handler already registered for the scenario
+     */
+    public ScenarioRegistry register(String scenario, ScenarioHandler handler) {
+        if (scenario == null || handler == null) {
+            throw new IllegalArgumentException("Scenario and handler must not be null");
+        }
+        handlers.put(scenario.intern(), handler);
+        return this;
+    }
+
+    /**
+     * Handler used for scenarios without a registered handler
+     */
+    public ScenarioRegistry registerDefault(ScenarioHandler handler) {
+        if (handler == null) {
+            throw new IllegalArgumentException("Default handler must not be null");
+        }
+        this.defaultHandler = handler;
+        return this;
+    }
+
+    public boolean isRegistered(String scenario) {
+        return handlers.containsKey(scenario);
+    }
+
+    /**
+     * Build the dispatch table from the current registrations
+     */
+    public ScenarioDispatchTable compile() {
+        return new ScenarioDispatchTable(handlers, defaultHandler);
+    }
+}
@@ -1,71 +1,313 @@
 package com.company.core.processor;
 
 import com.company.core.event.BusinessEvent;
+import com.company.core.event.BusinessEventBus;
+import com.company.core.logging.CoreLogger;
+import com.company.core.logging.CoreLoggerFactory;
+import com.company.core.metrics.ProcessingMetrics;
+import com.company.core.metrics.ProcessingPhase;
+import com.company.core.metrics.ScenarioMetrics;
+import com.company.core.model.AttributeKeys;
 import com.company.core.model.BusinessContext;
 import com.company.core.model.Order;
-// NOTE: Spring imports removed for standalone compilation
-// import org.springframework.beans.factory.annotation.Autowired;
-// import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
-// import org.springframework.context.ApplicationEventPublisher;
-// import org.springframework.stereotype.Component;
+import com.company.core.pool.ObjectPool;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Universal Business Processor - supports multiple business scenarios
- * NOTE: Spring annotations commented out for standalone compilation
+ * Registered by {@link com.company.core.config.CoreSystemConfig} unless a tenant declares its
+ * own OrderProcessor, typically a subclass.
  */
-// @Component
-// @ConditionalOnMissingBean(OrderProcessor.class)
 public class UniversalProcessor implements OrderProcessor {
 
-    // @Autowired
-    // private ApplicationEventPublisher eventPublisher;
+    private static final CoreLogger log = CoreLoggerFactory.getLogger(UniversalProcessor.class);
+
+    private static final ObjectPool<ProcessResult> RESULT_POOL =
+            new ObjectPool<>(() -> new ProcessResult(false, null, null), ProcessResult::reset);
+
+    private BusinessEventBus eventBus;
+
+    // Downstream load published to hooks, e.g. the notification outbox
+    private BackpressureSignal backpressure;
+
+    // Scenario dispatch table, resolved once at construction
+    private final ScenarioDispatchTable scenarioTable;
+
+    // Pool running batch processing
+    private ForkJoinPool batchPool = ForkJoinPool.commonPool();
+
+    // Executor running asynchronous processing, virtual threads by default
+    private Executor asyncExecutor;
+
+    // Per-scenario, per-phase latency histograms
+    private ProcessingMetrics metrics;
+
+    public UniversalProcessor() {
+        ScenarioRegistry registry = new ScenarioRegistry();
+        registerScenarios(registry);
+        this.scenarioTable = registry.compile();
+        this.metrics = new ProcessingMetrics(scenarioTable.getScenarios(), Collections.emptySet());
+    }
 
     /**
      * Process business context - main new capability
      */
     public ProcessResult processBusiness(BusinessContext context) {
+        return processInto(context, new ProcessResult(false, null, null));
+    }
+
+    /**
+     * Opt-in pooled processing for batch and event-replay workloads
+     * Each item is populated into a pooled context and its result, reused across items, is
+     * handed to the sink; neither may be kept after the sink returns. Contexts still queued
+     * on the event bus go back to the pool once their listeners have run.
+     * Returns the number of items processed successfully.
+     */
+    public <T> int processPooled(List<T> items, BiConsumer<? super T, ? super BusinessContext> populator,
+                                 Consumer<? super ProcessResult> sink) {
+        ProcessResult result = RESULT_POOL.acquire();
+        int succeeded = 0;
         try {
-            System.out.printf("PROCESSING: %s%n", context);
+            for (int i = 0; i < items.size(); i++) {
+                BusinessContext context = BusinessContext.acquire();
+                try {
+                    populator.accept(items.get(i), context);
+                    processInto(context, result);
+                    if (result.isSuccess()) {
+                        succeeded++;
+                    }
+                    sink.accept(result);
+                } finally {
+                    result.reset();
+                    context.release();
+                }
+            }
+        } finally {
+            RESULT_POOL.recycle(result);
+        }
+        return succeeded;
+    }
+
+    private ProcessResult processInto(BusinessContext context, ProcessResult result) {
+        long start = System.nanoTime();
+        ScenarioMetrics scenarioMetrics = context != null
+                ? metrics.forScenario(context.getTenantId(), context.getScenario())
+                : metrics.forScenario(null, null);
+        try {
+            log.debug("PROCESSING: {}", context);
             
             // Validation
             if (context.getScenario() == null || context.getBusinessType() == null) {
-                return new ProcessResult(false, "Invalid business context", null);
+                scenarioMetrics.recordRequest(System.nanoTime() - start, false);
+                return result.set(false, "Invalid business context", null);
             }
+            markBackpressure(context);
+            long mark = scenarioMetrics.lap(ProcessingPhase.VALIDATION, start);
 
             // Extension point execution - BEFORE
             beforeProcess(context);
-            publishBusinessEvent("BEFORE_PROCESS", context);
+            mark = scenarioMetrics.lap(ProcessingPhase.BEFORE_PROCESS, mark);
+            boolean skipDefault = publishBusinessEvent("BEFORE_PROCESS", context);
+            mark = scenarioMetrics.lap(ProcessingPhase.BEFORE_EVENT, mark);
 
-            // Core business logic
-            processCoreLogic(context);
+            // Core business logic, unless a synchronous listener took over
+            if (skipDefault) {
+                log.debug("CORE: Default {} handling skipped by a listener", context.getScenario());
+            } else {
+                processCoreLogic(context);
+            }
+            mark = scenarioMetrics.lap(ProcessingPhase.CORE_LOGIC, mark);
 
             // Extension point execution - AFTER
             afterProcess(context);
+            mark = scenarioMetrics.lap(ProcessingPhase.AFTER_PROCESS, mark);
             publishBusinessEvent("AFTER_PROCESS", context);
+            mark = scenarioMetrics.lap(ProcessingPhase.AFTER_EVENT, mark);
 
             context.setStatus("PROCESSED");
+            scenarioMetrics.recordRequest(mark - start, true);
             
-            return new ProcessResult(true, "Processing completed successfully", context.getData());
+            return result.set(true, "Processing completed successfully", context.getData());
 
         } catch (Exception e) {
-            System.err.println("Processing failed: " + e.getMessage());
-            return new ProcessResult(false, "Processing failed: " + e.getMessage(), null);
+            scenarioMetrics.recordRequest(System.nanoTime() - start, false);
+            log.error("Processing failed: {}", e.getMessage(), e);
+            return result.set(false, "Processing failed: " + e.getMessage(), null);
         }
     }
 
+    /**
+     * Latency histograms and error counts per tenantId/scenario
+     * Only registered scenarios and the tenant set through {@link #setTenantId} are kept apart,
+     * other requests share the {@link ProcessingMetrics#OTHER} entries.
+     */
+    public ProcessingMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(ProcessingMetrics metrics) {
+        this.metrics = Objects.requireNonNull(metrics, "metrics");
+    }
+
+    /**
+     * Asynchronous variant of {@link #processBusiness} running on the async executor
+     * Blocking tenant hooks then park a virtual thread instead of a request thread
+     */
+    public CompletableFuture<ProcessResult> processBusinessAsync(BusinessContext context) {
+        return CompletableFuture.supplyAsync(() -> processBusiness(context), getAsyncExecutor());
+    }
+
+    public Executor getAsyncExecutor() {
+        Executor executor = asyncExecutor;
+        return executor != null ? executor : ProcessorExecutors.defaultAsyncExecutor();
+    }
+
+    public void setAsyncExecutor(Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    /**
+     * Process a batch of contexts in parallel on the batch pool
+     * Contexts sharing tenantId and businessId are processed sequentially in list order;
+     * results are returned in the same order as the input
+     */
+    public BatchResult processBatch(List<BusinessContext> contexts) {
+        long start = System.nanoTime();
+        ProcessResult[] results = new ProcessResult[contexts.size()];
+        List<int[]> groups = groupByBusinessKey(contexts);
+        if (!groups.isEmpty()) {
+            batchPool.invoke(new BatchTask(contexts, groups, results, 0, groups.size()));
+        }
+        return new BatchResult(Arrays.asList(results), System.nanoTime() - start);
+    }
+
+    /**
+     * Streaming variant of {@link #processBatch(List)} - consumes the stream in chunks
+     * and hands each result to the sink in stream order; the returned result only carries totals
+     */
+    public BatchResult processStream(Stream<BusinessContext> contexts, int chunkSize, Consumer<ProcessResult> sink) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        long start = System.nanoTime();
+        BatchResult totals = new BatchResult(Collections.emptyList(), 0);
+        List<BusinessContext> chunk = new ArrayList<>(chunkSize);
+        for (Iterator<BusinessContext> it = contexts.iterator(); it.hasNext(); ) {
+            chunk.add(it.next());
+            if (chunk.size() == chunkSize || !it.hasNext()) {
+                BatchResult chunkResult = processBatch(chunk);
+                chunkResult.getResults().forEach(sink);
+                totals.accumulate(chunkResult);
+                chunk.clear();
+            }
+        }
+        totals.elapsedNanos = System.nanoTime() - start;
+        return totals;
+    }
+
+    public void setBatchPool(ForkJoinPool batchPool) {
+        this.batchPool = Objects.requireNonNull(batchPool, "batchPool");
+    }
+
+    /**
+     * Split the batch into ordered groups of indexes, one per tenantId/businessId
+     * Contexts without a businessId carry no ordering constraint and form their own group
+     */
+    private static List<int[]> groupByBusinessKey(List<BusinessContext> contexts) {
+        Map<String, List<Integer>> keyed = new LinkedHashMap<>();
+        List<int[]> groups = new ArrayList<>();
+        for (int i = 0; i < contexts.size(); i++) {
+            BusinessContext context = contexts.get(i);
+            if (context == null || context.getBusinessId() == null) {
+                groups.add(new int[] {i});
+            } else {
+                String key = context.getTenantId() + '/' + context.getBusinessId();
+                keyed.computeIfAbsent(key, k -> new ArrayList<>(1)).add(i);
+            }
+        }
+        for (List<Integer> indexes : keyed.values()) {
+            groups.add(indexes.stream().mapToInt(Integer::intValue).toArray());
+        }
+        return groups;
+    }
+
+    /**
+     * Fork-join task processing a range of groups, splitting until the range is small
+     */
+    private final class BatchTask extends RecursiveAction {
+
+        private static final int GROUPS_PER_TASK = 8;
+
+        private final List<BusinessContext> contexts;
+        private final List<int[]> groups;
+        private final ProcessResult[] results;
+        private final int from;
+        private final int to;
+
+        BatchTask(List<BusinessContext> contexts, List<int[]> groups, ProcessResult[] results, int from, int to) {
+            this.contexts = contexts;
+            this.groups = groups;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= GROUPS_PER_TASK) {
+                for (int g = from; g < to; g++) {
+                    for (int index : groups.get(g)) {
+                        BusinessContext context = contexts.get(index);
+                        results[index] = context != null
+                                ? processBusiness(context)
+                                : new ProcessResult(false, "Invalid business context", null);
+                    }
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new BatchTask(contexts, groups, results, from, middle),
+                      new BatchTask(contexts, groups, results, middle, to));
+        }
+    }
 
     /**
      * Hook methods - can be overridden by subclasses
      */
     protected void beforeProcess(BusinessContext context) {
-        System.out.println("HOOK: beforeProcess");
+        log.debug("HOOK: beforeProcess");
     }
 
     protected void afterProcess(BusinessContext context) {
-        System.out.println("HOOK: afterProcess");
+        log.debug("HOOK: afterProcess");
+    }
+
+    /**
+     * Scenario registration hook - subclasses may add or replace core scenario handlers
+     * Called once from the constructor, before subclass fields are initialized
+     */
+    protected void registerScenarios(ScenarioRegistry registry) {
+        registry.register("order", this::processOrderBusiness)
+                .register("medical", this::processMedicalBusiness)
+                .registerDefault(this::processDefaultBusiness);
     }
 
     // Core business logic dispatch
@@ -73,33 +315,27 @@ public class UniversalProcessor implements OrderProcessor {
         if (!isValidContext(context)) {
             return;
         }
-        
-        switch (context.getScenario()) {
-            case "order":
-                processOrderBusiness(context);
-                break;
-            case "medical":
-                processMedicalBusiness(context);
-                break;
-            default:
-                processDefaultBusiness(context);
-                break;
-        }
+
+        scenarioTable.dispatch(context);
+    }
+
+    public ScenarioDispatchTable getScenarioTable() {
+        return scenarioTable;
     }
 
     private void processOrderBusiness(BusinessContext context) {
-        System.out.println("CORE: Order business processing");
-        context.setAttribute("processed.by", "order.handler");
+        log.debug("CORE: Order business processing");
+        context.setAttribute(AttributeKeys.PROCESSED_BY, "order.handler");
     }
 
     private void processMedicalBusiness(BusinessContext context) {
-        System.out.println("CORE: Medical business processing");
-        context.setAttribute("processed.by", "medical.handler");
+        log.debug("CORE: Medical business processing");
+        context.setAttribute(AttributeKeys.PROCESSED_BY, "medical.handler");
     }
 
     private void processDefaultBusiness(BusinessContext context) {
-        System.out.println("CORE: Default business processing");
-        context.setAttribute("processed.by", "default.handler");
+        log.debug("CORE: Default business processing");
+        context.setAttribute(AttributeKeys.PROCESSED_BY, "default.handler");
     }
 
     // Utility methods
@@ -107,17 +343,72 @@ public class UniversalProcessor implements OrderProcessor {
         return context.getScenario() != null && context.getBusinessType() != null;
     }
 
-    private void publishBusinessEvent(String phase, BusinessContext context) {
-        BusinessEvent event = new BusinessEvent(phase, context);
-        // NOTE: Event publishing simulated for standalone compilation
-        System.out.println("EVENT: " + phase + " for " + context.getScenario());
-        // eventPublisher.publishEvent(event);
+    // Returns whether a synchronous listener asked to skip the default action
+    private boolean publishBusinessEvent(String phase, BusinessContext context) {
+        if (eventBus != null) {
+            if (!eventBus.hasSynchronousListeners()) {
+                if (eventBus.publish(phase, context)) {
+                    return false;
+                }
+            } else {
+                BusinessEvent event = new BusinessEvent(phase, context);
+                if (eventBus.publish(event)) {
+                    return event.isSkipDefault();
+                }
+            }
+        }
+        // No running bus: event publishing simulated
+        log.debug("EVENT: {} for {}", phase, context.getScenario());
+        return false;
+    }
+
+    /**
+     * Tenant served by this processor, recorded under its own id in the metrics
+     */
+    @Autowired
+    public void setTenantId(@Value("${tenant.id:}") String tenantId) {
+        this.metrics = new ProcessingMetrics(scenarioTable.getScenarios(), tenantId == null || tenantId.isEmpty()
+                ? Collections.<String>emptySet() : Collections.singleton(tenantId));
+    }
+
+    /**
+     * Event bus driving tenant listeners, events are only logged when absent
+     */
+    @Autowired(required = false)
+    public void setEventBus(BusinessEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    public BusinessEventBus getEventBus() {
+        return eventBus;
+    }
+
+    /**
+     * Downstream pipeline whose load hooks see as the {@link AttributeKeys#BACKPRESSURE} attribute
+     */
+    @Autowired(required = false)
+    public void setBackpressure(BackpressureSignal backpressure) {
+        this.backpressure = backpressure;
+    }
+
+    public BackpressureSignal getBackpressure() {
+        return backpressure;
+    }
+
+    // Hooks shed optional work, such as extra notification channels, while downstream is loaded
+    private void markBackpressure(BusinessContext context) {
+        if (backpressure != null) {
+            BackpressureLevel level = backpressure.getBackpressure();
+            if (level != BackpressureLevel.NONE) {
+                context.setAttribute(AttributeKeys.BACKPRESSURE, level.name());
+            }
+        }
     }
 
     // Traditional Order processing compatibility
     @Override
     public Order processOrder(Order order) {
-        System.out.println("LEGACY: Traditional order processing");
+        log.debug("LEGACY: Traditional order processing");
         return order;
     }
 
@@ -130,13 +421,67 @@ public class UniversalProcessor implements OrderProcessor {
         private Map<String, Object> data;
 
         public ProcessResult(boolean success, String message, Map<String, Object> data) {
+            set(success, message, data);
+        }
+
+        private ProcessResult set(boolean success, String message, Map<String, Object> data) {
             this.success = success;
             this.message = message;
-            this.data = data != null ? data : new HashMap<>();
+            this.data = data;
+            return this;
+        }
+
+        /**
+         * Clear all state so a pooled instance can be reused
+         */
+        public void reset() {
+            set(false, null, null);
         }
 
         public boolean isSuccess() { return success; }
         public String getMessage() { return message; }
-        public Map<String, Object> getData() { return data; }
+
+        public Map<String, Object> getData() {
+            if (data == null) {
+                data = new HashMap<>();
+            }
+            return data;
+        }
+    }
+
+    /**
+     * Batch processing result - per-item results plus aggregate timing
+     */
+    public static class BatchResult {
+        private final List<ProcessResult> results;
+        private long elapsedNanos;
+        private int total;
+        private int succeeded;
+
+        public BatchResult(List<ProcessResult> results, long elapsedNanos) {
+            this.results = results;
+            this.elapsedNanos = elapsedNanos;
+            this.total = results.size();
+            for (ProcessResult result : results) {
+                if (result != null && result.isSuccess()) {
+                    succeeded++;
+                }
+            }
+        }
+
+        private void accumulate(BatchResult other) {
+            this.total += other.total;
+            this.succeeded += other.succeeded;
+        }
+
+        public List<ProcessResult> getResults() { return results; }
+        public long getElapsedNanos() { return elapsedNanos; }
+        public int getTotal() { return total; }
+        public int getSucceeded() { return succeeded; }
+        public int getFailed() { return total - succeeded; }
+
+        public double getThroughputPerSecond() {
+            return elapsedNanos > 0 ? total * 1_000_000_000.0 / elapsedNanos : 0;
+        }
     }
 }
\ No newline at end of file
@@ -1,26 +1,69 @@
 package com.company.core.service;
 
+import com.company.core.logging.CoreLogger;
+import com.company.core.logging.CoreLoggerFactory;
 import com.company.core.model.Order;
 import com.company.core.model.User;
+import com.company.core.notification.Notification;
+import com.company.core.notification.NotificationChannel;
+import com.company.core.notification.NotificationOutbox;
+import com.company.core.notification.NotificationTemplate;
+import com.company.core.notification.NotificationTemplates;
+import com.company.core.notification.StubTransport;
 // NOTE: Spring imports commented out for standalone compilation
 // import org.springframework.stereotype.Service;
 
 /**
  * Default Notification Service
- * Provides basic notification capabilities
+ * Provides basic notification capabilities; email and SMS are queued in a
+ * {@link NotificationOutbox} and delivered in batches off the calling thread; message texts
+ * come from the tenant's precompiled {@link NotificationTemplates}
  * NOTE: Spring annotations commented out for standalone compilation
  */
 // @Service
-public class NotificationService {
+public class NotificationService implements AutoCloseable {
+
+    private static final CoreLogger log = CoreLoggerFactory.getLogger(NotificationService.class);
+
+    private final NotificationOutbox outbox;
+    private final String tenantId;
+    private final boolean ownsOutbox;
+
+    // Resolved for the tenant once, rendering needs no lookup
+    private final NotificationTemplate orderProcessed;
+
+    /**
+     * Service with its own outbox delivering through a {@link StubTransport}
+     */
+    public NotificationService() {
+        this(newStubOutbox(), null, NotificationTemplates.withDefaults(), true);
+    }
+
+    public NotificationService(NotificationOutbox outbox, String tenantId) {
+        this(outbox, tenantId, NotificationTemplates.withDefaults(), false);
+    }
+
+    public NotificationService(NotificationOutbox outbox, String tenantId, NotificationTemplates templates) {
+        this(outbox, tenantId, templates, false);
+    }
+
+    private NotificationService(NotificationOutbox outbox, String tenantId, NotificationTemplates templates,
+                                boolean ownsOutbox) {
+        this.outbox = outbox;
+        this.tenantId = tenantId;
+        this.ownsOutbox = ownsOutbox;
+        this.orderProcessed = templates.get(tenantId, NotificationTemplates.ORDER_PROCESSED);
+    }
     
     /**
      * Send notification for order
      */
     public void notifyOrder(Order order) {
-        System.out.println("NOTIFICATION: Order processed - " + order.getId());
+        log.info("NOTIFICATION: Order processed - {}", order.getId());
         
-        if (order.getUser() != null) {
-            notifyUser(order.getUser(), "Your order " + order.getId() + " has been processed");
+        User user = order.getUser();
+        if (user != null) {
+            notifyUser(user, orderProcessed.render(order.getId(), user.getName()));
         }
     }
     
@@ -28,37 +71,62 @@ public class NotificationService {
      * Send notification to user
      */
     public void notifyUser(User user, String message) {
-        System.out.println("NOTIFICATION: Sending to user " + user.getId() + " - " + message);
+        log.debug("NOTIFICATION: Queueing for user {} - {}", user.getId(), message);
         
-        // Email notification simulation
         if (user.getEmail() != null) {
-            sendEmail(user.getEmail(), message);
+            enqueue(NotificationChannel.EMAIL, user.getId(), user.getEmail(), message);
         }
         
-        // SMS notification simulation  
         if (user.getPhone() != null) {
-            sendSMS(user.getPhone(), message);
+            enqueue(NotificationChannel.SMS, user.getId(), user.getPhone(), message);
         }
     }
     
     /**
-     * Send email notification
+     * Queue email notification
      */
     public void sendEmail(String email, String message) {
-        System.out.println("EMAIL: To " + email + " - " + message);
+        enqueue(NotificationChannel.EMAIL, null, email, message);
     }
     
     /**
-     * Send SMS notification
+     * Queue SMS notification
      */
     public void sendSMS(String phone, String message) {
-        System.out.println("SMS: To " + phone + " - " + message);
+        enqueue(NotificationChannel.SMS, null, phone, message);
     }
     
     /**
      * Send business context notification
      */
     public void notifyBusiness(String scenario, String businessId, String message) {
-        System.out.println("BUSINESS NOTIFICATION: " + scenario + " [" + businessId + "] - " + message);
+        log.info("BUSINESS NOTIFICATION: {} [{}] - {}", scenario, businessId, message);
+    }
+
+    public NotificationOutbox getOutbox() {
+        return outbox;
+    }
+
+    /**
+     * Deliver queued notifications and stop the outbox when this service created it
+     */
+    @Override
+    public void close() {
+        if (ownsOutbox) {
+            outbox.close();
+        }
+    }
+
+    private void enqueue(NotificationChannel channel, String userId, String recipient, String message) {
+        if (!outbox.enqueue(new Notification(channel, tenantId, userId, recipient, message))) {
+            log.warn("NOTIFICATION: {} to {} dropped, outbox full, throttled or stopped", channel, recipient);
+        }
+    }
+
+    private static NotificationOutbox newStubOutbox() {
+        StubTransport transport = new StubTransport();
+        NotificationOutbox outbox = new NotificationOutbox(transport, transport);
+        outbox.start();
+        return outbox;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,105 @@
+package com.company.core.store;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Binary Reader - counterpart of {@link BinaryWriter} over a heap, direct or mapped buffer
+ * Reading past the end throws {@link java.nio.BufferUnderflowException}.
+ */
+public final class BinaryReader {
+
+    private ByteBuffer buffer;
+
+    public BinaryReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Point the reader at another buffer, so one instance can be reused
+     */
+    public BinaryReader wrap(ByteBuffer buffer) {
+        this.buffer = buffer;
+        return this;
+    }
+
+    public int remaining() {
+        return buffer.remaining();
+    }
+
+    public byte readByte() {
+        return buffer.get();
+    }
+
+    public boolean readBoolean() {
+        return buffer.get() != 0;
+    }
+
+    public int readInt() {
+        return buffer.getInt();
+    }
+
+    public long readLong() {
+        return buffer.getLong();
+    }
+
+    public long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+
+    public long readSignedVarLong() {
+        long raw = readVarLong();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    public String readString() {
+        long header = readVarLong();
+        if (header == 0) {
+            return null;
+        }
+        int length = (int) (header - 1);
+        if (buffer.hasArray()) {
+            int start = buffer.arrayOffset() + buffer.position();
+            buffer.position(buffer.position() + length);
+            return new String(buffer.array(), start, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public LocalDateTime readDateTime() {
+        if (buffer.get() == 0) {
+            return null;
+        }
+        long seconds = readSignedVarLong();
+        int nanos = (int) readVarLong();
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    public BigDecimal readDecimal() {
+        byte kind = buffer.get();
+        if (kind == 0) {
+            return null;
+        }
+        int scale = (int) readSignedVarLong();
+        if (kind == 1) {
+            return BigDecimal.valueOf(readSignedVarLong(), scale);
+        }
+        byte[] bytes = new byte[(int) readVarLong()];
+        buffer.get(bytes);
+        return new BigDecimal(new BigInteger(bytes), scale);
+    }
+}
@@ -0,0 +1,49 @@
+package com.company.core.store;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Heap Record Store - {@link RecordStore} over a ConcurrentHashMap, records are kept by reference
+ */
+public class HeapRecordStore<T> implements RecordStore<T> {
+
+    private final ConcurrentHashMap<String, T> records = new ConcurrentHashMap<>();
+
+    @Override
+    public T get(String key) {
+        return key != null ? records.get(key) : null;
+    }
+
+    @Override
+    public T compute(String key, UnaryOperator<T> remapping) {
+        return records.compute(key, (k, current) -> remapping.apply(current));
+    }
+
+    @Override
+    public T remove(String key) {
+        return key != null ? records.remove(key) : null;
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        records.values().forEach(action);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return records.values().iterator();
+    }
+
+    @Override
+    public int size() {
+        return records.size();
+    }
+
+    @Override
+    public StorageMode getStorageMode() {
+        return StorageMode.HEAP;
+    }
+}
@@ -0,0 +1,250 @@
+package com.company.core.store;
+
+import com.company.core.dto.CursorPage;
+import com.company.core.model.Order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-Memory Order Store - ConcurrentHashMap by id plus a ConcurrentSkipListMap keyed by
+ * (creation time desc, id), so a newest-first page costs O(log n + offset + limit)
+ * instead of copying and sorting every order; a cursor page costs O(log n + limit).
+ * Orders with an enterpriseId are also indexed in a per-enterprise skip list.
+ * {@link OrderStatistics} are updated from the status and amount captured at save time,
+ * so status changes made directly on an order need a new save or updateStatus.
+ * Index keys are captured at save time; changing an order's creation time or enterprise
+ * requires a new save.
+ */
+public class InMemoryOrderStore implements OrderStore {
+
+    private final ConcurrentHashMap<String, Entry> byId = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<OrderKey, Order> byCreateTime = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<String, ConcurrentSkipListMap<OrderKey, Order>> byEnterprise =
+            new ConcurrentHashMap<>();
+    private final OrderStatistics statistics;
+
+    public InMemoryOrderStore() {
+        this(null);
+    }
+
+    public InMemoryOrderStore(BigDecimal highValueThreshold) {
+        this.statistics = new OrderStatistics(highValueThreshold);
+    }
+
+    @Override
+    public Order save(Order order) {
+        Objects.requireNonNull(order, "order");
+        if (order.getId() == null) {
+            throw new IllegalArgumentException("Order id must not be null");
+        }
+        Order[] previous = new Order[1];
+        // Per-id compute keeps the primary map and the index consistent for that order
+        byId.compute(order.getId(), (id, old) -> {
+            if (old != null) {
+                unindex(old);
+                statistics.removed(old.status, old.highValue);
+                previous[0] = old.order;
+            }
+            Entry entry = new Entry(new OrderKey(order.getCreateTime(), id), order.getEnterpriseId(), order,
+                    order.getStatus(), statistics.isHighValue(order.getAmount()));
+            statistics.added(entry.status, entry.highValue);
+            byCreateTime.put(entry.key, order);
+            if (entry.enterpriseId != null) {
+                byEnterprise.computeIfAbsent(entry.enterpriseId, key -> new ConcurrentSkipListMap<>())
+                        .put(entry.key, order);
+            }
+            return entry;
+        });
+        return previous[0];
+    }
+
+    @Override
+    public Order findById(String id) {
+        Entry entry = id != null ? byId.get(id) : null;
+        return entry != null ? entry.order : null;
+    }
+
+    @Override
+    public Order updateStatus(String id, String status) {
+        if (id == null) {
+            return null;
+        }
+        Order[] updated = new Order[1];
+        byId.computeIfPresent(id, (orderId, entry) -> {
+            entry.order.setStatus(status);
+            statistics.statusChanged(entry.status, status);
+            entry.status = status;
+            updated[0] = entry.order;
+            return entry;
+        });
+        return updated[0];
+    }
+
+    @Override
+    public Order remove(String id) {
+        if (id == null) {
+            return null;
+        }
+        Order[] removed = new Order[1];
+        byId.computeIfPresent(id, (orderId, entry) -> {
+            unindex(entry);
+            statistics.removed(entry.status, entry.highValue);
+            removed[0] = entry.order;
+            return null;
+        });
+        return removed[0];
+    }
+
+    @Override
+    public List<Order> findNewest(long offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit must not be negative");
+        }
+        List<Order> page = new ArrayList<>(Math.min(limit, 256));
+        Iterator<Order> it = byCreateTime.values().iterator();
+        for (long skipped = 0; skipped < offset && it.hasNext(); skipped++) {
+            it.next();
+        }
+        while (page.size() < limit && it.hasNext()) {
+            page.add(it.next());
+        }
+        return page;
+    }
+
+    @Override
+    public CursorPage<Order> scroll(String cursor, int limit) {
+        return scroll(byCreateTime, cursor, limit);
+    }
+
+    @Override
+    public CursorPage<Order> scroll(String enterpriseId, String cursor, int limit) {
+        if (enterpriseId == null) {
+            return scroll(cursor, limit);
+        }
+        ConcurrentSkipListMap<OrderKey, Order> index = byEnterprise.get(enterpriseId);
+        if (index == null) {
+            if (cursor != null) {
+                OrderCursor.decode(cursor);
+            }
+            return new CursorPage<>(new ArrayList<>(), null);
+        }
+        return scroll(index, cursor, limit);
+    }
+
+    private static CursorPage<Order> scroll(ConcurrentSkipListMap<OrderKey, Order> index, String cursor, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        NavigableMap<OrderKey, Order> remaining = cursor != null
+                ? index.tailMap(OrderCursor.decode(cursor), false)
+                : index;
+        List<Order> items = new ArrayList<>(Math.min(limit, 256));
+        OrderKey last = null;
+        Iterator<Map.Entry<OrderKey, Order>> it = remaining.entrySet().iterator();
+        while (items.size() < limit && it.hasNext()) {
+            Map.Entry<OrderKey, Order> entry = it.next();
+            items.add(entry.getValue());
+            last = entry.getKey();
+        }
+        return new CursorPage<>(items, last != null && it.hasNext() ? OrderCursor.encode(last) : null);
+    }
+
+    @Override
+    public Collection<Order> findAll() {
+        return Collections.unmodifiableCollection(byCreateTime.values());
+    }
+
+    @Override
+    public OrderStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public int size() {
+        return byId.size();
+    }
+
+    // Called inside the per-id compute of the entry being replaced or removed
+    private void unindex(Entry entry) {
+        byCreateTime.remove(entry.key);
+        if (entry.enterpriseId != null) {
+            ConcurrentSkipListMap<OrderKey, Order> index = byEnterprise.get(entry.enterpriseId);
+            if (index != null) {
+                index.remove(entry.key);
+            }
+        }
+    }
+
+    /**
+     * Stored order plus the index keys and statistics it was counted under
+     * status is only written inside the per-id compute
+     */
+    private static final class Entry {
+
+        final OrderKey key;
+        final String enterpriseId;
+        final Order order;
+        final boolean highValue;
+        String status;
+
+        Entry(OrderKey key, String enterpriseId, Order order, String status, boolean highValue) {
+            this.key = key;
+            this.enterpriseId = enterpriseId;
+            this.order = order;
+            this.status = status;
+            this.highValue = highValue;
+        }
+    }
+
+    /**
+     * Index key ordered by creation time descending (null last), then id ascending
+     */
+    static final class OrderKey implements Comparable<OrderKey> {
+
+        final LocalDateTime createTime;
+        final String id;
+
+        OrderKey(LocalDateTime createTime, String id) {
+            this.createTime = createTime;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(OrderKey other) {
+            if (createTime != other.createTime) {
+                if (createTime == null) {
+                    return 1;
+                }
+                if (other.createTime == null) {
+                    return -1;
+                }
+                int byTime = other.createTime.compareTo(createTime);
+                if (byTime != 0) {
+                    return byTime;
+                }
+            }
+            return id.compareTo(other.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof OrderKey && compareTo((OrderKey) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(createTime, id);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.company.core.store;
+
+import com.company.core.maintenance.IncrementalTask;
+import com.company.core.maintenance.MaintenanceBudget;
+
+/**
+ * Off-Heap Compaction Task - reclaims superseded versions of an {@link OffHeapRecordStore}
+ * A pass evacuates chunks that are at least half garbage, one small slice per
+ * {@link OffHeapRecordStore#evacuate(long)} call, until none is left or the budget runs out,
+ * so writers only ever wait for one slice.
+ */
+public class OffHeapCompactionTask implements IncrementalTask {
+
+    private static final long SLICE_BYTES = 64 << 10;
+
+    private final String name;
+    private final OffHeapRecordStore<?> store;
+    private volatile long passGarbage;
+
+    public OffHeapCompactionTask(String name, OffHeapRecordStore<?> store) {
+        this.name = name;
+        this.store = store;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void startPass() {
+        passGarbage = store.getGarbageBytes();
+    }
+
+    @Override
+    public boolean runIncrement(MaintenanceBudget budget) {
+        while (!budget.isExhausted()) {
+            long visited = store.evacuate(SLICE_BYTES);
+            if (visited < 0) {
+                return true;
+            }
+            budget.recordItem(visited);
+        }
+        return false;
+    }
+
+    @Override
+    public double getProgress() {
+        long total = passGarbage;
+        return total == 0 ? 0.0 : Math.min(1.0, 1.0 - (double) store.getGarbageBytes() / total);
+    }
+}
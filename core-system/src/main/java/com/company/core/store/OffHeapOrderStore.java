@@ -0,0 +1,247 @@
+package com.company.core.store;
+
+import com.company.core.dto.CursorPage;
+import com.company.core.model.Order;
+
+import java.math.BigDecimal;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Off-Heap Order Store - orders serialized into an {@link OffHeapRecordStore}
+ * Only the (creation time, id) index keys stay on heap, in the same skip list layout as
+ * {@link InMemoryOrderStore}; pages materialize the orders they return. Returned orders are
+ * copies, so changes to them need a new save or updateStatus to be stored.
+ * Writes are serialized by the record store's write lock, reads run concurrently.
+ */
+public class OffHeapOrderStore implements OrderStore {
+
+    private final OffHeapRecordStore<Order> records;
+    private final ConcurrentSkipListSet<InMemoryOrderStore.OrderKey> byCreateTime = new ConcurrentSkipListSet<>();
+    private final ConcurrentHashMap<String, ConcurrentSkipListSet<InMemoryOrderStore.OrderKey>> byEnterprise =
+            new ConcurrentHashMap<>();
+    private final OrderStatistics statistics;
+
+    public OffHeapOrderStore() {
+        this(null);
+    }
+
+    public OffHeapOrderStore(BigDecimal highValueThreshold) {
+        this(highValueThreshold, OffHeapRecordStore.DEFAULT_CHUNK_SIZE);
+    }
+
+    public OffHeapOrderStore(BigDecimal highValueThreshold, int chunkSize) {
+        this.records = new OffHeapRecordStore<>(new OrderCodec(), chunkSize);
+        this.statistics = new OrderStatistics(highValueThreshold);
+    }
+
+    @Override
+    public Order save(Order order) {
+        Objects.requireNonNull(order, "order");
+        if (order.getId() == null) {
+            throw new IllegalArgumentException("Order id must not be null");
+        }
+        Order[] previous = new Order[1];
+        records.compute(order.getId(), old -> {
+            if (old != null) {
+                unindex(old);
+                statistics.removed(old.getStatus(), statistics.isHighValue(old.getAmount()));
+                previous[0] = old;
+            }
+            statistics.added(order.getStatus(), statistics.isHighValue(order.getAmount()));
+            index(order);
+            return order;
+        });
+        return previous[0];
+    }
+
+    @Override
+    public Order findById(String id) {
+        return records.get(id);
+    }
+
+    @Override
+    public Order updateStatus(String id, String status) {
+        if (id == null) {
+            return null;
+        }
+        return records.compute(id, order -> {
+            if (order != null) {
+                statistics.statusChanged(order.getStatus(), status);
+                order.setStatus(status);
+            }
+            return order;
+        });
+    }
+
+    @Override
+    public Order remove(String id) {
+        if (id == null) {
+            return null;
+        }
+        Order[] removed = new Order[1];
+        records.compute(id, order -> {
+            if (order != null) {
+                unindex(order);
+                statistics.removed(order.getStatus(), statistics.isHighValue(order.getAmount()));
+                removed[0] = order;
+            }
+            return null;
+        });
+        return removed[0];
+    }
+
+    @Override
+    public List<Order> findNewest(long offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit must not be negative");
+        }
+        List<Order> page = new ArrayList<>(Math.min(limit, 256));
+        Iterator<InMemoryOrderStore.OrderKey> it = byCreateTime.iterator();
+        for (long skipped = 0; skipped < offset && it.hasNext(); skipped++) {
+            it.next();
+        }
+        while (page.size() < limit && it.hasNext()) {
+            Order order = records.get(it.next().id);
+            if (order != null) {
+                page.add(order);
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public CursorPage<Order> scroll(String cursor, int limit) {
+        return scroll(byCreateTime, cursor, limit);
+    }
+
+    @Override
+    public CursorPage<Order> scroll(String enterpriseId, String cursor, int limit) {
+        if (enterpriseId == null) {
+            return scroll(cursor, limit);
+        }
+        ConcurrentSkipListSet<InMemoryOrderStore.OrderKey> index = byEnterprise.get(enterpriseId);
+        if (index == null) {
+            if (cursor != null) {
+                OrderCursor.decode(cursor);
+            }
+            return new CursorPage<>(new ArrayList<>(), null);
+        }
+        return scroll(index, cursor, limit);
+    }
+
+    private CursorPage<Order> scroll(ConcurrentSkipListSet<InMemoryOrderStore.OrderKey> index, String cursor, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        NavigableSet<InMemoryOrderStore.OrderKey> remaining = cursor != null
+                ? index.tailSet(OrderCursor.decode(cursor), false)
+                : index;
+        List<Order> items = new ArrayList<>(Math.min(limit, 256));
+        InMemoryOrderStore.OrderKey last = null;
+        Iterator<InMemoryOrderStore.OrderKey> it = remaining.iterator();
+        while (items.size() < limit && it.hasNext()) {
+            InMemoryOrderStore.OrderKey key = it.next();
+            Order order = records.get(key.id);
+            if (order != null) {
+                items.add(order);
+                last = key;
+            }
+        }
+        return new CursorPage<>(items, last != null && it.hasNext() ? OrderCursor.encode(last) : null);
+    }
+
+    /**
+     * Unmodifiable view of all orders newest first, materialized while iterating
+     */
+    @Override
+    public Collection<Order> findAll() {
+        return new AbstractCollection<Order>() {
+            @Override
+            public Iterator<Order> iterator() {
+                return new MaterializingIterator(byCreateTime.iterator());
+            }
+
+            @Override
+            public int size() {
+                return records.size();
+            }
+        };
+    }
+
+    @Override
+    public OrderStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public int size() {
+        return records.size();
+    }
+
+    /**
+     * Underlying record store, for memory statistics and compaction
+     */
+    public OffHeapRecordStore<Order> getRecords() {
+        return records;
+    }
+
+    // Called inside the record store's compute for this order
+    private void index(Order order) {
+        InMemoryOrderStore.OrderKey key = new InMemoryOrderStore.OrderKey(order.getCreateTime(), order.getId());
+        byCreateTime.add(key);
+        if (order.getEnterpriseId() != null) {
+            byEnterprise.computeIfAbsent(order.getEnterpriseId(), id -> new ConcurrentSkipListSet<>()).add(key);
+        }
+    }
+
+    private void unindex(Order order) {
+        InMemoryOrderStore.OrderKey key = new InMemoryOrderStore.OrderKey(order.getCreateTime(), order.getId());
+        byCreateTime.remove(key);
+        if (order.getEnterpriseId() != null) {
+            ConcurrentSkipListSet<InMemoryOrderStore.OrderKey> index = byEnterprise.get(order.getEnterpriseId());
+            if (index != null) {
+                index.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Resolves index keys to orders, skipping orders removed since the key was read
+     */
+    private final class MaterializingIterator implements Iterator<Order> {
+
+        private final Iterator<InMemoryOrderStore.OrderKey> keys;
+        private Order next;
+
+        MaterializingIterator(Iterator<InMemoryOrderStore.OrderKey> keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && keys.hasNext()) {
+                next = records.get(keys.next().id);
+            }
+            return next != null;
+        }
+
+        @Override
+        public Order next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Order order = next;
+            next = null;
+            return order;
+        }
+    }
+}
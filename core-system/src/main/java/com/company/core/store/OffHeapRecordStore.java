@@ -0,0 +1,488 @@
+package com.company.core.store;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Off-Heap Record Store - records serialized by a {@link RecordCodec} into direct buffer chunks
+ * Each record is [int key length][int payload length][encoded key][payload], appended to the
+ * current chunk and never modified afterwards; an update appends a new version. Keys resolve
+ * through an open-addressing table of primitive arrays (chunk/offset address plus key hash,
+ * linear probing, backward-shift deletion), so the heap holds two arrays instead of one object
+ * graph per record. Readers share a read lock and decode a fresh copy; writers are exclusive.
+ * Superseded versions are reclaimed by the owner's background maintenance, either a chunk at
+ * a time through {@link #evacuate(long)} (see {@link OffHeapCompactionTask}) or all at once
+ * through {@link #compact()}; writers never compact, so no write waits for a full rewrite.
+ */
+public class OffHeapRecordStore<T> implements RecordStore<T> {
+
+    public static final int DEFAULT_CHUNK_SIZE = 16 << 20;
+
+    private static final int RECORD_HEADER = 8;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final long EMPTY = -1L;
+
+    private final RecordCodec<T> codec;
+    private final int chunkSize;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ThreadLocal<BinaryWriter> writers = ThreadLocal.withInitial(() -> new BinaryWriter(512));
+
+    // Arena, guarded by lock; addresses are (chunk index << 32 | offset)
+    private List<ByteBuffer> chunks = new ArrayList<>();
+    private ByteBuffer current;
+    // Written under the write lock, volatile for lock-free reads of the counters
+    private volatile long liveBytes;
+    private volatile long garbageBytes;
+    private volatile long allocatedBytes;
+    private volatile long compactions;
+    // Superseded bytes per chunk index, guarded by lock
+    private long[] chunkGarbage = new long[8];
+    // Chunk being evacuated and the offset of its next record, guarded by lock
+    private int evacuating = -1;
+    private int evacuateOffset;
+
+    // Open-addressing table, guarded by lock
+    private long[] addresses;
+    private int[] hashes;
+    private volatile int size;
+
+    public OffHeapRecordStore(RecordCodec<T> codec) {
+        this(codec, DEFAULT_CHUNK_SIZE);
+    }
+
+    public OffHeapRecordStore(RecordCodec<T> codec, int chunkSize) {
+        if (chunkSize < 4096) {
+            throw new IllegalArgumentException("Chunk size must be at least 4096 bytes");
+        }
+        this.codec = codec;
+        this.chunkSize = chunkSize;
+        this.addresses = newAddresses(INITIAL_CAPACITY);
+        this.hashes = new int[INITIAL_CAPACITY];
+    }
+
+    @Override
+    public T get(String key) {
+        if (key == null) {
+            return null;
+        }
+        BinaryWriter writer = encodeKey(key);
+        lock.readLock().lock();
+        try {
+            int slot = find(writer, hash(key));
+            return slot >= 0 ? decode(addresses[slot]) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean containsKey(String key) {
+        if (key == null) {
+            return false;
+        }
+        BinaryWriter writer = encodeKey(key);
+        lock.readLock().lock();
+        try {
+            return find(writer, hash(key)) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public T compute(String key, UnaryOperator<T> remapping) {
+        if (key == null) {
+            throw new IllegalArgumentException("Record key must not be null");
+        }
+        BinaryWriter writer = encodeKey(key);
+        int keyLength = writer.size();
+        int hash = hash(key);
+        lock.writeLock().lock();
+        try {
+            int slot = find(writer, hash);
+            T previous = slot >= 0 ? decode(addresses[slot]) : null;
+            T next = remapping.apply(previous);
+            if (next == null) {
+                if (slot >= 0) {
+                    release(addresses[slot]);
+                    deleteSlot(slot);
+                }
+                return null;
+            }
+            if (!key.equals(codec.keyOf(next))) {
+                throw new IllegalArgumentException("Record key does not match " + key);
+            }
+            // The key is already in the writer, the payload follows it
+            codec.encode(next, writer);
+            if (slot >= 0) {
+                long address = append(writer, keyLength);
+                release(addresses[slot]);
+                addresses[slot] = address;
+            } else {
+                insert(-slot - 1, hash, append(writer, keyLength));
+            }
+            return next;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public T remove(String key) {
+        if (key == null) {
+            return null;
+        }
+        BinaryWriter writer = encodeKey(key);
+        lock.writeLock().lock();
+        try {
+            int slot = find(writer, hash(key));
+            if (slot < 0) {
+                return null;
+            }
+            long address = addresses[slot];
+            T removed = decode(address);
+            release(address);
+            deleteSlot(slot);
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Point-in-time iteration without holding the lock
+     * Record bytes are immutable once written, so a copy of the address table plus the chunk
+     * list taken under the read lock stays valid while writers and compaction carry on.
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        iterator().forEachRemaining(action);
+    }
+
+    /**
+     * Point-in-time iteration like {@link #forEach}, decoding one record per call to next
+     */
+    @Override
+    public Iterator<T> iterator() {
+        lock.readLock().lock();
+        try {
+            return new SnapshotIterator(addresses.clone(), new ArrayList<>(chunks));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrite live records into fresh chunks, dropping superseded versions
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            List<ByteBuffer> previousChunks = chunks;
+            chunks = new ArrayList<>();
+            chunkGarbage = new long[8];
+            evacuating = -1;
+            current = null;
+            liveBytes = 0;
+            allocatedBytes = 0;
+            for (int slot = 0; slot < addresses.length; slot++) {
+                long address = addresses[slot];
+                if (address != EMPTY) {
+                    ByteBuffer record = record(previousChunks, address);
+                    addresses[slot] = copy(record);
+                }
+            }
+            garbageBytes = 0;
+            compactions++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Move up to {@code maxBytes} of records out of the chunk with the most garbage
+     * A chunk qualifies once at least half of its bytes are superseded; it is released when its
+     * last record has been visited. Holds the write lock for one slice only, so writers wait for
+     * at most {@code maxBytes} of copying.
+     *
+     * @return bytes visited, or -1 when no chunk qualifies
+     */
+    public long evacuate(long maxBytes) {
+        lock.writeLock().lock();
+        try {
+            if (evacuating < 0) {
+                evacuating = selectVictim();
+                evacuateOffset = 0;
+                if (evacuating < 0) {
+                    return -1;
+                }
+            }
+            ByteBuffer chunk = chunks.get(evacuating);
+            int end = chunk.position();
+            BinaryReader reader = new BinaryReader(null);
+            long visited = 0;
+            while (evacuateOffset < end && visited < maxBytes) {
+                int offset = evacuateOffset;
+                int keyLength = chunk.getInt(offset);
+                int recordSize = RECORD_HEADER + keyLength + chunk.getInt(offset + 4);
+                long address = ((long) evacuating << 32) | offset;
+                ByteBuffer key = chunk.duplicate();
+                key.limit(offset + RECORD_HEADER + keyLength).position(offset + RECORD_HEADER);
+                int slot = slotOf(address, hash(reader.wrap(key).readString()));
+                if (slot >= 0) {
+                    liveBytes -= recordSize;
+                    addresses[slot] = copy(record(chunks, address));
+                }
+                evacuateOffset += recordSize;
+                visited += recordSize;
+            }
+            if (evacuateOffset >= end) {
+                // Iterations that copied the chunk list before keep the buffer reachable
+                allocatedBytes -= chunk.capacity();
+                garbageBytes -= chunkGarbage[evacuating];
+                chunkGarbage[evacuating] = 0;
+                chunks.set(evacuating, null);
+                evacuating = -1;
+                compactions++;
+            }
+            return visited;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public StorageMode getStorageMode() {
+        return StorageMode.OFF_HEAP;
+    }
+
+    public long getLiveBytes() { return liveBytes; }
+    public long getGarbageBytes() { return garbageBytes; }
+    public long getAllocatedBytes() { return allocatedBytes; }
+    // Full compactions plus chunks released by evacuate
+    public long getCompactionCount() { return compactions; }
+
+    // Key lookup: slot index when found, otherwise -(free slot) - 1
+    private int find(BinaryWriter writer, int hash) {
+        ByteBuffer key = writer.toByteBuffer();
+        int mask = addresses.length - 1;
+        int slot = hash & mask;
+        while (addresses[slot] != EMPTY) {
+            if (hashes[slot] == hash && keyMatches(addresses[slot], key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -slot - 1;
+    }
+
+    private boolean keyMatches(long address, ByteBuffer key) {
+        ByteBuffer chunk = chunks.get((int) (address >>> 32));
+        int offset = (int) address;
+        int length = key.remaining();
+        if (chunk.getInt(offset) != length) {
+            return false;
+        }
+        int start = offset + RECORD_HEADER;
+        for (int i = 0; i < length; i++) {
+            if (chunk.get(start + i) != key.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Slot holding exactly this address, -1 when the record was superseded
+    private int slotOf(long address, int hash) {
+        int mask = addresses.length - 1;
+        int slot = hash & mask;
+        while (addresses[slot] != EMPTY) {
+            if (addresses[slot] == address) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    // Closed chunk with the most garbage, provided at least half of its bytes are garbage
+    private int selectVictim() {
+        int victim = -1;
+        int last = current != null ? chunks.size() - 1 : chunks.size();
+        for (int i = 0; i < last; i++) {
+            ByteBuffer chunk = chunks.get(i);
+            if (chunk != null && chunkGarbage[i] * 2 >= chunk.position()
+                    && (victim < 0 || chunkGarbage[i] > chunkGarbage[victim])) {
+                victim = i;
+            }
+        }
+        return victim;
+    }
+
+    private void insert(int slot, int hash, long address) {
+        addresses[slot] = address;
+        hashes[slot] = hash;
+        if (++size > addresses.length * 3 / 4) {
+            resize(addresses.length << 1);
+        }
+    }
+
+    private void resize(int capacity) {
+        long[] oldAddresses = addresses;
+        int[] oldHashes = hashes;
+        addresses = newAddresses(capacity);
+        hashes = new int[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldAddresses.length; i++) {
+            if (oldAddresses[i] != EMPTY) {
+                int slot = oldHashes[i] & mask;
+                while (addresses[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                addresses[slot] = oldAddresses[i];
+                hashes[slot] = oldHashes[i];
+            }
+        }
+    }
+
+    // Linear probing deletion without tombstones: shift later entries of the run back into the hole
+    private void deleteSlot(int slot) {
+        int mask = addresses.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (addresses[next] != EMPTY) {
+            int home = hashes[next] & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                addresses[hole] = addresses[next];
+                hashes[hole] = hashes[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        addresses[hole] = EMPTY;
+        size--;
+    }
+
+    private long append(BinaryWriter writer, int keyLength) {
+        ByteBuffer bytes = writer.toByteBuffer();
+        int recordSize = RECORD_HEADER + bytes.remaining();
+        if (current == null || current.remaining() < recordSize) {
+            newChunk(recordSize);
+        }
+        long address = ((long) (chunks.size() - 1) << 32) | current.position();
+        current.putInt(keyLength);
+        current.putInt(bytes.remaining() - keyLength);
+        current.put(bytes);
+        liveBytes += recordSize;
+        return address;
+    }
+
+    private long copy(ByteBuffer record) {
+        int recordSize = record.remaining();
+        if (current == null || current.remaining() < recordSize) {
+            newChunk(recordSize);
+        }
+        long address = ((long) (chunks.size() - 1) << 32) | current.position();
+        current.put(record);
+        liveBytes += recordSize;
+        return address;
+    }
+
+    private void newChunk(int minimumSize) {
+        current = ByteBuffer.allocateDirect(Math.max(chunkSize, minimumSize));
+        chunks.add(current);
+        if (chunks.size() > chunkGarbage.length) {
+            chunkGarbage = Arrays.copyOf(chunkGarbage, chunkGarbage.length << 1);
+        }
+        allocatedBytes += current.capacity();
+    }
+
+    private void release(long address) {
+        int recordSize = record(chunks, address).remaining();
+        liveBytes -= recordSize;
+        garbageBytes += recordSize;
+        chunkGarbage[(int) (address >>> 32)] += recordSize;
+    }
+
+    private T decode(long address) {
+        return codec.decode(new BinaryReader(payload(chunks, address)));
+    }
+
+    private static ByteBuffer record(List<ByteBuffer> chunks, long address) {
+        ByteBuffer record = chunks.get((int) (address >>> 32)).duplicate();
+        int offset = (int) address;
+        int size = RECORD_HEADER + record.getInt(offset) + record.getInt(offset + 4);
+        record.limit(offset + size).position(offset);
+        return record;
+    }
+
+    private static ByteBuffer payload(List<ByteBuffer> chunks, long address) {
+        ByteBuffer payload = chunks.get((int) (address >>> 32)).duplicate();
+        int offset = (int) address;
+        int keyLength = payload.getInt(offset);
+        int start = offset + RECORD_HEADER + keyLength;
+        payload.limit(start + payload.getInt(offset + 4)).position(start);
+        return payload;
+    }
+
+    private BinaryWriter encodeKey(String key) {
+        return writers.get().reset().writeString(key);
+    }
+
+    private static int hash(String key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private final class SnapshotIterator implements Iterator<T> {
+
+        private final long[] snapshot;
+        private final List<ByteBuffer> snapshotChunks;
+        private final BinaryReader reader = new BinaryReader(null);
+        private int next;
+
+        SnapshotIterator(long[] snapshot, List<ByteBuffer> snapshotChunks) {
+            this.snapshot = snapshot;
+            this.snapshotChunks = snapshotChunks;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < snapshot.length;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T record = codec.decode(reader.wrap(payload(snapshotChunks, snapshot[next++])));
+            advance();
+            return record;
+        }
+
+        private void advance() {
+            while (next < snapshot.length && snapshot[next] == EMPTY) {
+                next++;
+            }
+        }
+    }
+
+    private static long[] newAddresses(int capacity) {
+        long[] table = new long[capacity];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+}
@@ -0,0 +1,58 @@
+package com.company.core.store;
+
+import com.company.core.model.Order;
+import com.company.core.model.User;
+
+/**
+ * Order Codec - binary encoding of an order and its user
+ */
+final class OrderCodec implements RecordCodec<Order> {
+
+    private static final byte VERSION = 1;
+
+    @Override
+    public String keyOf(Order order) {
+        return order.getId();
+    }
+
+    @Override
+    public void encode(Order order, BinaryWriter out) {
+        out.writeByte(VERSION);
+        out.writeString(order.getId());
+        out.writeString(order.getUserId());
+        out.writeDecimal(order.getAmount());
+        out.writeString(order.getStatus());
+        out.writeDateTime(order.getCreateTime());
+        out.writeString(order.getEnterpriseId());
+        User user = order.getUser();
+        out.writeBoolean(user != null);
+        if (user != null) {
+            out.writeString(user.getId());
+            out.writeString(user.getName());
+            out.writeString(user.getPhone());
+            out.writeString(user.getEmail());
+        }
+    }
+
+    @Override
+    public Order decode(BinaryReader in) {
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IllegalStateException("Unsupported order encoding version " + version);
+        }
+        Order order = new Order();
+        order.setId(in.readString());
+        order.setUserId(in.readString());
+        order.setAmount(in.readDecimal());
+        order.setStatus(in.readString());
+        order.setCreateTime(in.readDateTime());
+        order.setEnterpriseId(in.readString());
+        if (in.readBoolean()) {
+            User user = new User(in.readString(), in.readString());
+            user.setPhone(in.readString());
+            user.setEmail(in.readString());
+            order.setUser(user);
+        }
+        return order;
+    }
+}
@@ -0,0 +1,59 @@
+package com.company.core.store;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Order Cursor - opaque continuation token for keyset paging over the creation time index
+ * Encodes the (createTime, id) key of the last returned order as URL-safe Base64.
+ */
+final class OrderCursor {
+
+    private static final byte NO_TIME = 0;
+    private static final byte WITH_TIME = 1;
+
+    private OrderCursor() {
+    }
+
+    static String encode(InMemoryOrderStore.OrderKey key) {
+        byte[] id = key.id.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(1 + Long.BYTES + Integer.BYTES + id.length);
+        if (key.createTime != null) {
+            buffer.put(WITH_TIME)
+                  .putLong(key.createTime.toEpochSecond(ZoneOffset.UTC))
+                  .putInt(key.createTime.getNano());
+        } else {
+            buffer.put(NO_TIME).putLong(0).putInt(0);
+        }
+        buffer.put(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * Decode a token, throws IllegalArgumentException for malformed input
+     */
+    static InMemoryOrderStore.OrderKey decode(String cursor) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(cursor));
+            byte flag = buffer.get();
+            long seconds = buffer.getLong();
+            int nanos = buffer.getInt();
+            if ((flag != NO_TIME && flag != WITH_TIME) || !buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Malformed order cursor");
+            }
+            byte[] id = new byte[buffer.remaining()];
+            buffer.get(id);
+            LocalDateTime createTime = flag == WITH_TIME
+                    ? LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC)
+                    : null;
+            return new InMemoryOrderStore.OrderKey(createTime, new String(id, StandardCharsets.UTF_8));
+        } catch (BufferUnderflowException | DateTimeException e) {
+            throw new IllegalArgumentException("Malformed order cursor", e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.company.core.store;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Order Statistics - striped counters maintained by the store on every insert, update and remove
+ * Reads cost O(number of statuses) regardless of how many orders are held.
+ */
+public class OrderStatistics {
+
+    public static final String UNKNOWN_STATUS = "UNKNOWN";
+
+    private final BigDecimal highValueThreshold;
+    private final LongAdder total = new LongAdder();
+    private final LongAdder highValue = new LongAdder();
+    private final ConcurrentHashMap<String, LongAdder> byStatus = new ConcurrentHashMap<>();
+
+    /**
+     * Orders with an amount strictly above the threshold count as high value, null disables it
+     */
+    public OrderStatistics(BigDecimal highValueThreshold) {
+        this.highValueThreshold = highValueThreshold;
+    }
+
+    public boolean isHighValue(BigDecimal amount) {
+        return highValueThreshold != null && amount != null && amount.compareTo(highValueThreshold) > 0;
+    }
+
+    void added(String status, boolean isHighValue) {
+        total.increment();
+        statusCounter(status).increment();
+        if (isHighValue) {
+            highValue.increment();
+        }
+    }
+
+    void removed(String status, boolean isHighValue) {
+        total.decrement();
+        statusCounter(status).decrement();
+        if (isHighValue) {
+            highValue.decrement();
+        }
+    }
+
+    void statusChanged(String oldStatus, String newStatus) {
+        if (!normalize(oldStatus).equals(normalize(newStatus))) {
+            statusCounter(oldStatus).decrement();
+            statusCounter(newStatus).increment();
+        }
+    }
+
+    public long getTotal() { return total.sum(); }
+    public long getHighValueCount() { return highValue.sum(); }
+    public BigDecimal getHighValueThreshold() { return highValueThreshold; }
+
+    public long getStatusCount(String status) {
+        LongAdder counter = byStatus.get(normalize(status));
+        return counter != null ? counter.sum() : 0;
+    }
+
+    /**
+     * Non-zero counts per status, sorted by status
+     */
+    public Map<String, Long> getStatusCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        byStatus.forEach((status, counter) -> {
+            long count = counter.sum();
+            if (count != 0) {
+                counts.put(status, count);
+            }
+        });
+        return counts;
+    }
+
+    private LongAdder statusCounter(String status) {
+        String key = normalize(status);
+        LongAdder counter = byStatus.get(key);
+        return counter != null ? counter : byStatus.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    private static String normalize(String status) {
+        return status != null ? status : UNKNOWN_STATUS;
+    }
+}
@@ -0,0 +1,57 @@
+package com.company.core.store;
+
+import com.company.core.dto.CursorPage;
+import com.company.core.model.Order;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Order Store - thread-safe order storage with a newest-first creation time index
+ * Offset paging walks past the skipped orders; keyset paging via scroll seeks directly.
+ */
+public interface OrderStore {
+
+    /**
+     * Insert or replace an order by id, returns the previous order or null
+     */
+    Order save(Order order);
+
+    Order findById(String id);
+
+    /**
+     * Set the status of a stored order, returns the order or null when unknown
+     */
+    Order updateStatus(String id, String status);
+
+    Order remove(String id);
+
+    /**
+     * Orders newest first by creation time, skipping offset orders
+     * Orders without creation time come last
+     */
+    List<Order> findNewest(long offset, int limit);
+
+    /**
+     * Keyset page newest first, resuming after the order the cursor points at
+     * A null cursor starts from the newest order; malformed cursors throw IllegalArgumentException
+     */
+    CursorPage<Order> scroll(String cursor, int limit);
+
+    /**
+     * Keyset page restricted to one enterprise, cursors come from the same enterprise listing
+     */
+    CursorPage<Order> scroll(String enterpriseId, String cursor, int limit);
+
+    /**
+     * Unmodifiable live view of all orders, newest first
+     */
+    Collection<Order> findAll();
+
+    /**
+     * Incrementally maintained counters, O(1) to read
+     */
+    OrderStatistics getStatistics();
+
+    int size();
+}
@@ -0,0 +1,16 @@
+package com.company.core.store;
+
+/**
+ * Record Codec - compact binary encoding of a record type for logs, snapshots and off-heap storage
+ */
+public interface RecordCodec<T> {
+
+    /**
+     * Primary key of the record, never null for stored records
+     */
+    String keyOf(T record);
+
+    void encode(T record, BinaryWriter out);
+
+    T decode(BinaryReader in);
+}
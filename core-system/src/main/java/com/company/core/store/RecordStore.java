@@ -0,0 +1,42 @@
+package com.company.core.store;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Record Store - thread-safe key/value storage of records keyed by {@link RecordCodec#keyOf}
+ * Off-heap implementations return copies, so changes to a returned record only take effect
+ * when it is written back through {@link #compute}.
+ */
+public interface RecordStore<T> {
+
+    T get(String key);
+
+    /**
+     * Atomically replace the record for a key with the result of the remapping function
+     * The function gets the current record or null and may return null to remove it. It runs
+     * while other writers of the key are excluded and must not call back into this store.
+     */
+    T compute(String key, UnaryOperator<T> remapping);
+
+    /**
+     * Remove a record, returns the removed record or null
+     */
+    T remove(String key);
+
+    /**
+     * Visit every record; writes made concurrently may or may not be seen
+     */
+    void forEach(Consumer<? super T> action);
+
+    /**
+     * Iterate like {@link #forEach}, one record at a time, so a caller can stop between records
+     * and resume later, e.g. a maintenance task working in budgeted increments
+     */
+    Iterator<T> iterator();
+
+    int size();
+
+    StorageMode getStorageMode();
+}
@@ -0,0 +1,17 @@
+package com.company.core.store;
+
+/**
+ * Storage Mode - where stores keep their records
+ */
+public enum StorageMode {
+
+    /**
+     * Plain objects on the Java heap, returned by reference
+     */
+    HEAP,
+
+    /**
+     * Serialized into direct buffers outside the heap, decoded into a fresh copy on every read
+     */
+    OFF_HEAP
+}
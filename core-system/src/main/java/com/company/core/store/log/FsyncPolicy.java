@@ -0,0 +1,23 @@
+package com.company.core.store.log;
+
+/**
+ * Fsync Policy - when appended log records are forced to stable storage
+ */
+public enum FsyncPolicy {
+
+    /**
+     * Every commit waits for an fsync covering its record; concurrent commits share one fsync
+     */
+    ALWAYS,
+
+    /**
+     * A background flusher forces the log at a fixed interval; commits return immediately
+     * and a crash may lose up to one interval of writes
+     */
+    INTERVAL,
+
+    /**
+     * The log is only forced on segment roll and close; the OS page cache decides otherwise
+     */
+    NEVER
+}
@@ -0,0 +1,16 @@
+package com.company.core.store.log;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Log Visitor - receives records replayed from a {@link WriteAheadLog}
+ */
+public interface LogVisitor {
+
+    /**
+     * @param type    record type as passed to append
+     * @param payload read-only view of the record payload, only valid during the call
+     * @param lsn     log sequence number of the end of the record
+     */
+    void onRecord(byte type, ByteBuffer payload, long lsn);
+}
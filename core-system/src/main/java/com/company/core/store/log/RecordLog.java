@@ -0,0 +1,74 @@
+package com.company.core.store.log;
+
+import com.company.core.store.BinaryReader;
+import com.company.core.store.BinaryWriter;
+import com.company.core.store.RecordCodec;
+
+import java.io.IOException;
+
+/**
+ * Record Log - typed put/delete records over a {@link WriteAheadLog}
+ * Records are encoded with the given {@link RecordCodec} into a per-thread buffer, so appends
+ * do not allocate beyond what the codec itself needs.
+ */
+public class RecordLog<T> implements AutoCloseable {
+
+    public static final byte PUT = 1;
+    public static final byte DELETE = 2;
+
+    private final WriteAheadLog wal;
+    private final RecordCodec<T> codec;
+    private final ThreadLocal<BinaryWriter> writers = ThreadLocal.withInitial(() -> new BinaryWriter(512));
+
+    public RecordLog(WriteAheadLog wal, RecordCodec<T> codec) {
+        this.wal = wal;
+        this.codec = codec;
+    }
+
+    /**
+     * Replay records after {@code fromLsn} into the handler, see {@link WriteAheadLog#recover}
+     */
+    public WriteAheadLog.RecoveryResult recover(long fromLsn, Handler<T> handler) throws IOException {
+        BinaryReader reader = new BinaryReader(null);
+        return wal.recover(fromLsn, (type, payload, lsn) -> {
+            reader.wrap(payload);
+            if (type == PUT) {
+                handler.onPut(codec.decode(reader));
+            } else if (type == DELETE) {
+                handler.onDelete(reader.readString());
+            }
+        });
+    }
+
+    public long appendPut(T record) {
+        BinaryWriter writer = writers.get().reset();
+        codec.encode(record, writer);
+        return wal.append(PUT, writer.toByteBuffer());
+    }
+
+    public long appendDelete(String key) {
+        BinaryWriter writer = writers.get().reset();
+        writer.writeString(key);
+        return wal.append(DELETE, writer.toByteBuffer());
+    }
+
+    public void commit(long lsn) {
+        wal.commit(lsn);
+    }
+
+    public WriteAheadLog getWal() { return wal; }
+    public RecordCodec<T> getCodec() { return codec; }
+
+    @Override
+    public void close() throws IOException {
+        wal.close();
+    }
+
+    /**
+     * Receives replayed records in log order
+     */
+    public interface Handler<T> {
+        void onPut(T record);
+        void onDelete(String key);
+    }
+}
@@ -0,0 +1,354 @@
+package com.company.core.store.log;
+
+import com.company.core.logging.CoreLogger;
+import com.company.core.logging.CoreLoggerFactory;
+import com.company.core.store.BinaryReader;
+import com.company.core.store.BinaryWriter;
+import com.company.core.store.RecordCodec;
+import com.company.core.store.RecordStore;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Snapshot Store - point-in-time copies of a {@link RecordStore} paired with a log position
+ * A snapshot holds every record as of its LSN, so recovery loads it and replays only the log
+ * records after that LSN. The file is [int magic][byte version][long lsn], then
+ * [int length][int crc32c][payload] per record, then [int 0][long record count]. It is written
+ * to a temporary file, forced and atomically renamed, and only then are older snapshots deleted.
+ */
+public class SnapshotStore<T> {
+
+    private static final CoreLogger log = CoreLoggerFactory.getLogger(SnapshotStore.class);
+
+    private static final int MAGIC = 0x534E4150;
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES + 1 + Long.BYTES;
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".snap";
+
+    private final Path directory;
+    private final RecordCodec<T> codec;
+
+    public SnapshotStore(Path directory, RecordCodec<T> codec) {
+        this.directory = directory;
+        this.codec = codec;
+    }
+
+    /**
+     * Write a snapshot of the store labelled with {@code lsn}
+     * Every write logged at or before {@code lsn} must already be applied to the store; writes
+     * made while the snapshot runs may or may not be included and are replayed from the log.
+     */
+    public Snapshot write(long lsn, RecordStore<T> records) throws IOException {
+        try (Writer writer = begin(lsn)) {
+            Iterator<T> iterator = records.iterator();
+            while (iterator.hasNext()) {
+                writer.append(iterator.next());
+            }
+            return writer.finish();
+        }
+    }
+
+    /**
+     * Start a snapshot labelled with {@code lsn} that the caller fills record by record
+     * The same rules as {@link #write} apply to the records appended. Nothing is visible to
+     * {@link #load} until {@link Writer#finish()}; closing an unfinished writer discards it.
+     */
+    public Writer begin(long lsn) throws IOException {
+        Files.createDirectories(directory);
+        return new Writer(lsn);
+    }
+
+    /**
+     * Load the latest snapshot into the sink, returns null when there is none
+     *
+     * @throws IOException when the snapshot is truncated or fails its checksum
+     */
+    public Snapshot load(Consumer<? super T> sink) throws IOException {
+        Path path = latestPath();
+        if (path == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            buffer.flip();
+            fill(channel, buffer, HEADER_SIZE);
+            if (buffer.getInt() != MAGIC || buffer.get() != VERSION) {
+                throw new IOException("Not a snapshot file: " + path);
+            }
+            Snapshot snapshot = new Snapshot(buffer.getLong(), path);
+            BinaryReader reader = new BinaryReader(null);
+            CRC32C crc = new CRC32C();
+            byte[] large = null;
+            while (true) {
+                fill(channel, buffer, Integer.BYTES);
+                int length = buffer.getInt();
+                if (length == 0) {
+                    break;
+                }
+                fill(channel, buffer, Integer.BYTES);
+                int checksum = buffer.getInt();
+                ByteBuffer payload;
+                if (length <= buffer.capacity()) {
+                    fill(channel, buffer, length);
+                    payload = buffer.duplicate();
+                    payload.limit(payload.position() + length);
+                    buffer.position(buffer.position() + length);
+                } else {
+                    large = large != null && large.length >= length ? large : new byte[length];
+                    payload = ByteBuffer.wrap(large, 0, length);
+                    while (payload.hasRemaining()) {
+                        fill(channel, buffer, 1);
+                        int chunk = Math.min(payload.remaining(), buffer.remaining());
+                        ByteBuffer part = buffer.duplicate();
+                        part.limit(part.position() + chunk);
+                        payload.put(part);
+                        buffer.position(buffer.position() + chunk);
+                    }
+                    payload.flip();
+                }
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    throw new IOException("Snapshot checksum mismatch in " + path + " after " + snapshot.records + " records");
+                }
+                sink.accept(codec.decode(reader.wrap(payload)));
+                snapshot.records++;
+            }
+            fill(channel, buffer, Long.BYTES);
+            long expected = buffer.getLong();
+            if (expected != snapshot.records) {
+                throw new IOException("Snapshot " + path + " holds " + snapshot.records + " records, expected " + expected);
+            }
+            snapshot.bytes = channel.size();
+            snapshot.elapsedNanos = System.nanoTime() - start;
+            return snapshot;
+        } catch (EOFException e) {
+            throw new IOException("Truncated snapshot " + path, e);
+        }
+    }
+
+    /**
+     * LSN of the latest snapshot on disk, 0 when there is none
+     */
+    public long getLatestLsn() throws IOException {
+        Path path = latestPath();
+        return path != null ? lsnOf(path) : 0;
+    }
+
+    public Path getDirectory() { return directory; }
+
+    private Path latestPath() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return null;
+        }
+        Path latest = null;
+        long latestLsn = -1;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : files) {
+                long lsn = lsnOf(file);
+                if (lsn > latestLsn) {
+                    latest = file;
+                    latestLsn = lsn;
+                }
+            }
+        }
+        return latest;
+    }
+
+    private void deleteOlderThan(long lsn) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : files) {
+                if (lsnOf(file) < lsn) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    // Make the rename durable; not every platform allows opening a directory
+    private void forceDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("Directory fsync not supported for {}", directory);
+        }
+    }
+
+    private static void ensureSpace(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    // Make at least min(bytes, capacity) bytes readable, buffer stays in read mode
+    private static void fill(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        int needed = Math.min(bytes, buffer.capacity());
+        if (buffer.remaining() >= needed) {
+            return;
+        }
+        buffer.compact();
+        while (buffer.position() < needed) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException();
+            }
+        }
+        buffer.flip();
+    }
+
+    private Path snapshotPath(long lsn) {
+        return directory.resolve(String.format("%s%020d%s", PREFIX, lsn, SUFFIX));
+    }
+
+    private static long lsnOf(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Snapshot being written, owned by one thread
+     */
+    public final class Writer implements Closeable {
+
+        private final long start = System.nanoTime();
+        private final Path target;
+        private final Path temporary;
+        private final Snapshot snapshot;
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final BinaryWriter writer = new BinaryWriter(512);
+        private final CRC32C crc = new CRC32C();
+        private boolean closed;
+
+        private Writer(long lsn) throws IOException {
+            this.target = snapshotPath(lsn);
+            this.temporary = directory.resolve(target.getFileName() + ".tmp");
+            this.snapshot = new Snapshot(lsn, target);
+            this.channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            buffer.putInt(MAGIC).put(VERSION).putLong(lsn);
+        }
+
+        /**
+         * Append one record, returns its encoded size
+         */
+        public int append(T record) throws IOException {
+            writer.reset();
+            codec.encode(record, writer);
+            ByteBuffer payload = writer.toByteBuffer();
+            int size = payload.remaining();
+            crc.reset();
+            crc.update(payload.duplicate());
+            try {
+                ensureSpace(channel, buffer, 2 * Integer.BYTES);
+                buffer.putInt(size).putInt((int) crc.getValue());
+                while (payload.hasRemaining()) {
+                    ensureSpace(channel, buffer, 1);
+                    int chunk = Math.min(payload.remaining(), buffer.remaining());
+                    ByteBuffer part = payload.duplicate();
+                    part.limit(part.position() + chunk);
+                    buffer.put(part);
+                    payload.position(payload.position() + chunk);
+                }
+            } catch (IOException | RuntimeException e) {
+                close();
+                throw e;
+            }
+            snapshot.records++;
+            return size;
+        }
+
+        /**
+         * Force the file, publish it atomically and delete older snapshots
+         */
+        public Snapshot finish() throws IOException {
+            try {
+                ensureSpace(channel, buffer, Integer.BYTES + Long.BYTES);
+                buffer.putInt(0).putLong(snapshot.records);
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+                snapshot.bytes = channel.size();
+                channel.close();
+            } catch (IOException | RuntimeException e) {
+                close();
+                throw e;
+            }
+            closed = true;
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            forceDirectory();
+            deleteOlderThan(snapshot.lsn);
+            snapshot.elapsedNanos = System.nanoTime() - start;
+            log.info("Wrote snapshot at LSN {} with {} records in {} ms", snapshot.lsn, snapshot.records,
+                    snapshot.getElapsedMillis());
+            return snapshot;
+        }
+
+        public long getRecords() {
+            return snapshot.records;
+        }
+
+        /**
+         * Discard the snapshot unless it was finished
+         */
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                channel.close();
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        }
+    }
+
+    /**
+     * Written or loaded snapshot
+     */
+    public static final class Snapshot {
+        private final long lsn;
+        private final Path path;
+        private long records;
+        private long bytes;
+        private long elapsedNanos;
+
+        Snapshot(long lsn, Path path) {
+            this.lsn = lsn;
+            this.path = path;
+        }
+
+        public long getLsn() { return lsn; }
+        public Path getPath() { return path; }
+        public long getRecords() { return records; }
+        public long getBytes() { return bytes; }
+        public long getElapsedMillis() { return TimeUnit.NANOSECONDS.toMillis(elapsedNanos); }
+    }
+}
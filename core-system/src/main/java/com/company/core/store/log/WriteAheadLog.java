@@ -0,0 +1,488 @@
+package com.company.core.store.log;
+
+import com.company.core.logging.CoreLogger;
+import com.company.core.logging.CoreLoggerFactory;
+import com.company.core.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Write-Ahead Log - append-only record log in memory-mapped segment files
+ * A record is [int length][int crc32c][byte type][payload], where length counts the type byte
+ * and the checksum covers type and payload. The log sequence number (LSN) of a record is the
+ * byte offset of its end in the whole log, and segment files are named after the LSN they start at.
+ * Appends copy into the mapped segment under a lock; {@link #commit(long)} applies the
+ * {@link FsyncPolicy}, batching concurrent committers behind a single fsync.
+ * Call {@link #recover(long, LogVisitor)} once before the first append.
+ */
+public class WriteAheadLog implements AutoCloseable {
+
+    private static final CoreLogger log = CoreLoggerFactory.getLogger(WriteAheadLog.class);
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+    public static final long DEFAULT_FSYNC_INTERVAL_MILLIS = 5;
+
+    static final int HEADER_SIZE = 8;
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final String DISCARDED_SUFFIX = ".discarded";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final FsyncPolicy fsyncPolicy;
+    private final long fsyncIntervalNanos;
+
+    // Guards the active segment, its position and segment rolls
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final CRC32C checksum = new CRC32C();
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private volatile Segment active;
+    private volatile long writtenLsn;
+    private volatile boolean closed;
+
+    // Group commit: one leader forces the log while later committers wait for the next round
+    private final Object syncMonitor = new Object();
+    private boolean syncing;
+    private volatile long durableLsn;
+    private Thread flusher;
+
+    private final LongAdder appendedRecords = new LongAdder();
+    private final LongAdder appendedBytes = new LongAdder();
+    private final LatencyHistogram fsyncLatency = new LatencyHistogram();
+
+    public WriteAheadLog(Path directory) {
+        this(directory, DEFAULT_SEGMENT_SIZE, FsyncPolicy.INTERVAL, DEFAULT_FSYNC_INTERVAL_MILLIS);
+    }
+
+    public WriteAheadLog(Path directory, int segmentSize, FsyncPolicy fsyncPolicy, long fsyncIntervalMillis) {
+        if (segmentSize < 4096) {
+            throw new IllegalArgumentException("Segment size must be at least 4096 bytes");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsyncPolicy = fsyncPolicy != null ? fsyncPolicy : FsyncPolicy.INTERVAL;
+        this.fsyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, fsyncIntervalMillis));
+    }
+
+    /**
+     * Open the segments, replay every record ending after {@code fromLsn} and position the tail
+     * Segments wholly before {@code fromLsn} are not read. A torn or corrupt record ends the log:
+     * the rest of its segment is cleared and any later segments are renamed to *.discarded.
+     */
+    public synchronized RecoveryResult recover(long fromLsn, LogVisitor visitor) throws IOException {
+        if (active != null) {
+            throw new IllegalStateException("Log already recovered");
+        }
+        long start = System.nanoTime();
+        Files.createDirectories(directory);
+        List<Long> bases = listSegmentBases();
+        RecoveryResult result = new RecoveryResult();
+
+        long tailBase = -1;
+        int tailPosition = 0;
+        boolean torn = false;
+        for (int i = 0; i < bases.size(); i++) {
+            long base = bases.get(i);
+            segments.put(base, new Segment(base, segmentPath(base)));
+            boolean last = i == bases.size() - 1;
+            if (!last && bases.get(i + 1) <= fromLsn) {
+                continue;
+            }
+            MappedByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(segmentPath(base), StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            int end = scan(buffer, base, fromLsn, visitor, result);
+            result.segments++;
+            tailBase = base;
+            tailPosition = end;
+            torn = end + 4 <= buffer.limit() && buffer.getInt(end) != 0;
+            if (torn && !last) {
+                log.warn("Corrupt record in log segment {} at offset {}, discarding later segments", base, end);
+                for (int j = i + 1; j < bases.size(); j++) {
+                    Path path = segmentPath(bases.get(j));
+                    Files.move(path, path.resolveSibling(path.getFileName() + DISCARDED_SUFFIX),
+                            StandardCopyOption.REPLACE_EXISTING);
+                }
+                break;
+            }
+        }
+
+        Segment tail;
+        if (tailBase < 0) {
+            tail = createSegment(Math.max(0, fromLsn));
+        } else {
+            tail = openSegment(tailBase, tailPosition);
+            if (torn) {
+                log.warn("Truncated torn record at the end of log segment {}, offset {}", tailBase, tailPosition);
+                result.truncated = true;
+            }
+            clearFrom(tail.buffer, tailPosition);
+            if (tail.base + tail.position < fromLsn) {
+                // The caller's state is newer than the log, keep LSNs moving forward from there
+                log.warn("Log ends at LSN {} before the requested LSN {}, starting a new segment",
+                        tail.base + tail.position, fromLsn);
+                tail.channel.close();
+                segments.put(tail.base, new Segment(tail.base, tail.path));
+                tail = createSegment(fromLsn);
+            }
+        }
+        segments.put(tail.base, tail);
+        active = tail;
+        writtenLsn = tail.base + tail.position;
+        durableLsn = writtenLsn;
+        result.endLsn = writtenLsn;
+        result.elapsedNanos = System.nanoTime() - start;
+
+        if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            flusher = new Thread(this::runFlusher, "wal-flusher-" + directory.getFileName());
+            flusher.setDaemon(true);
+            flusher.start();
+        }
+        return result;
+    }
+
+    /**
+     * Append one record and return its LSN; durability follows once {@link #commit(long)} returns
+     *
+     * @throws IllegalArgumentException when the record does not fit in a segment
+     * @throws UncheckedIOException     when a new segment cannot be created
+     */
+    public long append(byte type, ByteBuffer payload) {
+        int length = payload.remaining() + 1;
+        int size = HEADER_SIZE + length;
+        if (size > segmentSize) {
+            throw new IllegalArgumentException("Record of " + size + " bytes exceeds the segment size " + segmentSize);
+        }
+        appendLock.lock();
+        try {
+            Segment segment = active;
+            if (segment == null || closed) {
+                throw new IllegalStateException("Log is not open");
+            }
+            if (segment.position + size > segment.buffer.capacity()) {
+                segment = roll(segment);
+            }
+            int position = segment.position;
+            MappedByteBuffer buffer = segment.buffer;
+            checksum.reset();
+            checksum.update(type);
+            checksum.update(payload.duplicate());
+
+            buffer.position(position + HEADER_SIZE);
+            buffer.put(type);
+            buffer.put(payload.duplicate());
+            buffer.putInt(position + 4, (int) checksum.getValue());
+            // Length is written last so recovery sees a zero length for an unfinished record
+            buffer.putInt(position, length);
+
+            segment.position = position + size;
+            long lsn = segment.base + segment.position;
+            writtenLsn = lsn;
+            appendedRecords.increment();
+            appendedBytes.add(size);
+            return lsn;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Make records up to {@code lsn} durable as the fsync policy requires
+     * With {@link FsyncPolicy#ALWAYS} this blocks until an fsync covers the record.
+     */
+    public void commit(long lsn) {
+        if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+            awaitDurable(lsn);
+        }
+    }
+
+    /**
+     * Force everything appended so far, whatever the policy
+     */
+    public void flush() {
+        awaitDurable(writtenLsn);
+    }
+
+    /**
+     * Delete sealed segments whose records all end at or before {@code lsn}, e.g. after a snapshot
+     */
+    public int deleteSegmentsBefore(long lsn) throws IOException {
+        int deleted = 0;
+        appendLock.lock();
+        try {
+            Iterator<Map.Entry<Long, Segment>> iterator = segments.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Segment segment = iterator.next().getValue();
+                Long next = segments.higherKey(segment.base);
+                if (segment == active || next == null || next > lsn) {
+                    break;
+                }
+                Files.deleteIfExists(segment.path);
+                iterator.remove();
+                deleted++;
+            }
+        } finally {
+            appendLock.unlock();
+        }
+        if (deleted > 0) {
+            log.debug("Deleted {} log segments before LSN {}", deleted, lsn);
+        }
+        return deleted;
+    }
+
+    /**
+     * Force the log and stop the flusher; later appends fail
+     */
+    @Override
+    public void close() throws IOException {
+        appendLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            appendLock.unlock();
+        }
+        if (flusher != null) {
+            LockSupport.unpark(flusher);
+            try {
+                flusher.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        Segment segment = active;
+        if (segment != null) {
+            forceSegment(segment);
+            advanceDurable(writtenLsn);
+            segment.channel.close();
+        }
+    }
+
+    public Path getDirectory() { return directory; }
+    public FsyncPolicy getFsyncPolicy() { return fsyncPolicy; }
+    public long getWrittenLsn() { return writtenLsn; }
+    public long getDurableLsn() { return durableLsn; }
+    public int getSegmentCount() { return segments.size(); }
+    public long getAppendedRecords() { return appendedRecords.sum(); }
+    public long getAppendedBytes() { return appendedBytes.sum(); }
+    public LatencyHistogram.Snapshot getFsyncLatency() { return fsyncLatency.snapshot(); }
+
+    private void awaitDurable(long lsn) {
+        if (durableLsn >= lsn) {
+            return;
+        }
+        synchronized (syncMonitor) {
+            while (syncing) {
+                if (durableLsn >= lsn) {
+                    return;
+                }
+                try {
+                    syncMonitor.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new UncheckedIOException(new InterruptedIOException("Interrupted while waiting for fsync"));
+                }
+            }
+            if (durableLsn >= lsn) {
+                return;
+            }
+            syncing = true;
+        }
+        try {
+            // Read the LSN before the segment: a roll in between has already forced the older one
+            long target = writtenLsn;
+            forceSegment(active);
+            advanceDurable(target);
+        } finally {
+            synchronized (syncMonitor) {
+                syncing = false;
+                syncMonitor.notifyAll();
+            }
+        }
+    }
+
+    private void advanceDurable(long lsn) {
+        synchronized (syncMonitor) {
+            if (lsn > durableLsn) {
+                durableLsn = lsn;
+            }
+        }
+    }
+
+    private void forceSegment(Segment segment) {
+        long start = System.nanoTime();
+        segment.buffer.force();
+        fsyncLatency.record(System.nanoTime() - start);
+    }
+
+    private void runFlusher() {
+        while (!closed) {
+            LockSupport.parkNanos(fsyncIntervalNanos);
+            if (!closed && writtenLsn > durableLsn) {
+                try {
+                    awaitDurable(writtenLsn);
+                } catch (RuntimeException e) {
+                    log.warn("Background log flush failed: {}", e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    // Called under appendLock: seal the full segment and continue in a new one
+    private Segment roll(Segment current) {
+        forceSegment(current);
+        long base = current.base + current.position;
+        advanceDurable(base);
+        try {
+            current.channel.close();
+            Segment next = createSegment(base);
+            segments.put(current.base, new Segment(current.base, current.path));
+            segments.put(base, next);
+            active = next;
+            log.debug("Rolled log to segment {}", base);
+            return next;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to roll log segment", e);
+        }
+    }
+
+    private int scan(MappedByteBuffer buffer, long base, long fromLsn, LogVisitor visitor, RecoveryResult result) {
+        CRC32C crc = new CRC32C();
+        int limit = buffer.limit();
+        int position = 0;
+        while (position + HEADER_SIZE < limit) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || length > limit - position - HEADER_SIZE) {
+                break;
+            }
+            ByteBuffer body = buffer.duplicate();
+            body.limit(position + HEADER_SIZE + length).position(position + HEADER_SIZE);
+            crc.reset();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+            position += HEADER_SIZE + length;
+            long lsn = base + position;
+            if (lsn > fromLsn) {
+                byte type = body.get();
+                visitor.onRecord(type, body.slice().asReadOnlyBuffer(), lsn);
+                result.records++;
+            }
+            result.bytes += HEADER_SIZE + length;
+        }
+        return position;
+    }
+
+    // Zero stale bytes after the tail so a later crash cannot expose them as records
+    private static void clearFrom(MappedByteBuffer buffer, int position) {
+        int limit = buffer.limit();
+        int i = position;
+        for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+            if (buffer.getLong(i) != 0) {
+                buffer.putLong(i, 0);
+            }
+        }
+        for (; i < limit; i++) {
+            buffer.put(i, (byte) 0);
+        }
+    }
+
+    private Segment createSegment(long base) throws IOException {
+        Path path = segmentPath(base);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new Segment(base, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize), 0);
+    }
+
+    private Segment openSegment(long base, int position) throws IOException {
+        Path path = segmentPath(base);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new Segment(base, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()), position);
+    }
+
+    private List<Long> listSegmentBases() throws IOException {
+        List<Long> bases = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    bases.add(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    log.warn("Ignoring unexpected file in log directory: {}", name);
+                }
+            }
+        }
+        Collections.sort(bases);
+        return bases;
+    }
+
+    private Path segmentPath(long base) {
+        return directory.resolve(String.format("%020d%s", base, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * One segment file; sealed segments keep no mapping
+     */
+    private static final class Segment {
+        final long base;
+        final Path path;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        int position;
+
+        Segment(long base, Path path) {
+            this(base, path, null, null, 0);
+        }
+
+        Segment(long base, Path path, FileChannel channel, MappedByteBuffer buffer, int position) {
+            this.base = base;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.position = position;
+        }
+    }
+
+    /**
+     * Outcome of {@link #recover(long, LogVisitor)}
+     */
+    public static final class RecoveryResult {
+        private long records;
+        private long bytes;
+        private int segments;
+        private boolean truncated;
+        private long endLsn;
+        private long elapsedNanos;
+
+        public long getRecords() { return records; }
+        public long getBytes() { return bytes; }
+        public int getSegments() { return segments; }
+        public boolean isTruncated() { return truncated; }
+        public long getEndLsn() { return endLsn; }
+        public long getElapsedMillis() { return TimeUnit.NANOSECONDS.toMillis(elapsedNanos); }
+    }
+}
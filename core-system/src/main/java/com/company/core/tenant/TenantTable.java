@@ -0,0 +1,150 @@
+package com.company.core.tenant;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tenant Table - lock-free map from tenant id to the tenant's runtime
+ * Reads probe an immutable open-addressing snapshot published through a volatile field, so
+ * routing a request costs one hash and a few comparisons with no locking or allocation.
+ * Registration and removal copy the snapshot under a lock; tenants change rarely.
+ */
+public final class TenantTable<T> {
+
+    private volatile Table<T> table = new Table<>(new String[0], new Object[0]);
+
+    /**
+     * Add or replace a tenant, returns the previous runtime
+     */
+    public synchronized T register(String tenantId, T runtime) {
+        if (tenantId == null || runtime == null) {
+            throw new IllegalArgumentException("Tenant id and runtime must not be null");
+        }
+        Table<T> current = table;
+        int index = current.indexOf(tenantId);
+        String[] ids = current.ids;
+        Object[] runtimes;
+        T previous = null;
+        if (index < 0) {
+            ids = Arrays.copyOf(ids, ids.length + 1);
+            runtimes = Arrays.copyOf(current.runtimes, ids.length);
+            index = ids.length - 1;
+            ids[index] = tenantId;
+        } else {
+            previous = current.runtimeAt(index);
+            runtimes = current.runtimes.clone();
+        }
+        runtimes[index] = runtime;
+        table = new Table<>(ids, runtimes);
+        return previous;
+    }
+
+    /**
+     * Remove a tenant, returns its runtime or null when unknown
+     */
+    public synchronized T remove(String tenantId) {
+        Table<T> current = table;
+        int index = tenantId != null ? current.indexOf(tenantId) : -1;
+        if (index < 0) {
+            return null;
+        }
+        int size = current.ids.length;
+        String[] ids = new String[size - 1];
+        Object[] runtimes = new Object[size - 1];
+        System.arraycopy(current.ids, 0, ids, 0, index);
+        System.arraycopy(current.ids, index + 1, ids, index, size - index - 1);
+        System.arraycopy(current.runtimes, 0, runtimes, 0, index);
+        System.arraycopy(current.runtimes, index + 1, runtimes, index, size - index - 1);
+        T removed = current.runtimeAt(index);
+        table = new Table<>(ids, runtimes);
+        return removed;
+    }
+
+    /**
+     * Runtime of the tenant, null when unknown
+     */
+    public T resolve(String tenantId) {
+        if (tenantId == null) {
+            return null;
+        }
+        Table<T> current = table;
+        int index = current.indexOf(tenantId);
+        return index >= 0 ? current.runtimeAt(index) : null;
+    }
+
+    public boolean contains(String tenantId) {
+        return resolve(tenantId) != null;
+    }
+
+    /**
+     * Tenant ids in registration order
+     */
+    public List<String> tenantIds() {
+        return Collections.unmodifiableList(Arrays.asList(table.ids));
+    }
+
+    public List<T> runtimes() {
+        Table<T> current = table;
+        List<T> runtimes = new ArrayList<>(current.ids.length);
+        for (int i = 0; i < current.ids.length; i++) {
+            runtimes.add(current.runtimeAt(i));
+        }
+        return runtimes;
+    }
+
+    public int size() {
+        return table.ids.length;
+    }
+
+    /**
+     * Immutable snapshot: entries in registration order plus a probe index over them
+     */
+    private static final class Table<T> {
+
+        private final String[] ids;
+        private final Object[] runtimes;
+        private final String[] probeIds;
+        private final int[] probeIndexes;
+        private final int mask;
+
+        Table(String[] ids, Object[] runtimes) {
+            this.ids = ids;
+            this.runtimes = runtimes;
+            int capacity = Integer.highestOneBit(Math.max(4, ids.length * 4) - 1) << 1;
+            this.probeIds = new String[capacity];
+            this.probeIndexes = new int[capacity];
+            this.mask = capacity - 1;
+            for (int i = 0; i < ids.length; i++) {
+                int slot = spread(ids[i].hashCode()) & mask;
+                while (probeIds[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                probeIds[slot] = ids[i];
+                probeIndexes[slot] = i;
+            }
+        }
+
+        int indexOf(String tenantId) {
+            int slot = spread(tenantId.hashCode()) & mask;
+            String candidate;
+            while ((candidate = probeIds[slot]) != null) {
+                if (candidate == tenantId || candidate.equals(tenantId)) {
+                    return probeIndexes[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        @SuppressWarnings("unchecked")
+        T runtimeAt(int index) {
+            return (T) runtimes[index];
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.company.core.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Read-through loads racing invalidations, and the size bound
+ */
+class BoundedCacheTest {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @Test
+    void invalidateWaitsForAnInFlightLoad() throws Exception {
+        BoundedCache<String, String> cache = new BoundedCache<>(100);
+        AtomicReference<String> backing = new AtomicReference<>("v1");
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // The loader reads v1, then stalls before the value is cached
+        Thread loader = start(() -> cache.get("key", key -> {
+            String value = backing.get();
+            loading.countDown();
+            await(release);
+            return value;
+        }));
+        assertTrue(loading.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+
+        backing.set("v2");
+        Thread invalidator = start(() -> cache.invalidate("key"));
+        awaitBlocked(invalidator);
+        release.countDown();
+        join(loader);
+        join(invalidator);
+
+        assertNull(cache.getIfPresent("key"));
+        assertEquals("v2", cache.get("key", key -> backing.get()));
+        assertEquals(1, cache.estimatedSize());
+    }
+
+    @Test
+    void concurrentLoadsAndInvalidationsNeverLeaveStaleValues() throws Exception {
+        BoundedCache<Integer, Long> cache = new BoundedCache<>(1000);
+        ConcurrentHashMap<Integer, Long> backing = new ConcurrentHashMap<>();
+        int keys = 16;
+        for (int k = 0; k < keys; k++) {
+            backing.put(k, 0L);
+        }
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(start(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    int key = ThreadLocalRandom.current().nextInt(keys);
+                    backing.merge(key, 1L, Long::sum);
+                    cache.invalidate(key);
+                }
+            }));
+            threads.add(start(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    cache.get(ThreadLocalRandom.current().nextInt(keys), key -> {
+                        Long value = backing.get(key);
+                        Thread.yield();
+                        return value;
+                    });
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            join(thread);
+        }
+
+        int cached = 0;
+        for (int k = 0; k < keys; k++) {
+            Long value = cache.getIfPresent(k);
+            if (value != null) {
+                assertEquals(backing.get(k), value, "key " + k);
+                cached++;
+            }
+        }
+        assertEquals(cached, cache.estimatedSize());
+    }
+
+    @Test
+    void staysWithinTheMaximumSize() {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(100);
+        for (int i = 0; i < 10_000; i++) {
+            cache.get(i, key -> key);
+            assertTrue(cache.estimatedSize() <= 100);
+        }
+        assertEquals(100, cache.estimatedSize());
+        assertEquals(9_900, cache.stats().getEvictionCount());
+    }
+
+    private static Thread start(Runnable task) {
+        Thread thread = new Thread(task);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static void join(Thread thread) throws InterruptedException {
+        thread.join(TIMEOUT_MILLIS);
+        if (thread.isAlive()) {
+            fail(thread.getName() + " did not finish");
+        }
+    }
+
+    private static void awaitBlocked(Thread thread) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (thread.getState() != Thread.State.BLOCKED && thread.getState() != Thread.State.WAITING) {
+            if (!thread.isAlive() || System.currentTimeMillis() > deadline) {
+                fail("invalidate did not wait for the load, state " + thread.getState());
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.company.core.event;
+
+import com.company.core.model.AttributeKeys;
+import com.company.core.model.BusinessContext;
+import com.company.core.processor.UniversalProcessor;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Listener dispatch of the event bus and the processor's use of it
+ */
+class BusinessEventBusTest {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @Test
+    void synchronousListenerCanSkipTheScenarioHandler() {
+        BusinessEventListener skipping = new BusinessEventListener() {
+            @Override
+            public void onEvent(BusinessEvent event) {
+                if (event.isForPhase("BEFORE_PROCESS") && "SKIP".equals(event.getContext().getBusinessType())) {
+                    event.skipDefaultAction();
+                }
+            }
+
+            @Override
+            public boolean isSynchronous() {
+                return true;
+            }
+        };
+        BusinessEventBus bus = new BusinessEventBus(Collections.singletonList(skipping));
+        bus.start();
+        try {
+            UniversalProcessor processor = new UniversalProcessor();
+            processor.setEventBus(bus);
+
+            BusinessContext skipped = new BusinessContext("order", "SKIP");
+            assertTrue(processor.processBusiness(skipped).isSuccess());
+            assertNull(skipped.getAttribute(AttributeKeys.PROCESSED_BY));
+
+            BusinessContext handled = new BusinessContext("order", "ORDER_PROCESS");
+            assertTrue(processor.processBusiness(handled).isSuccess());
+            assertEquals("order.handler", handled.getAttribute(AttributeKeys.PROCESSED_BY));
+        } finally {
+            bus.close();
+        }
+    }
+
+    @Test
+    void asynchronousListenersRunOnConsumerThreads() throws InterruptedException {
+        AtomicReference<Thread> listenerThread = new AtomicReference<>();
+        CountDownLatch called = new CountDownLatch(1);
+        BusinessEventBus bus = new BusinessEventBus(Collections.singletonList(event -> {
+            listenerThread.set(Thread.currentThread());
+            called.countDown();
+        }));
+        bus.start();
+        try {
+            assertFalse(bus.hasSynchronousListeners());
+            assertTrue(bus.publish("AFTER_PROCESS", new BusinessContext("order", "ORDER_PROCESS")));
+            assertTrue(called.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+            assertNotSame(Thread.currentThread(), listenerThread.get());
+        } finally {
+            bus.close();
+        }
+    }
+
+    @Test
+    void pooledContextReturnsToThePoolOnlyAfterAsynchronousListenersRan() throws InterruptedException {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        AtomicReference<String> seenScenario = new AtomicReference<>();
+        BusinessEventBus bus = new BusinessEventBus(Collections.singletonList(event -> {
+            entered.countDown();
+            try {
+                proceed.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            seenScenario.set(event.getContext().getScenario());
+        }));
+        bus.start();
+        try {
+            long recycled = BusinessContext.getPool().getRecycledCount();
+            BusinessContext context = BusinessContext.acquire();
+            context.setScenario("order");
+            assertTrue(context.isPooled());
+
+            assertTrue(bus.publish("AFTER_PROCESS", context));
+            context.release();
+            assertTrue(entered.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+
+            // The caller let go, but the queued event still holds the context
+            assertEquals(recycled, BusinessContext.getPool().getRecycledCount());
+            assertTrue(context.isPooled());
+
+            proceed.countDown();
+            long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+            while (BusinessContext.getPool().getRecycledCount() == recycled && System.currentTimeMillis() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals("order", seenScenario.get());
+            assertEquals(recycled + 1, BusinessContext.getPool().getRecycledCount());
+            assertFalse(context.isPooled());
+        } finally {
+            bus.close();
+        }
+    }
+
+    @Test
+    void closeDispatchesEveryAcceptedEvent() throws InterruptedException {
+        for (int round = 0; round < 20; round++) {
+            AtomicLong received = new AtomicLong();
+            BusinessEventBus bus = new BusinessEventBus(Collections.singletonList(event -> received.incrementAndGet()),
+                    EventOrdering.PER_BUSINESS, 2, 64, 16);
+            bus.start();
+
+            AtomicLong accepted = new AtomicLong();
+            AtomicBoolean stop = new AtomicBoolean();
+            List<Thread> producers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                Thread producer = new Thread(() -> {
+                    int i = 0;
+                    while (!stop.get()) {
+                        BusinessContext context = new BusinessContext("order", "ORDER_PROCESS");
+                        context.setBusinessId("B-" + i++);
+                        boolean published = (i & 1) == 0
+                                ? bus.publish("AFTER_PROCESS", context)
+                                : bus.tryPublish("AFTER_PROCESS", context);
+                        if (published) {
+                            accepted.incrementAndGet();
+                        } else if (!bus.isRunning()) {
+                            return;
+                        }
+                    }
+                });
+                producer.start();
+                producers.add(producer);
+            }
+            Thread.sleep(5);
+            bus.close();
+            stop.set(true);
+            for (Thread producer : producers) {
+                producer.join(TIMEOUT_MILLIS);
+            }
+
+            assertEquals(accepted.get(), received.get(), "round " + round);
+            assertEquals(accepted.get(), bus.getDispatchedCount());
+            assertEquals(0, bus.getPendingEvents());
+        }
+    }
+}
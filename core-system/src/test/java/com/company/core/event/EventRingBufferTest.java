@@ -0,0 +1,119 @@
+package com.company.core.event;
+
+import com.company.core.model.BusinessContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Ring buffer capacity, wrap-around and many producers against its single consumer
+ */
+class EventRingBufferTest {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertEquals(2, new EventRingBuffer(1).capacity());
+        assertEquals(8, new EventRingBuffer(5).capacity());
+        assertEquals(8, new EventRingBuffer(8).capacity());
+    }
+
+    @Test
+    void rejectsOffersWhenFullAndReusesSlotsAfterWrapping() {
+        EventRingBuffer ring = new EventRingBuffer(4);
+        BusinessContext context = new BusinessContext("order", "ORDER_PROCESS");
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(ring.offer("E" + (round * 4 + i), context), "round " + round);
+            }
+            assertFalse(ring.offer("overflow", context));
+            assertEquals(4, ring.size());
+
+            List<String> drained = new ArrayList<>();
+            assertEquals(4, ring.drain(Integer.MAX_VALUE, (phase, drainedContext) -> {
+                assertSame(context, drainedContext);
+                drained.add(phase);
+            }));
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                expected.add("E" + (round * 4 + i));
+            }
+            assertEquals(expected, drained);
+            assertEquals(0, ring.size());
+        }
+    }
+
+    @Test
+    void drainStopsAtTheRequestedCount() {
+        EventRingBuffer ring = new EventRingBuffer(8);
+        BusinessContext context = new BusinessContext("order", "ORDER_PROCESS");
+        for (int i = 0; i < 5; i++) {
+            ring.offer("E" + i, context);
+        }
+        List<String> drained = new ArrayList<>();
+
+        assertEquals(2, ring.drain(2, (phase, drainedContext) -> drained.add(phase)));
+        assertEquals(3, ring.size());
+        assertEquals(3, ring.drain(10, (phase, drainedContext) -> drained.add(phase)));
+        assertEquals(0, ring.drain(10, (phase, drainedContext) -> drained.add(phase)));
+
+        assertEquals(5, drained.size());
+        assertEquals("E4", drained.get(4));
+    }
+
+    @Test
+    void concurrentProducersLoseAndDuplicateNothing() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 20_000;
+        EventRingBuffer ring = new EventRingBuffer(64);
+        BusinessContext context = new BusinessContext("order", "ORDER_PROCESS");
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            String prefix = p + ":";
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!ring.offer(prefix + i, context)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            producer.start();
+            threads.add(producer);
+        }
+
+        // Each producer's events come out in its own order, so the next expected index detects both
+        int[] next = new int[producers];
+        AtomicBoolean outOfOrder = new AtomicBoolean();
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        int received = 0;
+        while (received < producers * perProducer && System.currentTimeMillis() < deadline) {
+            received += ring.drain(32, (phase, drainedContext) -> {
+                int separator = phase.indexOf(':');
+                int producer = Integer.parseInt(phase.substring(0, separator));
+                int index = Integer.parseInt(phase.substring(separator + 1));
+                if (next[producer]++ != index) {
+                    outOfOrder.set(true);
+                }
+            });
+        }
+        for (Thread producer : threads) {
+            producer.join(TIMEOUT_MILLIS);
+        }
+
+        assertEquals(producers * perProducer, received);
+        assertFalse(outOfOrder.get());
+        for (int p = 0; p < producers; p++) {
+            assertEquals(perProducer, next[p], "producer " + p);
+        }
+        assertEquals(0, ring.size());
+    }
+}
@@ -0,0 +1,69 @@
+package com.company.core.metrics;
+
+import com.company.core.model.BusinessContext;
+import com.company.core.processor.UniversalProcessor;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Metrics keys stay bounded whatever tenant and scenario ids requests carry
+ */
+class ProcessingMetricsTest {
+
+    @Test
+    void unknownTenantsAndScenariosShareTheOtherEntry() {
+        ProcessingMetrics metrics = new ProcessingMetrics(Arrays.asList("order", "medical"),
+                Collections.singleton("tenant1"));
+
+        ScenarioMetrics other = metrics.forScenario("tenant1", "scenario-0");
+        for (int i = 1; i < 1000; i++) {
+            assertSame(other, metrics.forScenario("tenant1", "scenario-" + i));
+        }
+        assertSame(other, metrics.forScenario("tenant1", null));
+        assertSame(metrics.forScenario("intruder", "order"), metrics.forScenario(null, "order"));
+        assertNotSame(other, metrics.forScenario("tenant1", "order"));
+
+        Map<String, Object> snapshot = metrics.snapshot();
+        assertEquals(new TreeSet<>(Arrays.asList("tenant1", ProcessingMetrics.OTHER)), snapshot.keySet());
+        assertEquals(new TreeSet<>(Arrays.asList("order", ProcessingMetrics.OTHER)), scenarios(snapshot, "tenant1"));
+    }
+
+    @Test
+    void processorRecordsOnlyRegisteredScenariosOfItsTenant() {
+        UniversalProcessor processor = new UniversalProcessor();
+        processor.setTenantId("tenant1");
+
+        for (int i = 0; i < 100; i++) {
+            processor.processBusiness(context("tenant1", "random-" + i));
+            processor.processBusiness(context("tenant-" + i, "order"));
+        }
+        processor.processBusiness(context("tenant1", "order"));
+        processor.processBusiness(context("tenant1", null));
+
+        Map<String, Object> snapshot = processor.getMetrics().snapshot();
+        assertEquals(new TreeSet<>(Arrays.asList("tenant1", ProcessingMetrics.OTHER)), snapshot.keySet());
+        assertEquals(new TreeSet<>(Arrays.asList("order", ProcessingMetrics.OTHER)), scenarios(snapshot, "tenant1"));
+        assertEquals(101, processor.getMetrics().forScenario("tenant1", "unregistered").getRequestCount());
+        assertEquals(1, processor.getMetrics().forScenario("tenant1", "order").getRequestCount());
+    }
+
+    private static BusinessContext context(String tenantId, String scenario) {
+        BusinessContext context = new BusinessContext(scenario, "TEST");
+        context.setTenantId(tenantId);
+        return context;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<String> scenarios(Map<String, Object> snapshot, String tenantId) {
+        return ((Map<String, Object>) snapshot.get(tenantId)).keySet();
+    }
+}
@@ -0,0 +1,129 @@
+package com.company.core.notification;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Window expiry, the entry bound and deletion from the open-addressing table; time is passed
+ * in explicitly, a 400 ms window makes buckets of 100 ms
+ */
+class NotificationDeduplicatorTest {
+
+    private static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(400);
+
+    private final NotificationDeduplicator deduplicator = new NotificationDeduplicator(WINDOW_NANOS, 8);
+    private final long start = System.nanoTime();
+
+    @Test
+    void repeatWithinTheWindowIsSuppressed() {
+        assertTrue(deduplicator.firstSeen(sms("user-1", "hello"), at(0)));
+
+        assertFalse(deduplicator.firstSeen(sms("user-1", "hello"), at(10)));
+        assertFalse(deduplicator.firstSeen(sms("user-1", "hello"), at(390)));
+        assertTrue(deduplicator.firstSeen(sms("user-2", "hello"), at(390)));
+        assertTrue(deduplicator.firstSeen(sms("user-1", "hello again"), at(390)));
+    }
+
+    @Test
+    void repeatAfterTheWindowIsSentAgain() {
+        assertTrue(deduplicator.firstSeen(sms("user-1", "hello"), at(0)));
+
+        assertTrue(deduplicator.firstSeen(sms("user-1", "hello"), at(600)));
+        assertFalse(deduplicator.firstSeen(sms("user-1", "hello"), at(610)));
+    }
+
+    @Test
+    void advancingToANewBucketSweepsOnlyExpiredEntries() {
+        deduplicator.firstSeen(sms("user-1", "early"), at(0));
+        deduplicator.firstSeen(sms("user-2", "late"), at(300));
+        assertEquals(2, deduplicator.size());
+
+        assertTrue(deduplicator.firstSeen(sms("user-3", "trigger"), at(600)));
+
+        assertEquals(2, deduplicator.size());
+        assertFalse(deduplicator.firstSeen(sms("user-2", "late"), at(600)));
+        assertTrue(deduplicator.firstSeen(sms("user-1", "early"), at(600)));
+    }
+
+    @Test
+    void fullTableLetsNotificationsThroughUnrecorded() {
+        NotificationDeduplicator bounded = new NotificationDeduplicator(WINDOW_NANOS, 2);
+        long now = System.nanoTime();
+        bounded.firstSeen(sms("user-1", "a"), now);
+        bounded.firstSeen(sms("user-2", "b"), now);
+
+        assertTrue(bounded.firstSeen(sms("user-3", "c"), now));
+        assertTrue(bounded.firstSeen(sms("user-3", "c"), now));
+
+        assertEquals(2, bounded.getUntracked());
+        assertEquals(2, bounded.size());
+        assertFalse(bounded.firstSeen(sms("user-1", "a"), now));
+    }
+
+    @Test
+    void forgottenNotificationCanBeSentAgain() {
+        Notification notification = sms("user-1", "hello");
+        deduplicator.firstSeen(notification, at(0));
+
+        deduplicator.forget(notification);
+
+        assertEquals(0, deduplicator.size());
+        assertTrue(deduplicator.firstSeen(notification, at(10)));
+        assertFalse(deduplicator.firstSeen(notification, at(20)));
+    }
+
+    @Test
+    void deletingFromTheMiddleOfAProbeRunKeepsTheRestReachable() {
+        // Three fingerprints homed at the last slot, so their run wraps around the table end
+        List<Notification> colliding = collidingAt(15, 3);
+        for (Notification notification : colliding) {
+            assertTrue(deduplicator.firstSeen(notification, at(0)));
+        }
+
+        deduplicator.forget(colliding.get(1));
+
+        assertEquals(2, deduplicator.size());
+        assertFalse(deduplicator.firstSeen(colliding.get(0), at(0)));
+        assertFalse(deduplicator.firstSeen(colliding.get(2), at(0)));
+
+        deduplicator.forget(colliding.get(0));
+        assertFalse(deduplicator.firstSeen(colliding.get(2), at(0)));
+        assertTrue(deduplicator.firstSeen(colliding.get(1), at(0)));
+        assertTrue(deduplicator.firstSeen(colliding.get(0), at(0)));
+        assertEquals(3, deduplicator.size());
+    }
+
+    @Test
+    void rejectsNonPositiveWindowOrBound() {
+        assertThrows(IllegalArgumentException.class, () -> new NotificationDeduplicator(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new NotificationDeduplicator(WINDOW_NANOS, 0));
+    }
+
+    private long at(long millis) {
+        return start + TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    // Eight tracked entries size the table at 16 slots
+    private static List<Notification> collidingAt(int home, int count) {
+        List<Notification> colliding = new ArrayList<>();
+        for (int i = 0; colliding.size() < count; i++) {
+            Notification notification = sms("user-1", "message " + i);
+            if (((int) NotificationDeduplicator.fingerprint(notification) & 15) == home) {
+                colliding.add(notification);
+            }
+        }
+        return colliding;
+    }
+
+    private static Notification sms(String userId, String message) {
+        return new Notification(NotificationChannel.SMS, "tenant1", userId, "13800000000", message);
+    }
+}
@@ -0,0 +1,402 @@
+package com.company.core.notification;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Batching, retries, shutdown and statistics of the notification outbox
+ */
+class NotificationOutboxTest {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @TempDir
+    Path directory;
+
+    private final RecordingTransport transport = new RecordingTransport();
+    private NotificationOutbox outbox;
+
+    @AfterEach
+    void closeOutbox() {
+        if (outbox != null) {
+            outbox.close();
+        }
+    }
+
+    @Test
+    void lingersForTheBatchToFill() throws InterruptedException {
+        outbox = start(new NotificationOutbox(transport, transport, 100, 10, 200));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            assertTrue(outbox.enqueue(email("user-" + i, "message")));
+        }
+        awaitSent(3);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMillis >= 200, "sent after " + elapsedMillis + " ms");
+        assertEquals(1, transport.batches().size());
+        assertEquals(3, transport.batches().get(0).size());
+    }
+
+    @Test
+    void fullBatchIsSentWithoutWaitingForTheLinger() throws InterruptedException {
+        outbox = start(new NotificationOutbox(transport, transport, 100, 5, TimeUnit.SECONDS.toMillis(30)));
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(outbox.enqueue(email("user-" + i, "message")));
+        }
+        awaitSent(10);
+
+        for (List<Notification> batch : transport.batches()) {
+            assertEquals(5, batch.size());
+        }
+        assertEquals(2, outbox.getStats(NotificationChannel.EMAIL).getBatches());
+    }
+
+    @Test
+    void failedBatchIsRetriedBeforeItCountsAsFailed() throws InterruptedException {
+        outbox = start(new NotificationOutbox(transport, transport, 100, 10, 0));
+
+        transport.failNext(2);
+        outbox.enqueue(email("user-1", "retried"));
+        awaitSent(1);
+        assertEquals(3, transport.attempts());
+        assertEquals(0, outbox.getStats(NotificationChannel.EMAIL).getFailed());
+
+        transport.failNext(3);
+        outbox.enqueue(email("user-2", "given up"));
+        transport.awaitAttempts(6);
+        awaitStat(() -> outbox.getStats(NotificationChannel.EMAIL).getFailed() == 1);
+
+        NotificationOutbox.ChannelStats stats = outbox.getStats(NotificationChannel.EMAIL);
+        assertEquals(1, stats.getSent());
+        assertEquals(1, stats.getFailed());
+        assertEquals(Collections.singletonList("retried"), messages(transport.sent()));
+    }
+
+    @Test
+    void closeDeliversTheQueueInOrder() throws InterruptedException {
+        outbox = start(new NotificationOutbox(transport, transport, 100, 4, 0));
+        transport.hold();
+        outbox.enqueue(email("user-0", "message 0"));
+        transport.awaitAttempts(1);
+        for (int i = 1; i <= 20; i++) {
+            outbox.enqueue(email("user-" + i, "message " + i));
+        }
+
+        Thread closer = new Thread(outbox::close);
+        closer.start();
+        Thread.sleep(50);
+        transport.resume();
+        closer.join(TIMEOUT_MILLIS);
+
+        assertFalse(outbox.isRunning());
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i <= 20; i++) {
+            expected.add("message " + i);
+        }
+        assertEquals(expected, messages(transport.sent()));
+        assertEquals(0, outbox.getQueueDepth(NotificationChannel.EMAIL));
+        assertFalse(outbox.enqueue(email("user-late", "after close")));
+        assertEquals(1, outbox.getStats(NotificationChannel.EMAIL).getDropped());
+    }
+
+    @Test
+    void reportsQueueDepthAndEndToEndLatency() throws InterruptedException {
+        outbox = start(new NotificationOutbox(transport, transport, 100, 1, 0));
+        transport.hold();
+        outbox.enqueue(email("user-0", "first"));
+        transport.awaitAttempts(1);
+        for (int i = 1; i <= 7; i++) {
+            outbox.enqueue(email("user-" + i, "queued"));
+        }
+        assertEquals(7, outbox.getQueueDepth(NotificationChannel.EMAIL));
+        assertEquals(7, outbox.getStats(NotificationChannel.EMAIL).getQueueDepth());
+        assertEquals(0, outbox.getQueueDepth(NotificationChannel.SMS));
+
+        Thread.sleep(50);
+        transport.resume();
+        awaitSent(8);
+
+        NotificationOutbox.ChannelStats stats = outbox.getStats(NotificationChannel.EMAIL);
+        assertEquals(8, stats.getEnqueued());
+        assertEquals(8, stats.getSent());
+        assertEquals(8, stats.getBatches());
+        assertEquals(0, stats.getQueueDepth());
+        assertEquals(8, stats.getLatency().getCount());
+        assertTrue(stats.getLatency().getMaxNanos() >= TimeUnit.MILLISECONDS.toNanos(50),
+                "max latency " + stats.getLatency().getMaxNanos());
+    }
+
+    @Test
+    void coalescesNotificationsToTheSameRecipientWithinABatch() throws InterruptedException {
+        outbox = start(new NotificationOutbox(transport, transport, 100, 10, 200).withCoalescing(60_000, 100));
+
+        assertTrue(outbox.enqueue(email("user-1", "order shipped")));
+        assertTrue(outbox.enqueue(email("user-2", "order paid")));
+        assertTrue(outbox.enqueue(email("user-1", "order shipped")));
+        assertTrue(outbox.enqueue(email("user-1", "invoice ready")));
+        awaitSent(2);
+
+        assertEquals(1, transport.batches().size());
+        assertEquals(Arrays.asList("order shipped\ninvoice ready", "order paid"), messages(transport.sent()));
+        NotificationOutbox.ChannelStats stats = outbox.getStats(NotificationChannel.EMAIL);
+        assertEquals(1, stats.getDeduplicated());
+        assertEquals(1, stats.getCoalesced());
+        assertEquals(3, stats.getEnqueued());
+    }
+
+    @Test
+    void blockGivesUpAfterTheTimeout() throws InterruptedException {
+        outbox = start(new NotificationOutbox(transport, transport, 1, 1, 0)
+                .withOverflowPolicy(OverflowPolicy.BLOCK, 100, null));
+        fillWhileHeld(1);
+
+        long start = System.nanoTime();
+        assertFalse(outbox.enqueue(email("user-late", "blocked")));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMillis >= 100, "gave up after " + elapsedMillis + " ms");
+        assertEquals(1, outbox.getStats(NotificationChannel.EMAIL).getDropped());
+        transport.resume();
+        awaitSent(2);
+        assertEquals(Arrays.asList("message 0", "message 1"), messages(transport.sent()));
+    }
+
+    @Test
+    void dropOldestCountsEveryEvictedNotification() throws InterruptedException {
+        outbox = start(new NotificationOutbox(transport, transport, 2, 1, 0)
+                .withOverflowPolicy(OverflowPolicy.DROP_OLDEST, 0, null));
+        fillWhileHeld(2);
+
+        for (int i = 3; i <= 5; i++) {
+            assertTrue(outbox.enqueue(email("user-" + i, "message " + i)));
+        }
+        NotificationOutbox.ChannelStats stats = outbox.getStats(NotificationChannel.EMAIL);
+        assertEquals(3, stats.getDropped());
+        assertEquals(6, stats.getEnqueued());
+
+        transport.resume();
+        awaitSent(3);
+        assertEquals(Arrays.asList("message 0", "message 4", "message 5"), messages(transport.sent()));
+    }
+
+    @Test
+    void spilledNotificationsFollowTheQueueInOrder() throws InterruptedException {
+        outbox = start(new NotificationOutbox(transport, transport, 2, 1, 0)
+                .withOverflowPolicy(OverflowPolicy.SPILL_TO_DISK, 0, directory));
+        fillWhileHeld(2);
+
+        for (int i = 3; i <= 7; i++) {
+            assertTrue(outbox.enqueue(email("user-" + i, "message " + i)));
+        }
+        assertEquals(5, outbox.getStats(NotificationChannel.EMAIL).getSpilled());
+        assertEquals(5, outbox.getStats(NotificationChannel.EMAIL).getSpillPending());
+
+        transport.resume();
+        awaitSent(8);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i <= 7; i++) {
+            expected.add("message " + i);
+        }
+        assertEquals(expected, messages(transport.sent()));
+        assertEquals(0, outbox.getStats(NotificationChannel.EMAIL).getDropped());
+        assertEquals(0, outbox.getStats(NotificationChannel.EMAIL).getSpillPending());
+    }
+
+    @Test
+    void spilledNotificationsAreReplayedAfterRestart() throws InterruptedException {
+        outbox = start(new NotificationOutbox(transport, transport, 2, 1, 0)
+                .withOverflowPolicy(OverflowPolicy.SPILL_TO_DISK, 0, directory));
+        fillWhileHeld(2);
+        for (int i = 3; i <= 5; i++) {
+            outbox.enqueue(email("user-" + i, "message " + i));
+        }
+
+        // Resume only once closing, so the dispatcher leaves the spill file for the next start
+        Thread closer = new Thread(outbox::close);
+        closer.start();
+        awaitStat(() -> !outbox.isRunning());
+        transport.resume();
+        closer.join(TIMEOUT_MILLIS);
+        assertEquals(Arrays.asList("message 0", "message 1", "message 2"), messages(transport.sent()));
+
+        RecordingTransport restarted = new RecordingTransport();
+        outbox = start(new NotificationOutbox(restarted, restarted, 2, 1, 0)
+                .withOverflowPolicy(OverflowPolicy.SPILL_TO_DISK, 0, directory));
+        outbox.enqueue(email("user-6", "message 6"));
+        awaitStat(() -> restarted.sentCount() >= 4);
+
+        assertEquals(Arrays.asList("message 3", "message 4", "message 5", "message 6"), messages(restarted.sent()));
+    }
+
+    @Test
+    void closeDeliversEveryAcceptedNotification() throws InterruptedException {
+        for (int round = 0; round < 20; round++) {
+            RecordingTransport roundTransport = new RecordingTransport();
+            NotificationOutbox roundOutbox = new NotificationOutbox(roundTransport, roundTransport, 64, 8, 0);
+            roundOutbox.start();
+
+            AtomicLong accepted = new AtomicLong();
+            AtomicBoolean stop = new AtomicBoolean();
+            List<Thread> producers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int producerId = t;
+                Thread producer = new Thread(() -> {
+                    int i = 0;
+                    while (!stop.get()) {
+                        if (roundOutbox.enqueue(email("user-" + producerId, "message " + i++))) {
+                            accepted.incrementAndGet();
+                        } else if (!roundOutbox.isRunning()) {
+                            return;
+                        }
+                    }
+                });
+                producer.start();
+                producers.add(producer);
+            }
+            Thread.sleep(5);
+            roundOutbox.close();
+            stop.set(true);
+            for (Thread producer : producers) {
+                producer.join(TIMEOUT_MILLIS);
+            }
+
+            NotificationOutbox.ChannelStats stats = roundOutbox.getStats(NotificationChannel.EMAIL);
+            assertEquals(accepted.get(), roundTransport.sentCount(), "round " + round);
+            assertEquals(stats.getEnqueued(), stats.getSent(), "round " + round);
+            assertEquals(0, stats.getQueueDepth());
+        }
+    }
+
+    private static NotificationOutbox start(NotificationOutbox outbox) {
+        outbox.start();
+        return outbox;
+    }
+
+    // Holds the transport on "message 0" and fills the queue behind it with the following messages
+    private void fillWhileHeld(int queued) throws InterruptedException {
+        transport.hold();
+        assertTrue(outbox.enqueue(email("user-0", "message 0")));
+        transport.awaitAttempts(1);
+        for (int i = 1; i <= queued; i++) {
+            assertTrue(outbox.enqueue(email("user-" + i, "message " + i)));
+        }
+        assertEquals(queued, outbox.getQueueDepth(NotificationChannel.EMAIL));
+    }
+
+    private void awaitSent(long count) throws InterruptedException {
+        awaitStat(() -> transport.sentCount() >= count);
+    }
+
+    static void awaitStat(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("condition not reached within " + TIMEOUT_MILLIS + " ms");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    static List<String> messages(List<Notification> notifications) {
+        List<String> messages = new ArrayList<>();
+        for (Notification notification : notifications) {
+            messages.add(notification.getMessage());
+        }
+        return messages;
+    }
+
+    static Notification email(String userId, String message) {
+        return new Notification(NotificationChannel.EMAIL, "tenant1", userId, userId + "@example.com", message);
+    }
+
+    /**
+     * Records every batch; the next {@code failures} sends throw, and sends wait while held
+     */
+    static final class RecordingTransport implements EmailTransport, SmsTransport {
+
+        private final List<List<Notification>> batches = new ArrayList<>();
+        private volatile CountDownLatch gate;
+        private int failures;
+        private int attempts;
+
+        @Override
+        public void send(List<Notification> batch) throws InterruptedException {
+            synchronized (this) {
+                attempts++;
+                notifyAll();
+            }
+            CountDownLatch held = gate;
+            if (held != null) {
+                held.await();
+            }
+            synchronized (this) {
+                if (failures > 0) {
+                    failures--;
+                    throw new IllegalStateException("provider unavailable");
+                }
+                batches.add(new ArrayList<>(batch));
+            }
+        }
+
+        void hold() {
+            gate = new CountDownLatch(1);
+        }
+
+        void resume() {
+            gate.countDown();
+        }
+
+        synchronized void failNext(int count) {
+            failures = count;
+        }
+
+        synchronized int attempts() {
+            return attempts;
+        }
+
+        synchronized void awaitAttempts(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+            while (attempts < count) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    fail("expected " + count + " send attempts, saw " + attempts);
+                }
+                wait(remaining);
+            }
+        }
+
+        synchronized List<List<Notification>> batches() {
+            return new ArrayList<>(batches);
+        }
+
+        synchronized List<Notification> sent() {
+            List<Notification> sent = new ArrayList<>();
+            batches.forEach(sent::addAll);
+            return sent;
+        }
+
+        synchronized long sentCount() {
+            return batches.stream().mapToLong(List::size).sum();
+        }
+    }
+}
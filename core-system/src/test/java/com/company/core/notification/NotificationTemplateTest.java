@@ -0,0 +1,64 @@
+package com.company.core.notification;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Placeholder parsing, brace escapes and rejected templates
+ */
+class NotificationTemplateTest {
+
+    @Test
+    void rendersArgumentsByDeclaredVariable() {
+        NotificationTemplate template = NotificationTemplate.compile("shipped",
+                "Order { orderId } for {name}: {orderId} shipped", "name", "orderId");
+
+        assertEquals("Order O-1 for Alice: O-1 shipped", template.render("Alice", "O-1"));
+        assertEquals("Order 42 for : 42 shipped", template.render(null, 42L));
+    }
+
+    @Test
+    void doubledBracesAreLiteral() {
+        NotificationTemplate template = NotificationTemplate.compile("escaped", "{{literal}} {{{name}}} }}", "name");
+
+        assertEquals("{literal} {Alice} }", template.render("Alice"));
+    }
+
+    @Test
+    void rejectsUnknownVariable() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> NotificationTemplate.compile("paid", "Order {orderId} paid by {user}", "orderId"));
+
+        assertTrue(e.getMessage().contains("{user}"), e.getMessage());
+    }
+
+    @Test
+    void rejectsUnbalancedBraces() {
+        assertThrows(IllegalArgumentException.class,
+                () -> NotificationTemplate.compile("closing", "Order {orderId} } paid", "orderId"));
+        assertThrows(IllegalArgumentException.class,
+                () -> NotificationTemplate.compile("opening", "Order {orderId paid", "orderId"));
+        assertThrows(IllegalArgumentException.class, () -> NotificationTemplate.compile("empty", null));
+    }
+
+    @Test
+    void rejectsMissingArguments() {
+        NotificationTemplate template = NotificationTemplate.compile("shipped", "{name}: {orderId}", "name", "orderId");
+
+        assertThrows(IllegalArgumentException.class, () -> template.render("Alice"));
+    }
+
+    @Test
+    void renderToAppendsToTheCallersBuffer() {
+        NotificationTemplate template = NotificationTemplate.compile("line", "- {item}", "item");
+        StringBuilder out = new StringBuilder("Items:\n");
+
+        template.renderTo(out, "book").append('\n');
+        template.renderTo(out, 3);
+
+        assertEquals("Items:\n- book\n- 3", out.toString());
+    }
+}
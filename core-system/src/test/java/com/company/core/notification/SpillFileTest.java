@@ -0,0 +1,127 @@
+package com.company.core.notification;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Spill file ordering, replay of a file left by a previous run and a torn record at its end
+ */
+class SpillFileTest {
+
+    @TempDir
+    Path directory;
+
+    private SpillFile spill;
+
+    @AfterEach
+    void closeSpill() throws IOException {
+        if (spill != null) {
+            spill.close();
+        }
+    }
+
+    @Test
+    void readsRecordsInTheOrderTheyWereAppended() throws IOException {
+        spill = new SpillFile(directory.resolve("outbox.spill"));
+        for (int i = 0; i < 5; i++) {
+            spill.append(sms(i));
+        }
+        assertEquals(5, spill.getPending());
+
+        List<Notification> out = new ArrayList<>();
+        assertEquals(2, spill.read(2, out));
+        assertEquals(3, spill.getPending());
+        assertEquals(3, spill.read(10, out));
+
+        assertEquals(Arrays.asList("message 0", "message 1", "message 2", "message 3", "message 4"),
+                NotificationOutboxTest.messages(out));
+        assertEquals(NotificationChannel.SMS, out.get(0).getChannel());
+        assertEquals("tenant1", out.get(0).getTenantId());
+        assertEquals("user-0", out.get(0).getUserId());
+        assertEquals("13800000000", out.get(0).getRecipient());
+        assertFalse(spill.hasPending());
+        assertEquals(0, Files.size(spill.getPath()));
+    }
+
+    @Test
+    void replaysOnlyUnreadRecordsAfterRestart() throws IOException {
+        Path path = directory.resolve("outbox.spill");
+        spill = new SpillFile(path);
+        for (int i = 0; i < 4; i++) {
+            spill.append(sms(i));
+        }
+        spill.read(1, new ArrayList<>());
+        spill.close();
+
+        spill = new SpillFile(path);
+        assertTrue(spill.hasPending());
+        assertEquals(-1, spill.getPending());
+        List<Notification> out = new ArrayList<>();
+        spill.read(10, out);
+
+        assertEquals(Arrays.asList("message 1", "message 2", "message 3"), NotificationOutboxTest.messages(out));
+        assertFalse(spill.hasPending());
+    }
+
+    @Test
+    void discardsATornRecordAtTheEnd() throws IOException {
+        Path path = directory.resolve("outbox.spill");
+        spill = new SpillFile(path);
+        spill.append(sms(0));
+        spill.append(sms(1));
+        spill.close();
+        spill = null;
+        // A crash mid-append: the length promises more bytes than reached the disk
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer torn = ByteBuffer.allocate(Integer.BYTES + 3);
+            torn.putInt(64).put((byte) 1).put((byte) 0).put((byte) 0).flip();
+            file.write(torn);
+        }
+
+        spill = new SpillFile(path);
+        List<Notification> out = new ArrayList<>();
+        spill.read(10, out);
+
+        assertEquals(Arrays.asList("message 0", "message 1"), NotificationOutboxTest.messages(out));
+        assertFalse(spill.hasPending());
+        assertEquals(0, Files.size(path));
+    }
+
+    @Test
+    void discardsATornLengthPrefix() throws IOException {
+        Path path = directory.resolve("outbox.spill");
+        spill = new SpillFile(path);
+        spill.append(sms(0));
+        spill.close();
+        spill = null;
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            file.write(ByteBuffer.wrap(new byte[] {0, 0}));
+        }
+
+        spill = new SpillFile(path);
+        List<Notification> out = new ArrayList<>();
+        spill.read(10, out);
+
+        assertEquals(Arrays.asList("message 0"), NotificationOutboxTest.messages(out));
+        assertFalse(spill.hasPending());
+    }
+
+    private static Notification sms(int i) {
+        return new Notification(NotificationChannel.SMS, "tenant1", "user-" + i, "13800000000", "message " + i);
+    }
+}
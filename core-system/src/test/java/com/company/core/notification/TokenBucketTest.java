@@ -0,0 +1,69 @@
+package com.company.core.notification;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Token bucket at its burst edge; one permit a second, so no refill lands while a test runs
+ */
+class TokenBucketTest {
+
+    private static final int BURST = 3;
+
+    private final TokenBucket bucket = new TokenBucket(1, BURST);
+
+    @Test
+    void startsFullAndStopsAtTheBurst() {
+        for (int i = 0; i < BURST; i++) {
+            assertTrue(bucket.tryAcquire(1), "permit " + i);
+        }
+        assertFalse(bucket.tryAcquire(1));
+    }
+
+    @Test
+    void requestLargerThanTheBurstIsNeverGranted() {
+        assertFalse(bucket.tryAcquire(BURST + 1));
+        // The failed attempt took nothing
+        assertTrue(bucket.tryAcquire(BURST));
+    }
+
+    @Test
+    void reserveWaitsOneIntervalPerPermitPastTheBurst() {
+        assertEquals(0, bucket.reserve(BURST));
+
+        long wait = bucket.reserve(1);
+        assertTrue(wait > TimeUnit.MILLISECONDS.toNanos(900) && wait <= TimeUnit.SECONDS.toNanos(1), "wait " + wait);
+        long second = bucket.reserve(2);
+        assertTrue(second > TimeUnit.MILLISECONDS.toNanos(2900) && second <= TimeUnit.SECONDS.toNanos(3), "wait " + second);
+        assertFalse(bucket.tryAcquire(1));
+    }
+
+    @Test
+    void releasedPermitsCanBeTakenAgain() {
+        assertTrue(bucket.tryAcquire(BURST));
+        bucket.release(1);
+
+        assertTrue(bucket.tryAcquire(1));
+        assertFalse(bucket.tryAcquire(1));
+    }
+
+    @Test
+    void releaseNeverRaisesTheBucketPastItsBurst() {
+        bucket.release(BURST * 2);
+
+        assertTrue(bucket.tryAcquire(BURST));
+        assertFalse(bucket.tryAcquire(1));
+    }
+
+    @Test
+    void rejectsNonPositiveRateOrBurst() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0));
+    }
+}
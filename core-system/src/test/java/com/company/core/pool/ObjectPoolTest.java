@@ -0,0 +1,161 @@
+package com.company.core.pool;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Per-thread stacks, the shared queue and objects moving between threads
+ */
+class ObjectPoolTest {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    private final AtomicInteger resets = new AtomicInteger();
+
+    @Test
+    void recycledObjectIsReusedOnTheSameThread() {
+        ObjectPool<Item> pool = pool(4, 4);
+        Item first = pool.acquire();
+        first.value = 42;
+
+        pool.recycle(first);
+        Item second = pool.acquire();
+
+        assertSame(first, second);
+        assertEquals(0, second.value);
+        assertEquals(1, resets.get());
+        assertEquals(1, pool.getCreatedCount());
+    }
+
+    @Test
+    void objectRecycledOnANonAcquiringThreadReachesTheSharedQueue() throws InterruptedException {
+        ObjectPool<Item> pool = pool(4, 4);
+        Item item = pool.acquire();
+
+        Thread recycler = new Thread(() -> pool.recycle(item));
+        recycler.start();
+        recycler.join(TIMEOUT_MILLIS);
+
+        assertSame(item, pool.acquire());
+        assertEquals(1, pool.getCreatedCount());
+        assertEquals(0, pool.getDroppedCount());
+    }
+
+    @Test
+    void overflowGoesToTheSharedQueueThenIsDropped() {
+        ObjectPool<Item> pool = pool(1, 1);
+        Item first = pool.acquire();
+        Item second = pool.acquire();
+        Item third = pool.acquire();
+
+        pool.recycle(first);
+        pool.recycle(second);
+        pool.recycle(third);
+
+        assertEquals(3, pool.getRecycledCount());
+        assertEquals(1, pool.getDroppedCount());
+        // Local stack first, then the shared queue, then a new object
+        assertSame(first, pool.acquire());
+        assertSame(second, pool.acquire());
+        Item created = pool.acquire();
+        assertNotSame(third, created);
+        assertEquals(4, pool.getCreatedCount());
+    }
+
+    @Test
+    void objectsHandedBetweenThreadsAreNeverHeldTwice() throws InterruptedException {
+        int threads = 4;
+        int perThread = 20_000;
+        int handoffCapacity = 64;
+        ObjectPool<Item> pool = pool(8, 1024);
+        BlockingQueue<Item> handoff = new ArrayBlockingQueue<>(handoffCapacity);
+        AtomicBoolean heldTwice = new AtomicBoolean();
+
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            // Acquirers also recycle every other object themselves, the rest is recycled by a consumer
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    Item item = pool.acquire();
+                    if (!item.inUse.compareAndSet(false, true)) {
+                        heldTwice.set(true);
+                    }
+                    if ((i & 1) == 0) {
+                        item.inUse.set(false);
+                        pool.recycle(item);
+                    } else {
+                        putUninterruptibly(handoff, item);
+                    }
+                }
+            }));
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < perThread / 2; i++) {
+                    Item item = takeUninterruptibly(handoff);
+                    item.inUse.set(false);
+                    pool.recycle(item);
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join(TIMEOUT_MILLIS);
+            assertFalse(worker.isAlive());
+        }
+
+        assertFalse(heldTwice.get());
+        assertEquals(threads * perThread, pool.getRecycledCount());
+        assertEquals(0, pool.getDroppedCount());
+        // Outstanding objects never exceed the handoff queue plus one held per thread and local stacks
+        long bound = handoffCapacity + 2L * threads + 8L * threads;
+        assertTrue(pool.getCreatedCount() <= bound, "created " + pool.getCreatedCount());
+    }
+
+    private ObjectPool<Item> pool(int localCapacity, int sharedCapacity) {
+        return new ObjectPool<>(Item::new, item -> {
+            resets.incrementAndGet();
+            item.value = 0;
+        }, localCapacity, sharedCapacity);
+    }
+
+    private static void putUninterruptibly(BlockingQueue<Item> queue, Item item) {
+        try {
+            if (!queue.offer(item, TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("handoff queue stuck");
+            }
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Item takeUninterruptibly(BlockingQueue<Item> queue) {
+        try {
+            Item item = queue.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            if (item == null) {
+                throw new IllegalStateException("handoff queue empty");
+            }
+            return item;
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Item {
+        final AtomicBoolean inUse = new AtomicBoolean();
+        int value;
+    }
+}
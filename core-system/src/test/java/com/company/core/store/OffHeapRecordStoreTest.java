@@ -0,0 +1,142 @@
+package com.company.core.store;
+
+import com.company.core.model.Order;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Key table and arena of the off-heap store: deletes across table resizes and compaction
+ * running while an iteration is in progress
+ */
+class OffHeapRecordStoreTest {
+
+    private static final int CHUNK_SIZE = 4096;
+    private static final int RECORDS = 400;
+
+    private final OffHeapRecordStore<Order> store = new OffHeapRecordStore<>(new OrderCodec(), CHUNK_SIZE);
+
+    @Test
+    void deletedKeysCanBeReinsertedAcrossResizes() {
+        for (int i = 0; i < 700; i++) {
+            put(i, i);
+        }
+        for (int i = 0; i < 700; i += 2) {
+            assertEquals(BigDecimal.valueOf(i), store.remove(id(i)).getAmount());
+            assertNull(store.get(id(i)));
+        }
+        // Grows the table past its initial capacity while the removed keys are absent
+        for (int i = 700; i < 1500; i++) {
+            put(i, i);
+        }
+        for (int i = 0; i < 700; i += 2) {
+            assertNull(store.get(id(i)));
+            put(i, i + 10_000);
+        }
+
+        assertEquals(1500, store.size());
+        for (int i = 0; i < 1500; i++) {
+            long expected = i < 700 && i % 2 == 0 ? i + 10_000 : i;
+            assertEquals(BigDecimal.valueOf(expected), store.get(id(i)).getAmount(), id(i));
+        }
+
+        for (int i = 1; i < 1500; i += 2) {
+            store.remove(id(i));
+        }
+        assertEquals(750, store.size());
+        for (int i = 0; i < 1500; i++) {
+            assertEquals(i % 2 == 0, store.containsKey(id(i)), id(i));
+        }
+    }
+
+    @Test
+    void iterationKeepsItsSnapshotWhileChunksAreEvacuated() {
+        fillWithGarbage();
+        long garbage = store.getGarbageBytes();
+        Iterator<Order> iterator = store.iterator();
+        Map<String, BigDecimal> seen = consume(iterator, RECORDS / 4);
+
+        long visited;
+        int i = 0;
+        do {
+            visited = store.evacuate(1024);
+            put(i % RECORDS, -1);
+            i++;
+        } while (visited >= 0);
+        seen.putAll(consume(iterator, Integer.MAX_VALUE));
+
+        assertSnapshot(seen);
+        assertTrue(store.getCompactionCount() > 0);
+        assertTrue(store.getGarbageBytes() < garbage);
+        assertLatest(i);
+    }
+
+    @Test
+    void iterationKeepsItsSnapshotAcrossAFullCompaction() {
+        fillWithGarbage();
+        Iterator<Order> iterator = store.iterator();
+        Map<String, BigDecimal> seen = consume(iterator, RECORDS / 4);
+
+        store.compact();
+        for (int i = 0; i < RECORDS; i++) {
+            put(i, -1);
+        }
+        store.compact();
+        seen.putAll(consume(iterator, Integer.MAX_VALUE));
+
+        assertSnapshot(seen);
+        assertEquals(0, store.getGarbageBytes());
+        assertLatest(RECORDS);
+    }
+
+    // Every key written three times, so most of the arena is superseded versions
+    private void fillWithGarbage() {
+        for (int version = 1; version <= 3; version++) {
+            for (int i = 0; i < RECORDS; i++) {
+                put(i, version * 1000 + i);
+            }
+        }
+    }
+
+    private void assertSnapshot(Map<String, BigDecimal> seen) {
+        assertEquals(RECORDS, seen.size());
+        for (int i = 0; i < RECORDS; i++) {
+            assertEquals(BigDecimal.valueOf(3000 + i), seen.get(id(i)), id(i));
+        }
+    }
+
+    // The first {@code overwritten} keys were set to -1 after the snapshot
+    private void assertLatest(int overwritten) {
+        assertEquals(RECORDS, store.size());
+        for (int i = 0; i < RECORDS; i++) {
+            long expected = i < overwritten ? -1 : 3000 + i;
+            assertEquals(BigDecimal.valueOf(expected), store.get(id(i)).getAmount(), id(i));
+        }
+    }
+
+    private static Map<String, BigDecimal> consume(Iterator<Order> iterator, int limit) {
+        Map<String, BigDecimal> seen = new HashMap<>();
+        for (int n = 0; n < limit && iterator.hasNext(); n++) {
+            Order order = iterator.next();
+            seen.put(order.getId(), order.getAmount());
+        }
+        return seen;
+    }
+
+    private void put(int i, long amount) {
+        Order order = new Order("user-" + i, BigDecimal.valueOf(amount));
+        order.setId(id(i));
+        store.compute(order.getId(), previous -> order);
+    }
+
+    private static String id(int i) {
+        return "ORD-" + i;
+    }
+}
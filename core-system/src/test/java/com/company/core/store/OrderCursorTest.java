@@ -0,0 +1,123 @@
+package com.company.core.store;
+
+import com.company.core.dto.CursorPage;
+import com.company.core.model.Order;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Keyset cursor encoding, rejection of tampered or foreign tokens, and paging across
+ * orders that share a creation time
+ */
+class OrderCursorTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2024, 3, 1, 12, 0, 0, 123_456_789);
+
+    private final InMemoryOrderStore store = new InMemoryOrderStore();
+
+    @Test
+    void roundTripsTheKeyAsUrlSafeBase64() {
+        String cursor = OrderCursor.encode(new InMemoryOrderStore.OrderKey(NOON, "订单/1+2"));
+
+        assertFalse(cursor.contains("+") || cursor.contains("/") || cursor.contains("="), cursor);
+        InMemoryOrderStore.OrderKey key = OrderCursor.decode(cursor);
+        assertEquals(NOON, key.createTime);
+        assertEquals("订单/1+2", key.id);
+
+        InMemoryOrderStore.OrderKey untimed = OrderCursor.decode(
+                OrderCursor.encode(new InMemoryOrderStore.OrderKey(null, "O-1")));
+        assertNull(untimed.createTime);
+        assertEquals("O-1", untimed.id);
+    }
+
+    @Test
+    void rejectsTamperedCursors() {
+        byte[] valid = Base64.getUrlDecoder().decode(OrderCursor.encode(new InMemoryOrderStore.OrderKey(NOON, "O-1")));
+
+        byte[] badFlag = valid.clone();
+        badFlag[0] = 7;
+        assertThrows(IllegalArgumentException.class, () -> OrderCursor.decode(encode(badFlag)));
+        // Header without an id, and a header cut short
+        assertThrows(IllegalArgumentException.class,
+                () -> OrderCursor.decode(encode(Arrays.copyOf(valid, 1 + Long.BYTES + Integer.BYTES))));
+        assertThrows(IllegalArgumentException.class, () -> OrderCursor.decode(encode(Arrays.copyOf(valid, 5))));
+        assertThrows(IllegalArgumentException.class, () -> OrderCursor.decode(""));
+
+        byte[] badNanos = valid.clone();
+        ByteBuffer.wrap(badNanos).putInt(1 + Long.BYTES, 2_000_000_000);
+        assertThrows(IllegalArgumentException.class, () -> OrderCursor.decode(encode(badNanos)));
+    }
+
+    @Test
+    void rejectsForeignCursors() {
+        assertThrows(IllegalArgumentException.class, () -> OrderCursor.decode("page=2"));
+        assertThrows(IllegalArgumentException.class, () -> OrderCursor.decode("a+b/c"));
+        assertThrows(IllegalArgumentException.class,
+                () -> OrderCursor.decode(encode("offset:20".getBytes(StandardCharsets.UTF_8))));
+        assertThrows(IllegalArgumentException.class, () -> store.scroll("page=2", 10));
+        assertThrows(IllegalArgumentException.class, () -> store.scroll("unknown-enterprise", "page=2", 10));
+    }
+
+    @Test
+    void pagesThroughOrdersSharingACreateTimeWithoutGapsOrRepeats() {
+        save("O-6", NOON.plusSeconds(1));
+        for (String id : new String[] {"O-4", "O-2", "O-5", "O-1", "O-3"}) {
+            save(id, NOON);
+        }
+        save("O-7", NOON.minusSeconds(1));
+        save("O-9", null);
+        save("O-8", null);
+
+        List<String> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<Order> page = store.scroll(cursor, 2);
+            page.getItems().forEach(order -> ids.add(order.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(Arrays.asList("O-6", "O-1", "O-2", "O-3", "O-4", "O-5", "O-7", "O-8", "O-9"), ids);
+        assertEquals(5, pages);
+    }
+
+    @Test
+    void cursorStaysValidWhenItsOrderIsRemoved() {
+        for (String id : new String[] {"O-1", "O-2", "O-3", "O-4"}) {
+            save(id, NOON);
+        }
+        CursorPage<Order> first = store.scroll(null, 2);
+        store.remove("O-2");
+
+        CursorPage<Order> second = store.scroll(first.getNextCursor(), 2);
+
+        assertEquals("O-3", second.getItems().get(0).getId());
+        assertEquals("O-4", second.getItems().get(1).getId());
+        assertNull(second.getNextCursor());
+    }
+
+    private void save(String id, LocalDateTime createTime) {
+        Order order = new Order("user-1", BigDecimal.TEN);
+        order.setId(id);
+        order.setCreateTime(createTime);
+        store.save(order);
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
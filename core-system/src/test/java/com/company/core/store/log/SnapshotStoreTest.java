@@ -0,0 +1,161 @@
+package com.company.core.store.log;
+
+import com.company.core.store.BinaryReader;
+import com.company.core.store.BinaryWriter;
+import com.company.core.store.HeapRecordStore;
+import com.company.core.store.RecordCodec;
+import com.company.core.store.RecordStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Snapshot files: round trip, replacement of older snapshots, abandoned writers and damaged files
+ */
+class SnapshotStoreTest {
+
+    // [int magic][byte version][long lsn]
+    private static final int HEADER_SIZE = Integer.BYTES + 1 + Long.BYTES;
+
+    @TempDir
+    Path directory;
+
+    private SnapshotStore<String> snapshots;
+
+    @BeforeEach
+    void openStore() {
+        snapshots = new SnapshotStore<>(directory, new EntryCodec());
+    }
+
+    @Test
+    void loadsTheRecordsItWrote() throws IOException {
+        assertNull(snapshots.load(record -> { }));
+        RecordStore<String> store = store(500, "v1");
+
+        SnapshotStore.Snapshot written = snapshots.write(42, store);
+        assertEquals(500, written.getRecords());
+
+        Set<String> loaded = new HashSet<>();
+        SnapshotStore.Snapshot snapshot = snapshots.load(loaded::add);
+        assertEquals(42, snapshot.getLsn());
+        assertEquals(500, snapshot.getRecords());
+        assertEquals(contents(store), loaded);
+        assertEquals(42, snapshots.getLatestLsn());
+    }
+
+    @Test
+    void newerSnapshotReplacesOlderOnes() throws IOException {
+        snapshots.write(10, store(10, "old"));
+        RecordStore<String> newer = store(20, "new");
+        snapshots.write(20, newer);
+
+        Set<String> loaded = new HashSet<>();
+        assertEquals(20, snapshots.load(loaded::add).getLsn());
+        assertEquals(contents(newer), loaded);
+        assertEquals(1, files().size());
+    }
+
+    @Test
+    void unfinishedWriterLeavesThePreviousSnapshot() throws IOException {
+        RecordStore<String> finished = store(10, "finished");
+        snapshots.write(10, finished);
+
+        try (SnapshotStore<String>.Writer writer = snapshots.begin(20)) {
+            writer.append("key-0=abandoned");
+            writer.append("key-1=abandoned");
+        }
+
+        Set<String> loaded = new HashSet<>();
+        assertEquals(10, snapshots.load(loaded::add).getLsn());
+        assertEquals(contents(finished), loaded);
+        assertEquals(1, files().size());
+    }
+
+    @Test
+    void corruptRecordFailsTheLoad() throws IOException {
+        Path path = snapshots.write(10, store(50, "v1")).getPath();
+        ByteBuffer value = ByteBuffer.allocate(1);
+        long position = HEADER_SIZE + 2 * Integer.BYTES + 2;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            channel.read(value, position);
+            value.put(0, (byte) (value.get(0) ^ 0x5A)).rewind();
+            channel.write(value, position);
+        }
+
+        IOException e = assertThrows(IOException.class, () -> snapshots.load(record -> { }));
+        assertTrue(e.getMessage().contains("checksum"), e.getMessage());
+    }
+
+    @Test
+    void truncatedSnapshotFailsTheLoad() throws IOException {
+        Path path = snapshots.write(10, store(50, "v1")).getPath();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() / 2);
+        }
+
+        List<String> loaded = new ArrayList<>();
+        IOException e = assertThrows(IOException.class, () -> snapshots.load(loaded::add));
+        assertTrue(e.getMessage().contains("Truncated"), e.getMessage());
+        assertTrue(loaded.size() < 50);
+    }
+
+    private static RecordStore<String> store(int records, String value) {
+        RecordStore<String> store = new HeapRecordStore<>();
+        for (int i = 0; i < records; i++) {
+            String entry = "key-" + i + "=" + value;
+            store.compute("key-" + i, previous -> entry);
+        }
+        return store;
+    }
+
+    private static Set<String> contents(RecordStore<String> store) {
+        Set<String> contents = new HashSet<>();
+        store.forEach(contents::add);
+        return contents;
+    }
+
+    private List<Path> files() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * "key=value" entries keyed by the part before '='
+     */
+    private static final class EntryCodec implements RecordCodec<String> {
+
+        @Override
+        public String keyOf(String entry) {
+            return entry.substring(0, entry.indexOf('='));
+        }
+
+        @Override
+        public void encode(String entry, BinaryWriter out) {
+            out.writeString(entry);
+        }
+
+        @Override
+        public String decode(BinaryReader in) {
+            return in.readString();
+        }
+    }
+}
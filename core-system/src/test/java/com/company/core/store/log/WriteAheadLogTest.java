@@ -0,0 +1,169 @@
+package com.company.core.store.log;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Recovery of the write-ahead log from clean shutdowns, torn tails and corrupt records
+ */
+class WriteAheadLogTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+    private static final byte TYPE = 1;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysEveryRecordAfterReopen() throws IOException {
+        long[] lsns = appendAndClose("a", "b", "c");
+
+        List<String> replayed = new ArrayList<>();
+        try (WriteAheadLog wal = open()) {
+            WriteAheadLog.RecoveryResult result = wal.recover(0, collect(replayed));
+            assertEquals(Arrays.asList("a", "b", "c"), replayed);
+            assertFalse(result.isTruncated());
+            assertEquals(lsns[2], result.getEndLsn());
+        }
+    }
+
+    @Test
+    void skipsRecordsAtOrBeforeTheRecoveryLsn() throws IOException {
+        long[] lsns = appendAndClose("a", "b", "c");
+
+        List<String> replayed = new ArrayList<>();
+        try (WriteAheadLog wal = open()) {
+            wal.recover(lsns[1], collect(replayed));
+        }
+        assertEquals(Arrays.asList("c"), replayed);
+    }
+
+    @Test
+    void truncatesATornTailAndAppendsAfterIt() throws IOException {
+        long[] lsns = appendAndClose("a", "b", "c");
+        // A crash mid-append: the length made it to disk but the checksum and payload did not
+        writeAt(segment(0), lsns[2], ByteBuffer.allocate(8).putInt(0, 12).putInt(4, 0x7F7F7F7F));
+
+        List<String> replayed = new ArrayList<>();
+        try (WriteAheadLog wal = open()) {
+            WriteAheadLog.RecoveryResult result = wal.recover(0, collect(replayed));
+            assertEquals(Arrays.asList("a", "b", "c"), replayed);
+            assertTrue(result.isTruncated());
+            assertEquals(lsns[2], result.getEndLsn());
+            wal.append(TYPE, utf8("d"));
+        }
+
+        replayed.clear();
+        try (WriteAheadLog wal = open()) {
+            assertFalse(wal.recover(0, collect(replayed)).isTruncated());
+        }
+        assertEquals(Arrays.asList("a", "b", "c", "d"), replayed);
+    }
+
+    @Test
+    void stopsAtACorruptRecordInTheMiddleOfASegment() throws IOException {
+        long[] lsns = appendAndClose("a", "b", "c", "d", "e");
+        flipPayloadByte(segment(0), lsns[1]);
+
+        List<String> replayed = new ArrayList<>();
+        try (WriteAheadLog wal = open()) {
+            WriteAheadLog.RecoveryResult result = wal.recover(0, collect(replayed));
+            assertTrue(result.isTruncated());
+            assertEquals(lsns[1], result.getEndLsn());
+            assertEquals(lsns[1], wal.getWrittenLsn());
+        }
+        assertEquals(Arrays.asList("a", "b"), replayed);
+    }
+
+    @Test
+    void discardsSegmentsAfterACorruptRecord() throws IOException {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            values.add(String.format("record-%04d", i));
+        }
+        long[] lsns = appendAndClose(values.toArray(new String[0]));
+        assertTrue(segmentFiles(".wal").size() > 2);
+        flipPayloadByte(segment(0), lsns[9]);
+
+        List<String> replayed = new ArrayList<>();
+        try (WriteAheadLog wal = open()) {
+            WriteAheadLog.RecoveryResult result = wal.recover(0, collect(replayed));
+            assertTrue(result.isTruncated());
+            assertEquals(lsns[9], result.getEndLsn());
+            assertEquals(1, wal.getSegmentCount());
+        }
+        assertEquals(values.subList(0, 10), replayed);
+        assertEquals(1, segmentFiles(".wal").size());
+        assertFalse(segmentFiles(".discarded").isEmpty());
+    }
+
+    private WriteAheadLog open() {
+        return new WriteAheadLog(directory, SEGMENT_SIZE, FsyncPolicy.NEVER, 0);
+    }
+
+    private long[] appendAndClose(String... values) throws IOException {
+        long[] lsns = new long[values.length];
+        try (WriteAheadLog wal = open()) {
+            wal.recover(0, (type, payload, lsn) -> { });
+            for (int i = 0; i < values.length; i++) {
+                lsns[i] = wal.append(TYPE, utf8(values[i]));
+            }
+        }
+        return lsns;
+    }
+
+    private static LogVisitor collect(List<String> replayed) {
+        return (type, payload, lsn) -> {
+            assertEquals(TYPE, type);
+            replayed.add(StandardCharsets.UTF_8.decode(payload).toString());
+        };
+    }
+
+    private static ByteBuffer utf8(String value) {
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Path segment(long base) {
+        return directory.resolve(String.format("%020d.wal", base));
+    }
+
+    // The record starting at {@code lsn}, i.e. right after the previous record, gets a bad checksum
+    private static void flipPayloadByte(Path segment, long lsn) throws IOException {
+        ByteBuffer value = ByteBuffer.allocate(1);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            channel.read(value, lsn + WriteAheadLog.HEADER_SIZE + 1);
+        }
+        value.put(0, (byte) (value.get(0) ^ 0x5A));
+        writeAt(segment, lsn + WriteAheadLog.HEADER_SIZE + 1, value);
+    }
+
+    private static void writeAt(Path segment, long position, ByteBuffer bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            bytes.rewind();
+            channel.write(bytes, position);
+        }
+    }
+
+    private List<Path> segmentFiles(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(suffix)).collect(Collectors.toList());
+        }
+    }
+}
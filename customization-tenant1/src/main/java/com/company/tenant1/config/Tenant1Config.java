@@ -1,16 +1,15 @@
 package com.company.tenant1.config;
 
-// NOTE: Spring imports commented out for standalone compilation
-// import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-// import org.springframework.context.annotation.ComponentScan;
-// import org.springframework.context.annotation.Configuration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
 
 /**
  * Tenant1 Configuration
- * NOTE: Spring annotations commented out for standalone compilation
+ * Core beans come from the core auto-configuration, which backs off for the beans declared here
  */
-// @Configuration
-// @ConditionalOnProperty(name = "tenant.id", havingValue = "tenant1")
-// @ComponentScan(basePackages = {"com.company.tenant1", "com.company.core"})
+@Configuration
+@ConditionalOnProperty(name = "tenant.id", havingValue = "tenant1")
+@ComponentScan(basePackages = {"com.company.tenant1"})
 public class Tenant1Config {
 }
\ No newline at end of file
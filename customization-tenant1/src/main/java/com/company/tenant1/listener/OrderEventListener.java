@@ -1,19 +1,28 @@
 package com.company.tenant1.listener;
 
 import com.company.core.event.BusinessEvent;
+import com.company.core.event.BusinessEventListener;
+import com.company.core.logging.CoreLogger;
+import com.company.core.logging.CoreLoggerFactory;
 import com.company.core.model.BusinessContext;
-// NOTE: Spring imports commented out for standalone compilation
-// import org.springframework.context.event.EventListener;
-// import org.springframework.stereotype.Component;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
 
 /**
  * Tenant1 Order Event Listener - using unified BusinessEvent
- * NOTE: Spring annotations commented out for standalone compilation
+ * Only reads the context, so the core BusinessEventBus runs it asynchronously on a consumer thread
  */
-// @Component
-public class OrderEventListener {
+@Component
+@ConditionalOnProperty(name = "tenant.id", havingValue = "tenant1")
+public class OrderEventListener implements BusinessEventListener {
+
+    private static final CoreLogger log = CoreLoggerFactory.getLogger(OrderEventListener.class);
+
+    @Override
+    public void onEvent(BusinessEvent event) {
+        handleBusinessEvent(event);
+    }
 
-    // @EventListener
     public void handleBusinessEvent(BusinessEvent event) {
         if (event.getContext() == null || !"order".equals(event.getContext().getScenario())) {
             return; // Only handle order events
@@ -22,7 +31,7 @@ public class OrderEventListener {
         BusinessContext context = event.getContext();
         String phase = event.getPhase();
         
-        System.out.println("Tenant1 Event Listener: Processing " + phase + " for order scenario");
+        log.debug("Tenant1 Event Listener: Processing {} for order scenario", phase);
         
         if ("BEFORE_PROCESS".equals(phase)) {
             handleBeforeProcess(context, event);
@@ -32,17 +41,17 @@ public class OrderEventListener {
     }
 
     private void handleBeforeProcess(BusinessContext context, BusinessEvent event) {
-        System.out.println("Tenant1 Event Listener: Pre-processing for order");
+        log.debug("Tenant1 Event Listener: Pre-processing for order");
         
         // Traditional order-specific logic
         Object orderId = context.getData().get("orderId");
         if (orderId != null) {
-            System.out.println("Tenant1: Pre-processing order " + orderId);
+            log.debug("Tenant1: Pre-processing order {}", orderId);
         }
     }
 
     private void handleAfterProcess(BusinessContext context, BusinessEvent event) {
-        System.out.println("Tenant1 Event Listener: Post-processing for order");
+        log.debug("Tenant1 Event Listener: Post-processing for order");
         
         // Update inventory simulation
         updateInventory(context);
@@ -53,17 +62,16 @@ public class OrderEventListener {
 
     private void updateInventory(BusinessContext context) {
         Object orderId = context.getData().get("orderId");
-        System.out.println("Tenant1: Updating inventory for order " + orderId);
+        log.debug("Tenant1: Updating inventory for order {}", orderId);
     }
 
     private void handleCustomNotification(BusinessContext context, BusinessEvent event) {
-        System.out.println("Tenant1 Event Listener: Custom notification logic");
+        log.debug("Tenant1 Event Listener: Custom notification logic");
         
         // Simulate SMS-only notification preference
         Object userId = context.getData().get("userId");
         if (userId != null && shouldUseSmsOnly(context)) {
-            event.skipDefaultAction();
-            System.out.println("Default email notification skipped for tenant1 - using SMS only");
+            log.info("Tenant1: SMS-only notification preference for user {}", userId);
         }
     }
 
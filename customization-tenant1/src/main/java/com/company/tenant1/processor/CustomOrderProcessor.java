@@ -1,97 +1,102 @@
 package com.company.tenant1.processor;
 
+import com.company.core.logging.CoreLogger;
+import com.company.core.logging.CoreLoggerFactory;
+import com.company.core.model.AttributeKeys;
 import com.company.core.model.BusinessContext;
+import com.company.core.model.MinorUnits;
 import com.company.core.model.Order;
+import com.company.core.processor.BackpressureLevel;
+import com.company.core.processor.ScenarioDispatchTable;
+import com.company.core.processor.ScenarioRegistry;
 import com.company.core.processor.UniversalProcessor;
-// NOTE: Spring imports commented out for standalone compilation
-// import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-// import org.springframework.stereotype.Component;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 
 /**
  * Tenant1 Custom Processor - Inheritance Extension Pattern
- * NOTE: Spring annotations commented out for standalone compilation
+ * Replaces the core UniversalProcessor bean for tenant1
  */
-// @Component
-// @ConditionalOnProperty(name = "tenant.id", havingValue = "tenant1")
+@Component
+@ConditionalOnProperty(name = "tenant.id", havingValue = "tenant1")
 public class CustomOrderProcessor extends UniversalProcessor {
 
+    private static final CoreLogger log = CoreLoggerFactory.getLogger(CustomOrderProcessor.class);
+
     private static final BigDecimal AUDIT_THRESHOLD = new BigDecimal("10000");
+    private static final long AUDIT_THRESHOLD_MINOR = MinorUnits.of(AUDIT_THRESHOLD);
+    private static final long CFO_APPROVAL_THRESHOLD_MINOR = MinorUnits.of(50000);
+    private static final long MANAGER_APPROVAL_THRESHOLD_MINOR = MinorUnits.of(10000);
+
+    // Attributes written on every request get array slots in BusinessContext
+    static {
+        AttributeKeys.registerAll("requires.audit", "inventory.strategy", "medical.compliance",
+                "approval.required", "finance.approval.level", "vendor.verification", "background.check",
+                "enterprise.standard", "audit.timestamp", "notification.channels");
+    }
+
+    // Enterprise pre-processing per scenario, resolved once at startup
+    private final ScenarioDispatchTable enterpriseHandlers = new ScenarioRegistry()
+            .register("order", this::enhancedOrderProcessing)
+            .register("medical", this::enterpriseMedicalProcessing)
+            .register("finance", this::enterpriseFinanceProcessing)
+            .register("procurement", this::enterpriseProcurementProcessing)
+            .register("hr", this::enterpriseHRProcessing)
+            .registerDefault(this::defaultEnterpriseProcessing)
+            .compile();
 
     @Override
     protected void beforeProcess(BusinessContext context) {
-        System.out.println("TENANT1: Custom processing for " + context.getBusinessType());
+        log.debug("TENANT1: Custom processing for {}", context.getBusinessType());
         
-        String scenario = context.getScenario();
-        switch (scenario) {
-            case "order":
-                enhancedOrderProcessing(context);
-                break;
-            case "medical":
-                enterpriseMedicalProcessing(context);
-                break;
-            case "finance":
-                enterpriseFinanceProcessing(context);
-                break;
-            case "procurement":
-                enterpriseProcurementProcessing(context);
-                break;
-            case "hr":
-                enterpriseHRProcessing(context);
-                break;
-            default:
-                defaultEnterpriseProcessing(context);
-                break;
-        }
+        enterpriseHandlers.dispatch(context);
     }
 
     @Override
     protected void afterProcess(BusinessContext context) {
-        System.out.println("TENANT1: Enterprise audit and notification");
+        log.debug("TENANT1: Enterprise audit and notification");
         performEnterpriseAudit(context);
         sendEnterpriseNotification(context);
     }
 
     private void enhancedOrderProcessing(BusinessContext context) {
-        System.out.println("TENANT1: Enhanced order processing with approval workflow");
-        Object amountObj = context.getData().get("amount");
-        if (amountObj instanceof Number) {
-            double amount = ((Number) amountObj).doubleValue();
-            if (amount > AUDIT_THRESHOLD.doubleValue()) {
-                context.setAttribute("requires.audit", "true");
-                System.out.println("TENANT1: High-value order requires approval: " + amount);
-            }
+        log.debug("TENANT1: Enhanced order processing with approval workflow");
+        if (context.hasAmount() && context.getAmountMinor() > AUDIT_THRESHOLD_MINOR) {
+            context.setAttribute("requires.audit", "true");
+            log.info("TENANT1: High-value order requires approval: {}",
+                    MinorUnits.toBigDecimal(context.getAmountMinor()));
         }
         context.setAttribute("inventory.strategy", "ENTERPRISE");
     }
 
     private void enterpriseMedicalProcessing(BusinessContext context) {
-        System.out.println("TENANT1: Multi-level medical certification");
+        log.debug("TENANT1: Multi-level medical certification");
         context.setAttribute("medical.compliance", "ENTERPRISE_LEVEL");
         context.setAttribute("approval.required", "MULTI_LEVEL");
     }
 
     private void enterpriseFinanceProcessing(BusinessContext context) {
-        System.out.println("TENANT1: Multi-level finance approval");
-        Object amountObj = context.getData().get("amount");
-        if (amountObj instanceof Number) {
-            double amount = ((Number) amountObj).doubleValue();
-            if (amount > 50000) {
-                context.setAttribute("finance.approval.level", "CFO");
-            } else if (amount > 10000) {
-                context.setAttribute("finance.approval.level", "MANAGER");
-            }
+        log.debug("TENANT1: Multi-level finance approval");
+        if (!context.hasAmount()) {
+            return;
+        }
+        long amount = context.getAmountMinor();
+        if (amount > CFO_APPROVAL_THRESHOLD_MINOR) {
+            context.setAttribute("finance.approval.level", "CFO");
+        } else if (amount > MANAGER_APPROVAL_THRESHOLD_MINOR) {
+            context.setAttribute("finance.approval.level", "MANAGER");
         }
     }
 
     private void enterpriseProcurementProcessing(BusinessContext context) {
-        System.out.println("TENANT1: Vendor qualification and procurement approval");
+        log.debug("TENANT1: Vendor qualification and procurement approval");
         context.setAttribute("vendor.verification", "REQUIRED");
     }
 
     private void enterpriseHRProcessing(BusinessContext context) {
-        System.out.println("TENANT1: Multi-level HR approval with background check");
+        log.debug("TENANT1: Multi-level HR approval with background check");
         String position = (String) context.getData().get("position");
         if ("MANAGER".equals(position) || "SENIOR".equals(position)) {
             context.setAttribute("background.check", "ENHANCED");
@@ -99,18 +104,28 @@ public class CustomOrderProcessor extends UniversalProcessor {
     }
 
     private void defaultEnterpriseProcessing(BusinessContext context) {
-        System.out.println("TENANT1: Standard enterprise processing");
+        log.debug("TENANT1: Standard enterprise processing");
         context.setAttribute("enterprise.standard", "APPLIED");
     }
 
     private void performEnterpriseAudit(BusinessContext context) {
-        System.out.println("TENANT1: Enterprise audit trail recording");
+        log.debug("TENANT1: Enterprise audit trail recording");
         context.setAttribute("audit.timestamp", String.valueOf(System.currentTimeMillis()));
     }
 
+    // Under notification backpressure SMS is dropped first, email is kept for the audit trail
     private void sendEnterpriseNotification(BusinessContext context) {
-        System.out.println("TENANT1: Multi-channel enterprise notification");
-        context.setAttribute("notification.channels", "EMAIL,SMS,PUSH");
+        String backpressure = context.getAttribute(AttributeKeys.BACKPRESSURE);
+        if (BackpressureLevel.SATURATED.name().equals(backpressure)) {
+            log.debug("TENANT1: Notifications saturated, email only");
+            context.setAttribute("notification.channels", "EMAIL");
+        } else if (BackpressureLevel.ELEVATED.name().equals(backpressure)) {
+            log.debug("TENANT1: Notifications under load, skipping SMS");
+            context.setAttribute("notification.channels", "EMAIL,PUSH");
+        } else {
+            log.debug("TENANT1: Multi-channel enterprise notification");
+            context.setAttribute("notification.channels", "EMAIL,SMS,PUSH");
+        }
     }
 
     // Traditional Order processing compatibility
@@ -118,12 +133,12 @@ public class CustomOrderProcessor extends UniversalProcessor {
     public void beforeSave(Order order) {
         if (order.getAmount() != null && order.getAmount().compareTo(AUDIT_THRESHOLD) > 0) {
             order.setStatus("PENDING_APPROVAL");
-            System.out.println("TENANT1: High-value traditional order requires approval");
+            log.info("TENANT1: High-value traditional order requires approval");
         }
     }
 
     @Override
     public void beforeNotify(Order order) {
-        System.out.println("TENANT1: SMS notification for traditional order");
+        log.debug("TENANT1: SMS notification for traditional order");
     }
 }
\ No newline at end of file
@@ -6,6 +6,6 @@ import org.springframework.context.annotation.Configuration;
 
 @Configuration
 @ConditionalOnProperty(name = "tenant.id", havingValue = "tenant2")
-@ComponentScan(basePackages = {"com.company.tenant2", "com.company.core"})
+@ComponentScan(basePackages = {"com.company.tenant2"})
 public class Tenant2Config {
 }
\ No newline at end of file
@@ -1,25 +1,75 @@
 package com.company.tenant2.listener;
 
 import com.company.core.event.BusinessEvent;
+import com.company.core.event.BusinessEventListener;
+import com.company.core.logging.CoreLogger;
+import com.company.core.logging.CoreLoggerFactory;
+import com.company.core.model.AttributeKeys;
 import com.company.core.model.BusinessContext;
+import com.company.core.model.MinorUnits;
+import com.company.core.processor.ScenarioDispatchTable;
+import com.company.core.processor.ScenarioHandler;
+import com.company.core.processor.ScenarioRegistry;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.context.event.EventListener;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
-
 /**
  * Tenant2 Event Listener - Event-Driven Extension Pattern
+ * Driven by the core BusinessEventBus on the publishing thread: the attributes it writes
+ * feed core processing and the response
  */
 @Component
+@Order(1)
 @ConditionalOnProperty(name = "tenant.id", havingValue = "tenant2")
-public class AdvancedOrderEventListener {
+public class AdvancedOrderEventListener implements BusinessEventListener {
+
+    private static final CoreLogger log = CoreLoggerFactory.getLogger(AdvancedOrderEventListener.class);
+
+    private static final long VALIDATION_THRESHOLD_MINOR = MinorUnits.of(5000);
+
+    // Attributes written on every request get array slots in BusinessContext
+    static {
+        AttributeKeys.registerAll("fraud.check", "fast.track", "ai.diagnosis.support", "drug.interaction.check",
+                "data.quality.check", "ml.model.validation", "inventory.optimization", "supply.chain.analysis",
+                "sentiment.analysis", "intelligent.routing", "user.profiling", "recommendation.algorithm",
+                "computer.vision", "automated.inspection", "intelligent.processing",
+                "external.integration", "business.insights");
+    }
+
+    // Per-scenario validation and value-added services, resolved once at startup
+    private final ScenarioDispatchTable validationHandlers = new ScenarioRegistry()
+            .register("order", this::handleOrderValidation)
+            .register("medical", this::handleMedicalValidation)
+            .register("analytics", this::handleAnalyticsValidation)
+            .register("warehouse", this::handleWarehouseValidation)
+            .register("customer-service", this::handleCustomerServiceValidation)
+            .register("marketing", this::handleMarketingValidation)
+            .register("quality", this::handleQualityValidation)
+            .registerDefault(this::handleDefaultValidation)
+            .compile();
+
+    private final ScenarioDispatchTable valueAddedServices = new ScenarioRegistry()
+            .register("order", valueAddedService("Smart recommendation engine", "recommendation.engine"))
+            .register("medical", valueAddedService("Health trend analysis", "health.analytics"))
+            .register("analytics", valueAddedService("Advanced data mining", "advanced.analytics"))
+            .register("warehouse", valueAddedService("Smart scheduling system", "smart.scheduling"))
+            .register("customer-service", valueAddedService("Satisfaction prediction", "satisfaction.prediction"))
+            .register("marketing", valueAddedService("Real-time personalization", "real.time.personalization"))
+            .register("quality", valueAddedService("Predictive maintenance", "predictive.maintenance"))
+            .registerDefault(valueAddedService("Standard value-added services", "standard.value.added"))
+            .compile();
+
+    @Override
+    public void onEvent(BusinessEvent event) {
+        handleBusinessEvent(event);
+    }
 
-    private static final BigDecimal VALIDATION_THRESHOLD = new BigDecimal("5000");
+    @Override
+    public boolean isSynchronous() {
+        return true;
+    }
 
-    @EventListener
-    @Order(1)
     public void handleBusinessEvent(BusinessEvent event) {
         if (!event.isForPhase("BEFORE_PROCESS") && !event.isForPhase("AFTER_PROCESS")) {
             return;
@@ -28,7 +78,7 @@ public class AdvancedOrderEventListener {
         BusinessContext context = event.getContext();
         String phase = event.getPhase();
         
-        System.out.println("TENANT2: Event handling " + phase + " for " + context.getScenario());
+        log.debug("TENANT2: Event handling {} for {}", phase, context.getScenario());
 
         if ("BEFORE_PROCESS".equals(phase)) {
             handleBeforeProcess(context, event);
@@ -38,98 +88,67 @@ public class AdvancedOrderEventListener {
     }
 
     private void handleBeforeProcess(BusinessContext context, BusinessEvent event) {
-        String scenario = context.getScenario();
-        
-        switch (scenario) {
-            case "order":
-                handleOrderValidation(context, event);
-                break;
-            case "medical":
-                handleMedicalValidation(context, event);
-                break;
-            case "analytics":
-                handleAnalyticsValidation(context, event);
-                break;
-            case "warehouse":
-                handleWarehouseValidation(context, event);
-                break;
-            case "customer-service":
-                handleCustomerServiceValidation(context, event);
-                break;
-            case "marketing":
-                handleMarketingValidation(context, event);
-                break;
-            case "quality":
-                handleQualityValidation(context, event);
-                break;
-            default:
-                handleDefaultValidation(context, event);
-                break;
-        }
+        validationHandlers.dispatch(context);
     }
 
-    private void handleOrderValidation(BusinessContext context, BusinessEvent event) {
-        System.out.println("TENANT2: Intelligent fraud detection and fast track validation");
+    private void handleOrderValidation(BusinessContext context) {
+        log.debug("TENANT2: Intelligent fraud detection and fast track validation");
         
-        Object amountObj = context.getData().get("amount");
-        if (amountObj instanceof Number) {
-            BigDecimal amount = new BigDecimal(amountObj.toString());
-            if (amount.compareTo(VALIDATION_THRESHOLD) > 0) {
-                System.out.println("TENANT2: Fraud detection triggered for amount: " + amount);
-                context.setAttribute("fraud.check", "ADVANCED");
-            }
+        if (context.hasAmount() && context.getAmountMinor() > VALIDATION_THRESHOLD_MINOR) {
+            log.info("TENANT2: Fraud detection triggered for amount: {}",
+                    MinorUnits.toBigDecimal(context.getAmountMinor()));
+            context.setAttribute("fraud.check", "ADVANCED");
         }
 
-        Object itemCount = context.getData().get("itemCount");
-        if (itemCount != null && (Integer) itemCount <= 3) {
-            System.out.println("TENANT2: Fast track enabled for simple order");
+        if (context.hasItemCount() && context.getItemCount() <= 3) {
+            log.debug("TENANT2: Fast track enabled for simple order");
             context.setAttribute("fast.track", "enabled");
         }
     }
 
-    private void handleMedicalValidation(BusinessContext context, BusinessEvent event) {
-        System.out.println("TENANT2: AI diagnosis assistance");
+    private void handleMedicalValidation(BusinessContext context) {
+        log.debug("TENANT2: AI diagnosis assistance");
         context.setAttribute("ai.diagnosis.support", "ENABLED");
         context.setAttribute("drug.interaction.check", "ADVANCED");
     }
 
-    private void handleAnalyticsValidation(BusinessContext context, BusinessEvent event) {
-        System.out.println("TENANT2: Data quality check and ML model validation");
+    private void handleAnalyticsValidation(BusinessContext context) {
+        log.debug("TENANT2: Data quality check and ML model validation");
         context.setAttribute("data.quality.check", "ENABLED");
         context.setAttribute("ml.model.validation", "ADVANCED");
     }
 
-    private void handleWarehouseValidation(BusinessContext context, BusinessEvent event) {
-        System.out.println("TENANT2: Inventory optimization and supply chain analysis");
+    private void handleWarehouseValidation(BusinessContext context) {
+        log.debug("TENANT2: Inventory optimization and supply chain analysis");
         context.setAttribute("inventory.optimization", "ENABLED");
         context.setAttribute("supply.chain.analysis", "REAL_TIME");
     }
 
-    private void handleCustomerServiceValidation(BusinessContext context, BusinessEvent event) {
-        System.out.println("TENANT2: Sentiment analysis and intelligent routing");
+    private void handleCustomerServiceValidation(BusinessContext context) {
+        log.debug("TENANT2: Sentiment analysis and intelligent routing");
         context.setAttribute("sentiment.analysis", "ENABLED");
         context.setAttribute("intelligent.routing", "AI_POWERED");
     }
 
-    private void handleMarketingValidation(BusinessContext context, BusinessEvent event) {
-        System.out.println("TENANT2: User profiling and recommendation algorithm");
+    private void handleMarketingValidation(BusinessContext context) {
+        log.debug("TENANT2: User profiling and recommendation algorithm");
         context.setAttribute("user.profiling", "ADVANCED");
         context.setAttribute("recommendation.algorithm", "ML_POWERED");
     }
 
-    private void handleQualityValidation(BusinessContext context, BusinessEvent event) {
-        System.out.println("TENANT2: Computer vision and automated inspection");
+    private void handleQualityValidation(BusinessContext context) {
+        log.debug("TENANT2: Computer vision and automated inspection");
         context.setAttribute("computer.vision", "ENABLED");
         context.setAttribute("automated.inspection", "AI_POWERED");
     }
 
-    private void handleDefaultValidation(BusinessContext context, BusinessEvent event) {
-        System.out.println("TENANT2: Standard intelligent processing");
+    private void handleDefaultValidation(BusinessContext context) {
+        log.debug("TENANT2: Standard intelligent processing");
         context.setAttribute("intelligent.processing", "STANDARD");
     }
 
     private void handleAfterProcess(BusinessContext context, BusinessEvent event) {
-        System.out.println("TENANT2: Value-added services processing");
+        log.debug("TENANT2: Value-added services processing");
         provideValueAddedServices(context);
         integrateWithExternalSystems(context);
         generateBusinessInsights(context);
@@ -137,51 +156,26 @@ public class AdvancedOrderEventListener {
 
     private void provideValueAddedServices(BusinessContext context) {
         String scenario = context.getScenario();
-        System.out.println("TENANT2: Value-added services for " + scenario);
+        log.debug("TENANT2: Value-added services for {}", scenario);
         
-        switch (scenario) {
-            case "order":
-                System.out.println("TENANT2: Smart recommendation engine");
-                context.setAttribute("recommendation.engine", "ENABLED");
-                break;
-            case "medical":
-                System.out.println("TENANT2: Health trend analysis");
-                context.setAttribute("health.analytics", "ENABLED");
-                break;
-            case "analytics":
-                System.out.println("TENANT2: Advanced data mining");
-                context.setAttribute("advanced.analytics", "ENABLED");
-                break;
-            case "warehouse":
-                System.out.println("TENANT2: Smart scheduling system");
-                context.setAttribute("smart.scheduling", "ENABLED");
-                break;
-            case "customer-service":
-                System.out.println("TENANT2: Satisfaction prediction");
-                context.setAttribute("satisfaction.prediction", "ENABLED");
-                break;
-            case "marketing":
-                System.out.println("TENANT2: Real-time personalization");
-                context.setAttribute("real.time.personalization", "ENABLED");
-                break;
-            case "quality":
-                System.out.println("TENANT2: Predictive maintenance");
-                context.setAttribute("predictive.maintenance", "ENABLED");
-                break;
-            default:
-                System.out.println("TENANT2: Standard value-added services");
-                context.setAttribute("standard.value.added", "ENABLED");
-                break;
-        }
+        valueAddedServices.dispatch(context);
+    }
+
+    private static ScenarioHandler valueAddedService(String description, String attribute) {
+        AttributeKeys.register(attribute);
+        return context -> {
+            log.debug("TENANT2: {}", description);
+            context.setAttribute(attribute, "ENABLED");
+        };
     }
 
     private void integrateWithExternalSystems(BusinessContext context) {
-        System.out.println("TENANT2: External integration with ERP, CRM, and data warehouse");
+        log.debug("TENANT2: External integration with ERP, CRM, and data warehouse");
         context.setAttribute("external.integration", "COMPLETED");
     }
 
     private void generateBusinessInsights(BusinessContext context) {
-        System.out.println("TENANT2: Real-time reporting and trend prediction");
+        log.debug("TENANT2: Real-time reporting and trend prediction");
         context.setAttribute("business.insights", "GENERATED");
     }
 }
\ No newline at end of file
@@ -1,93 +1,720 @@
 package com.company.tenant2.service;
 
+import com.company.core.cache.BloomFilter;
+import com.company.core.cache.BoundedCache;
+import com.company.core.logging.CoreLogger;
+import com.company.core.logging.CoreLoggerFactory;
+import com.company.core.maintenance.MaintenanceScheduler;
 import com.company.core.model.MedicalRecord;
+import com.company.core.store.HeapRecordStore;
+import com.company.core.store.OffHeapCompactionTask;
+import com.company.core.store.OffHeapRecordStore;
+import com.company.core.store.RecordStore;
+import com.company.core.store.StorageMode;
+import com.company.core.store.log.FsyncPolicy;
+import com.company.core.store.log.RecordLog;
+import com.company.core.store.log.SnapshotStore;
+import com.company.core.store.log.WriteAheadLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 @Service
 public class DatabaseService {
+
+    private static final CoreLogger log = CoreLoggerFactory.getLogger(DatabaseService.class);
     
-    // 模拟数据库存储
-    private final Map<String, MedicalRecord> database = new ConcurrentHashMap<>();
+    // 病历存储，堆外模式在 openDatabase 中替换
+    private RecordStore<MedicalRecord> database = new HeapRecordStore<>();
+    // 患者ID、医生ID、状态二级索引
+    private final MedicalRecordIndex index = new MedicalRecordIndex();
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @Value("${database.storage:HEAP}")
+    private StorageMode storageMode = StorageMode.HEAP;
+
+    // 预写日志配置，目录为空时仅使用内存存储
+    @Value("${database.wal.dir:}")
+    private String walDir;
+
+    @Value("${database.wal.segment-size-mb:64}")
+    private int walSegmentSizeMb;
+
+    @Value("${database.wal.fsync-policy:INTERVAL}")
+    private FsyncPolicy walFsyncPolicy;
+
+    @Value("${database.wal.fsync-interval-ms:5}")
+    private long walFsyncIntervalMillis;
+
+    // 后台维护（快照、日志清理、堆外整理）间隔，0 表示只在手动调用时执行
+    @Value("${database.maintenance.interval-seconds:300}")
+    private long maintenanceIntervalSeconds;
+
+    // 增量扫描任务（过期清理、索引校验、统计刷新）每轮间隔，0 表示不启用
+    @Value("${database.maintenance.scan-interval-seconds:3600}")
+    private long scanIntervalSeconds = 3600;
+
+    // 维护线程每个增量的 CPU 与读写预算，增量之间暂停，避免与请求争用
+    @Value("${database.maintenance.increment-cpu-millis:2}")
+    private long incrementCpuMillis = 2;
+
+    @Value("${database.maintenance.increment-io-kb:256}")
+    private long incrementIoKb = 256;
+
+    @Value("${database.maintenance.pause-millis:20}")
+    private long incrementPauseMillis = 20;
+
+    // 病历保留天数，超过的病历由后台清理，0 表示永久保留
+    @Value("${database.retention.days:0}")
+    private int retentionDays;
+
+    // 读缓存与不存在ID过滤，存储为堆外或持久化时避免每次查询都解码；
+    // 未配置时仅在这两种情况下开启，堆内存储本身就是按引用查找，缓存只会多占一份内存
+    @Value("${database.cache.enabled:#{null}}")
+    private Boolean cacheEnabled;
+
+    @Value("${database.cache.maximum-size:100000}")
+    private long cacheMaximumSize = 100000;
+
+    @Value("${database.cache.maximum-weight-mb:64}")
+    private long cacheMaximumWeightMb = 64;
+
+    @Value("${database.cache.bloom-expected-records:1000000}")
+    private long bloomExpectedRecords = 1000000;
+
+    @Value("${database.cache.bloom-fpp:0.01}")
+    private double bloomFalsePositiveRate = 0.01;
+
+    private BoundedCache<String, MedicalRecord> cache;
+    // 已存在ID的布隆过滤器，过滤器判定不存在的ID直接返回，不访问缓存与存储
+    private volatile BloomFilter knownIds;
+    // 维护任务重建过滤器期间，写入同时登记到新过滤器
+    private volatile BloomFilter rebuildingIds;
+    private final LongAdder filteredLookups = new LongAdder();
+
+    // 批量导入每批记录数，每批提交一次日志并批量更新索引
+    @Value("${database.import.batch-size:1000}")
+    private int importBatchSize = 1000;
+
+    private RecordLog<MedicalRecord> recordLog;
+    private SnapshotStore<MedicalRecord> snapshots;
+    private volatile long lastSnapshotLsn;
+    // 快照栅栏：写入方共享持有，快照仅在读取 LSN 的瞬间独占，保证该 LSN 之前的日志均已应用到存储
+    private final ReentrantReadWriteLock snapshotFence = new ReentrantReadWriteLock();
+    private MaintenanceScheduler maintenanceScheduler;
+    private RecordStatisticsTask statisticsTask;
+    private SnapshotTask snapshotTask;
+
+    /**
+     * 加载最新快照并回放其后的预写日志，重建内存数据与索引
+     */
+    @PostConstruct
+    public void openDatabase() throws IOException {
+        if (storageMode == StorageMode.OFF_HEAP) {
+            database = new OffHeapRecordStore<>(new MedicalRecordCodec());
+            log.info("租户2：病历使用堆外存储");
+        }
+        boolean walConfigured = walDir != null && !walDir.trim().isEmpty();
+        if (cacheEnabled != null ? cacheEnabled : (storageMode == StorageMode.OFF_HEAP || walConfigured)) {
+            cache = new BoundedCache<>(cacheMaximumSize, cacheMaximumWeightMb << 20, DatabaseService::weightOf);
+            knownIds = new BloomFilter(bloomExpectedRecords, bloomFalsePositiveRate);
+        }
+        if (!walConfigured) {
+            log.info("租户2：未配置预写日志目录，数据库仅保存在内存中");
+            startMaintenance();
+            return;
+        }
+        Path directory = Paths.get(walDir.trim());
+        MedicalRecordCodec codec = new MedicalRecordCodec();
+        snapshots = new SnapshotStore<>(directory, codec);
+        SnapshotStore.Snapshot snapshot = snapshots.load(this::applyRecovered);
+        long fromLsn = 0;
+        if (snapshot != null) {
+            fromLsn = snapshot.getLsn();
+            log.info("租户2：已加载快照，LSN: {}，记录数 {}，耗时 {} ms",
+                    fromLsn, snapshot.getRecords(), snapshot.getElapsedMillis());
+        }
+        lastSnapshotLsn = fromLsn;
+
+        WriteAheadLog wal = new WriteAheadLog(directory, walSegmentSizeMb << 20,
+                walFsyncPolicy, walFsyncIntervalMillis);
+        RecordLog<MedicalRecord> opened = new RecordLog<>(wal, codec);
+        WriteAheadLog.RecoveryResult result = opened.recover(fromLsn, new RecordLog.Handler<MedicalRecord>() {
+            @Override
+            public void onPut(MedicalRecord record) {
+                applyRecovered(record);
+            }
+
+            @Override
+            public void onDelete(String id) {
+                // 过滤器无法删除，已删除的ID只会多一次存储查询
+                database.remove(id);
+                index.update(id, null);
+            }
+        });
+        recordLog = opened;
+        log.info("租户2：预写日志恢复完成，回放 {} 条记录，耗时 {} ms，当前记录数 {}",
+                result.getRecords(), result.getElapsedMillis(), database.size());
+        startMaintenance();
+    }
+
+    @PreDestroy
+    public void closeDatabase() throws IOException {
+        if (maintenanceScheduler != null) {
+            maintenanceScheduler.close();
+        }
+        if (snapshotTask != null) {
+            snapshotTask.abort();
+        }
+        if (recordLog != null) {
+            recordLog.close();
+            log.info("租户2：预写日志已关闭，LSN: {}", recordLog.getWal().getDurableLsn());
+        }
+    }
     
     public void saveToDatabase(MedicalRecord record) {
-        System.out.println("租户2：保存病历到企业数据库");
+        log.debug("租户2：保存病历到企业数据库");
         
         try {
             // 模拟数据库保存操作
             validateDatabaseConnection();
             
-            // 执行数据库插入
-            database.put(record.getId(), record);
-            
-            // 模拟创建数据库索引
-            createDatabaseIndexes(record);
+            // 执行数据库插入，同一记录的写日志、写入与索引维护在 compute 内串行完成
+            long[] lsn = new long[1];
+            snapshotFence.readLock().lock();
+            try {
+                // 先登记过滤器再写入，并发查询看到新记录时过滤器必然已包含该ID
+                rememberId(record.getId());
+                database.compute(record.getId(), previous -> {
+                    lsn[0] = logPut(record);
+                    index.update(record.getId(), record);
+                    return record;
+                });
+            } finally {
+                snapshotFence.readLock().unlock();
+            }
+            // 写穿失效：存储写入后再失效缓存，与并发的缓存加载按ID串行，不会留下旧值
+            invalidateCached(record.getId());
+            // 按刷盘策略等待落盘，compute 外等待以免阻塞同一分段的其他写入
+            commit(lsn[0]);
             
-            System.out.println("租户2：病历已成功保存到数据库，ID: " + record.getId());
-            System.out.println("租户2：数据库记录总数: " + database.size());
+            log.debug("租户2：病历已成功保存到数据库，ID: {}，记录总数: {}", record.getId(), database.size());
             
         } catch (Exception e) {
-            System.err.println("租户2：数据库保存失败: " + e.getMessage());
+            log.error("租户2：数据库保存失败: {}", e.getMessage(), e);
             throw new RuntimeException("数据库保存失败", e);
         }
     }
     
+    /**
+     * 批量保存病历，返回导入结果
+     */
+    public ImportResult saveAllToDatabase(Collection<MedicalRecord> records) {
+        return importRecords(records.iterator());
+    }
+
+    /**
+     * 流式导入：逐批读取数据源，只持有当前批次的记录
+     * 连接只校验一次；一批内逐条写日志和存储，批次结束后批量更新索引并只提交一次日志。
+     * 失败时抛出异常，之前的批次已提交，失败批次中已写入的记录同样保留
+     */
+    public ImportResult importRecords(Iterator<? extends MedicalRecord> records) {
+        validateDatabaseConnection();
+        ImportResult result = new ImportResult();
+        long start = System.nanoTime();
+        List<MedicalRecord> batch = new ArrayList<>(importBatchSize);
+        try {
+            while (records.hasNext()) {
+                batch.add(records.next());
+                if (batch.size() >= importBatchSize) {
+                    writeBatch(batch, result);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(batch, result);
+            }
+        } catch (RuntimeException e) {
+            log.error("租户2：批量导入失败: {}", e.getMessage(), e);
+            throw new RuntimeException("数据库批量保存失败，已写入 " + result.records + " 条", e);
+        }
+        result.elapsedNanos = System.nanoTime() - start;
+        log.info("租户2：批量导入完成，记录数 {}，批次数 {}，{} 条/秒",
+                result.records, result.batches, Math.round(result.getRecordsPerSecond()));
+        return result;
+    }
+
+    /**
+     * 按ID读取病历：过滤器排除不存在的ID，命中缓存直接返回，否则从存储加载并缓存
+     * 缓存的病历对象在调用方之间共享，修改后需调用 saveToDatabase 或 updateRecordStatus
+     */
     public MedicalRecord getFromDatabase(String recordId) {
-        return database.get(recordId);
+        if (recordId == null) {
+            return null;
+        }
+        BloomFilter filter = knownIds;
+        if (filter != null && !filter.mightContain(recordId)) {
+            filteredLookups.increment();
+            return null;
+        }
+        return cache != null ? cache.get(recordId, database::get) : database.get(recordId);
+    }
+
+    /**
+     * 更新病历状态并同步索引，记录不存在时返回 null
+     */
+    public MedicalRecord updateRecordStatus(String recordId, String status) {
+        long[] lsn = new long[1];
+        if (recordId == null) {
+            return null;
+        }
+        MedicalRecord updated;
+        snapshotFence.readLock().lock();
+        try {
+            updated = database.compute(recordId, record -> {
+                if (record == null) {
+                    return null;
+                }
+                String previousStatus = record.getStatus();
+                record.setStatus(status);
+                try {
+                    lsn[0] = logPut(record);
+                } catch (RuntimeException e) {
+                    record.setStatus(previousStatus);
+                    throw e;
+                }
+                index.update(recordId, record);
+                return record;
+            });
+        } finally {
+            snapshotFence.readLock().unlock();
+        }
+        invalidateCached(recordId);
+        commit(lsn[0]);
+        return updated;
+    }
+
+    /**
+     * 按患者ID查询病历，走二级索引
+     */
+    public List<MedicalRecord> findByPatient(String patientId) {
+        return resolve(index.idsForPatient(patientId));
+    }
+
+    /**
+     * 按医生ID查询病历，走二级索引
+     */
+    public List<MedicalRecord> findByDoctor(String doctorId) {
+        return resolve(index.idsForDoctor(doctorId));
+    }
+
+    /**
+     * 按状态统计病历数量，O(1)
+     */
+    public long countByStatus(String status) {
+        return index.countByStatus(status);
     }
     
     public Map<String, Object> getDatabaseStatistics() {
         Map<String, Object> stats = new HashMap<>();
         stats.put("totalRecords", database.size());
         stats.put("databaseStatus", "ONLINE");
+        stats.put("storageMode", database.getStorageMode());
+        if (database instanceof OffHeapRecordStore) {
+            OffHeapRecordStore<MedicalRecord> offHeap = (OffHeapRecordStore<MedicalRecord>) database;
+            stats.put("offHeapLiveBytes", offHeap.getLiveBytes());
+            stats.put("offHeapAllocatedBytes", offHeap.getAllocatedBytes());
+        }
         stats.put("lastUpdated", java.time.LocalDateTime.now().format(FORMATTER));
         
-        // 统计不同状态的记录数量
-        Map<String, Long> statusCount = database.values().stream()
-            .collect(java.util.stream.Collectors.groupingBy(
-                MedicalRecord::getStatus,
-                java.util.stream.Collectors.counting()
-            ));
-        stats.put("statusStatistics", statusCount);
+        // 各状态记录数直接读取索引计数，无需遍历全部记录
+        stats.put("statusStatistics", index.statusCounts());
+        stats.put("indexedPatients", index.patientCount());
+        stats.put("indexedDoctors", index.doctorCount());
+        if (recordLog != null) {
+            WriteAheadLog wal = recordLog.getWal();
+            Map<String, Object> walStats = new HashMap<>();
+            walStats.put("fsyncPolicy", wal.getFsyncPolicy());
+            walStats.put("writtenLsn", wal.getWrittenLsn());
+            walStats.put("durableLsn", wal.getDurableLsn());
+            walStats.put("segments", wal.getSegmentCount());
+            walStats.put("appendedRecords", wal.getAppendedRecords());
+            walStats.put("fsyncP99Micros", wal.getFsyncLatency().getP99Nanos() / 1000);
+            stats.put("writeAheadLog", walStats);
+        }
+        if (cache != null) {
+            BoundedCache.Stats cacheStats = cache.stats();
+            Map<String, Object> cacheMap = new HashMap<>();
+            cacheMap.put("size", cacheStats.getSize());
+            cacheMap.put("weightBytes", cacheStats.getWeight());
+            cacheMap.put("hits", cacheStats.getHitCount());
+            cacheMap.put("misses", cacheStats.getMissCount());
+            cacheMap.put("hitRate", cacheStats.getHitRate());
+            cacheMap.put("loads", cacheStats.getLoadCount());
+            cacheMap.put("evictions", cacheStats.getEvictionCount());
+            cacheMap.put("filteredLookups", filteredLookups.sum());
+            cacheMap.put("filterInsertions", knownIds.getInsertions());
+            stats.put("cache", cacheMap);
+        }
+        if (maintenanceScheduler != null) {
+            stats.put("maintenance", maintenanceMetrics());
+        }
+        if (statisticsTask != null) {
+            // 后台增量刷新的结果，不在查询时遍历记录
+            stats.put("recordStatistics", statisticsTask.getLatest());
+        }
+        if (snapshotTask != null) {
+            stats.put("lastSnapshot", snapshotTask.getLatest());
+        }
         
         return stats;
     }
+
+    private void writeBatch(List<MedicalRecord> batch, ImportResult result) {
+        for (MedicalRecord record : batch) {
+            if (record == null || record.getId() == null) {
+                throw new IllegalArgumentException("病历及其ID不能为空");
+            }
+        }
+        MedicalRecordIndex.Batch indexBatch = index.newBatch();
+        long[] lsn = new long[1];
+        long lastLsn = 0;
+        int written = 0;
+        snapshotFence.readLock().lock();
+        try {
+            for (MedicalRecord record : batch) {
+                rememberId(record.getId());
+                database.compute(record.getId(), previous -> {
+                    lsn[0] = logPut(record);
+                    indexBatch.stage(record.getId(), record);
+                    return record;
+                });
+                lastLsn = lsn[0];
+                written++;
+            }
+        } finally {
+            snapshotFence.readLock().unlock();
+            indexBatch.apply();
+            for (int i = 0; i < written; i++) {
+                invalidateCached(batch.get(i).getId());
+            }
+            result.records += written;
+        }
+        commit(lastLsn);
+        result.batches++;
+    }
+
+    // 维护任务使用：绕过缓存读取，避免扫描冲掉热点记录
+    MedicalRecord readForMaintenance(String id) {
+        return database.get(id);
+    }
+
+    /**
+     * 删除创建时间早于 cutoff 的病历并写删除日志，返回是否删除
+     */
+    boolean removeIfCreatedBefore(String id, LocalDateTime cutoff) {
+        MedicalRecord current = database.get(id);
+        if (!isCreatedBefore(current, cutoff)) {
+            return false;
+        }
+        long[] lsn = new long[1];
+        boolean[] removed = new boolean[1];
+        snapshotFence.readLock().lock();
+        try {
+            database.compute(id, record -> {
+                // 读取后被并发保存的记录保留
+                if (!isCreatedBefore(record, cutoff)) {
+                    return record;
+                }
+                lsn[0] = logDelete(id);
+                index.update(id, null);
+                removed[0] = true;
+                return null;
+            });
+        } finally {
+            snapshotFence.readLock().unlock();
+        }
+        invalidateCached(id);
+        commit(lsn[0]);
+        return removed[0];
+    }
+
+    /**
+     * 按存储中的病历重建该ID的索引，记录已不存在时移除其索引
+     */
+    void repairIndex(String id) {
+        snapshotFence.readLock().lock();
+        try {
+            database.compute(id, record -> {
+                index.update(id, record);
+                return record;
+            });
+        } finally {
+            snapshotFence.readLock().unlock();
+        }
+    }
+
+    private static boolean isCreatedBefore(MedicalRecord record, LocalDateTime cutoff) {
+        return record != null && record.getCreateTime() != null && record.getCreateTime().isBefore(cutoff);
+    }
+
+    private void applyRecovered(MedicalRecord record) {
+        rememberId(record.getId());
+        database.compute(record.getId(), previous -> record);
+        index.update(record.getId(), record);
+    }
+
+    // 未启用预写日志时返回 0，commit 对 0 不做等待
+    private long logPut(MedicalRecord record) {
+        return recordLog != null ? recordLog.appendPut(record) : 0;
+    }
+
+    private long logDelete(String id) {
+        return recordLog != null ? recordLog.appendDelete(id) : 0;
+    }
+
+    private void commit(long lsn) {
+        if (recordLog != null && lsn > 0) {
+            recordLog.commit(lsn);
+        }
+    }
+
+    // 先读重建中的过滤器：读到 null 时重建已完成，随后读到的 knownIds 即为新过滤器
+    private void rememberId(String id) {
+        BloomFilter rebuilding = rebuildingIds;
+        BloomFilter filter = knownIds;
+        if (filter != null) {
+            filter.put(id);
+        }
+        if (rebuilding != null && rebuilding != filter) {
+            rebuilding.put(id);
+        }
+    }
+
+    private void invalidateCached(String id) {
+        if (cache != null) {
+            cache.invalidate(id);
+        }
+    }
+
+    // 缓存权重按字符串字段的近似堆占用估算
+    static int weightOf(MedicalRecord record) {
+        int chars = length(record.getId()) + length(record.getPatientId()) + length(record.getDoctorId())
+                + length(record.getDiagnosis()) + length(record.getPrescription()) + length(record.getStatus());
+        return 160 + 2 * chars;
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    private List<MedicalRecord> resolve(Set<String> ids) {
+        List<MedicalRecord> records = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            MedicalRecord record = database.get(id);
+            if (record != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
     
     private void validateDatabaseConnection() {
         // 模拟数据库连接检查
-        System.out.println("租户2：验证企业数据库连接状态");
+        log.debug("租户2：验证企业数据库连接状态");
         
         // 这里可以添加实际的数据库连接检查逻辑
         // 例如：检查连接池状态、数据库响应时间等
         
-        System.out.println("租户2：数据库连接正常");
+        log.debug("租户2：数据库连接正常");
     }
     
-    private void createDatabaseIndexes(MedicalRecord record) {
-        // 模拟为关键字段创建索引
-        System.out.println("租户2：为病历数据创建数据库索引");
-        
-        // 示例：为患者ID和医生ID创建索引
-        System.out.println("租户2：为患者ID创建索引: " + record.getPatientId());
-        System.out.println("租户2：为医生ID创建索引: " + record.getDoctorId());
-        
-        // 在实际实现中，这里会执行CREATE INDEX SQL语句
+    /**
+     * 立即安排一轮数据库维护：快照与日志清理、过滤器重建、堆外整理
+     * 由维护线程按增量预算执行，不在调用线程上遍历数据；返回各维护任务当前的进度与开销
+     */
+    public Map<String, Object> requestDatabaseMaintenance() {
+        Map<String, Object> report = new HashMap<>();
+        if (maintenanceScheduler == null) {
+            report.put("status", "DISABLED");
+            return report;
+        }
+        List<String> requested = new ArrayList<>();
+        for (String task : new String[] {"snapshot", "id-filter-rebuild", "offheap-compaction"}) {
+            if (maintenanceScheduler.requestPass(task)) {
+                requested.add(task);
+            }
+        }
+        log.info("租户2：已安排数据库维护任务 {}", requested);
+        report.put("status", "SCHEDULED");
+        report.put("requested", requested);
+        report.put("tasks", maintenanceMetrics());
+        return report;
     }
-    
-    public void performDatabaseMaintenance() {
-        System.out.println("租户2：执行数据库维护任务");
-        
-        // 模拟数据库维护操作
-        System.out.println("租户2：清理过期数据");
-        System.out.println("租户2：优化数据库索引");
-        System.out.println("租户2：更新统计信息");
-        
-        Map<String, Object> stats = getDatabaseStatistics();
-        System.out.println("租户2：数据库维护完成，当前统计: " + stats);
+
+    int recordCount() {
+        return database.size();
+    }
+
+    // 维护任务使用：时间点遍历存储，写入不等待
+    Iterator<MedicalRecord> recordIterator() {
+        return database.iterator();
+    }
+
+    /**
+     * 快照的日志位置：短暂独占栅栏，等待进行中的写入应用到存储；日志无新增时返回 -1
+     */
+    long snapshotLsn() {
+        long lsn;
+        snapshotFence.writeLock().lock();
+        try {
+            lsn = recordLog.getWal().getWrittenLsn();
+        } finally {
+            snapshotFence.writeLock().unlock();
+        }
+        return lsn > lastSnapshotLsn ? lsn : -1;
+    }
+
+    /**
+     * 快照落盘后删除其之前的日志分段，返回本次快照报告
+     */
+    Map<String, Object> snapshotWritten(SnapshotStore.Snapshot snapshot) {
+        WriteAheadLog wal = recordLog.getWal();
+        lastSnapshotLsn = snapshot.getLsn();
+        int deletedSegments;
+        try {
+            deletedSegments = wal.deleteSegmentsBefore(snapshot.getLsn());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Map<String, Object> result = new HashMap<>();
+        result.put("lsn", snapshot.getLsn());
+        result.put("records", snapshot.getRecords());
+        result.put("bytes", snapshot.getBytes());
+        result.put("elapsedMillis", snapshot.getElapsedMillis());
+        result.put("deletedLogSegments", deletedSegments);
+        result.put("remainingLogSegments", wal.getSegmentCount());
+        log.info("租户2：快照完成: {}", result);
+        return result;
+    }
+
+    /**
+     * 记录数超过过滤器容量后开始重建，新过滤器按两倍记录数建立，误判率恢复到配置值
+     * 登记新过滤器时短暂独占栅栏：此后的写入同时登记两个过滤器，此前完成的写入由遍历存储覆盖；
+     * 过滤器未饱和时返回 null
+     */
+    BloomFilter beginIdFilterRebuild() {
+        if (knownIds == null || !knownIds.isSaturated()) {
+            return null;
+        }
+        long expected = Math.max(bloomExpectedRecords, 2L * database.size());
+        BloomFilter rebuilt = new BloomFilter(expected, bloomFalsePositiveRate);
+        snapshotFence.writeLock().lock();
+        try {
+            rebuildingIds = rebuilt;
+        } finally {
+            snapshotFence.writeLock().unlock();
+        }
+        return rebuilt;
+    }
+
+    /**
+     * 遍历完成后替换过滤器，传入 null 表示放弃本次重建
+     */
+    void completeIdFilterRebuild(BloomFilter rebuilt) {
+        if (rebuilt != null) {
+            knownIds = rebuilt;
+            log.info("租户2：不存在ID过滤器已重建，登记 {} 个ID", rebuilt.getInsertions());
+        }
+        rebuildingIds = null;
+    }
+
+    /**
+     * 所有维护任务共用一个低优先级线程，每个增量使用相同的 CPU 与读写量预算：
+     * 快照、过滤器重建按记录分片，堆外整理按数据块分片，过期清理、索引校验、统计刷新按ID分片
+     */
+    private void startMaintenance() {
+        if (maintenanceIntervalSeconds <= 0) {
+            return;
+        }
+        maintenanceScheduler = new MaintenanceScheduler("tenant2-db-maintenance",
+                incrementCpuMillis, incrementIoKb << 10, incrementPauseMillis);
+        long maintenanceInterval = TimeUnit.SECONDS.toMillis(maintenanceIntervalSeconds);
+        if (recordLog != null) {
+            snapshotTask = new SnapshotTask(this, snapshots);
+            maintenanceScheduler.register(snapshotTask, maintenanceInterval);
+        }
+        if (knownIds != null) {
+            maintenanceScheduler.register(new IdFilterRebuildTask(this), maintenanceInterval);
+        }
+        if (database instanceof OffHeapRecordStore) {
+            maintenanceScheduler.register(new OffHeapCompactionTask("offheap-compaction",
+                    (OffHeapRecordStore<MedicalRecord>) database), maintenanceInterval);
+        }
+        if (scanIntervalSeconds > 0) {
+            long scanInterval = TimeUnit.SECONDS.toMillis(scanIntervalSeconds);
+            if (retentionDays > 0) {
+                maintenanceScheduler.register(new RecordRetentionTask(this, index, retentionDays), scanInterval);
+            }
+            maintenanceScheduler.register(new IndexVerificationTask(this, index), scanInterval);
+            statisticsTask = new RecordStatisticsTask(this, index);
+            maintenanceScheduler.register(statisticsTask, scanInterval);
+        }
+        maintenanceScheduler.start();
+    }
+
+    private List<Map<String, Object>> maintenanceMetrics() {
+        List<Map<String, Object>> tasks = new ArrayList<>();
+        for (MaintenanceScheduler.TaskMetrics metrics : maintenanceScheduler.getMetrics()) {
+            Map<String, Object> task = new HashMap<>();
+            task.put("name", metrics.getName());
+            task.put("inPass", metrics.isInPass());
+            task.put("progress", metrics.getProgress());
+            task.put("passes", metrics.getPasses());
+            task.put("failures", metrics.getFailures());
+            task.put("increments", metrics.getIncrements());
+            task.put("items", metrics.getItems());
+            task.put("cpuMillis", metrics.getCpuMillis());
+            task.put("ioBytes", metrics.getIoBytes());
+            task.put("maxIncrementMicros", metrics.getMaxIncrementMicros());
+            task.put("lastPassMillis", metrics.getLastPassMillis());
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    /**
+     * 批量导入结果
+     */
+    public static final class ImportResult {
+        private long records;
+        private int batches;
+        private long elapsedNanos;
+
+        public long getRecords() { return records; }
+        public int getBatches() { return batches; }
+        public long getElapsedMillis() { return TimeUnit.NANOSECONDS.toMillis(elapsedNanos); }
+
+        public double getRecordsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : records * 1_000_000_000.0 / elapsedNanos;
+        }
     }
-}
\ No newline at end of file
+}
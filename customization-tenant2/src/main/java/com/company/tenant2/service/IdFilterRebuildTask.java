@@ -0,0 +1,75 @@
+package com.company.tenant2.service;
+
+import com.company.core.cache.BloomFilter;
+import com.company.core.maintenance.IncrementalTask;
+import com.company.core.maintenance.MaintenanceBudget;
+import com.company.core.model.MedicalRecord;
+
+import java.util.Iterator;
+
+/**
+ * 过滤器重建 - 记录数超过不存在ID过滤器容量后，按增量预算遍历存储登记到新过滤器
+ * 重建期间的写入同时登记两个过滤器，遍历完成后整体替换；过滤器未饱和时本轮直接结束
+ */
+class IdFilterRebuildTask implements IncrementalTask {
+
+    private final DatabaseService database;
+
+    // 当前一轮的状态，仅维护线程访问
+    private BloomFilter rebuilt;
+    private Iterator<MedicalRecord> records;
+    private volatile long total;
+    private volatile long visited;
+
+    IdFilterRebuildTask(DatabaseService database) {
+        this.database = database;
+    }
+
+    @Override
+    public String getName() {
+        return "id-filter-rebuild";
+    }
+
+    @Override
+    public void startPass() {
+        rebuilt = database.beginIdFilterRebuild();
+        if (rebuilt != null) {
+            records = database.recordIterator();
+            total = database.recordCount();
+            visited = 0;
+        }
+    }
+
+    @Override
+    public boolean runIncrement(MaintenanceBudget budget) {
+        if (rebuilt == null) {
+            return true;
+        }
+        try {
+            while (records.hasNext() && !budget.isExhausted()) {
+                MedicalRecord record = records.next();
+                rebuilt.put(record.getId());
+                budget.recordItem(DatabaseService.weightOf(record));
+                visited++;
+            }
+        } catch (RuntimeException e) {
+            rebuilt = null;
+            records = null;
+            database.completeIdFilterRebuild(null);
+            throw e;
+        }
+        if (records.hasNext()) {
+            return false;
+        }
+        database.completeIdFilterRebuild(rebuilt);
+        rebuilt = null;
+        records = null;
+        return true;
+    }
+
+    @Override
+    public double getProgress() {
+        long count = total;
+        return count == 0 ? 0.0 : Math.min(1.0, (double) visited / count);
+    }
+}
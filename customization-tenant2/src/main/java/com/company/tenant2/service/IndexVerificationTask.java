@@ -0,0 +1,35 @@
+package com.company.tenant2.service;
+
+import com.company.core.maintenance.KeyScanTask;
+import com.company.core.model.MedicalRecord;
+
+/**
+ * 索引校验 - 增量比对二级索引与存储中的病历，修复不一致的条目
+ * 直接修改病历对象未重新保存、或存储中已不存在的记录，都会在下一轮校验中修正
+ */
+class IndexVerificationTask extends KeyScanTask {
+
+    private final DatabaseService database;
+    private final MedicalRecordIndex index;
+    private volatile long repaired;
+
+    IndexVerificationTask(DatabaseService database, MedicalRecordIndex index) {
+        super("index-verification", index::ids);
+        this.database = database;
+        this.index = index;
+    }
+
+    @Override
+    protected long visit(String id) {
+        MedicalRecord record = database.readForMaintenance(id);
+        if (!index.matches(id, record)) {
+            database.repairIndex(id);
+            repaired++;
+        }
+        return record != null ? DatabaseService.weightOf(record) : 0;
+    }
+
+    long getRepaired() {
+        return repaired;
+    }
+}
@@ -0,0 +1,46 @@
+package com.company.tenant2.service;
+
+import com.company.core.model.MedicalRecord;
+import com.company.core.store.BinaryReader;
+import com.company.core.store.BinaryWriter;
+import com.company.core.store.RecordCodec;
+
+/**
+ * 病历二进制编码，用于预写日志
+ * 首字节为格式版本，字段新增时递增版本并保持旧版本可读
+ */
+class MedicalRecordCodec implements RecordCodec<MedicalRecord> {
+
+    private static final byte VERSION = 1;
+
+    @Override
+    public String keyOf(MedicalRecord record) {
+        return record.getId();
+    }
+
+    @Override
+    public void encode(MedicalRecord record, BinaryWriter out) {
+        out.writeByte(VERSION);
+        out.writeString(record.getId());
+        out.writeString(record.getPatientId());
+        out.writeString(record.getDoctorId());
+        out.writeString(record.getDiagnosis());
+        out.writeString(record.getPrescription());
+        out.writeString(record.getStatus());
+        out.writeDateTime(record.getCreateTime());
+    }
+
+    @Override
+    public MedicalRecord decode(BinaryReader in) {
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IllegalStateException("不支持的病历编码版本: " + version);
+        }
+        MedicalRecord record = new MedicalRecord(in.readString(), in.readString(), in.readString());
+        record.setDiagnosis(in.readString());
+        record.setPrescription(in.readString());
+        record.setStatus(in.readString());
+        record.setCreateTime(in.readDateTime());
+        return record;
+    }
+}
@@ -0,0 +1,250 @@
+package com.company.tenant2.service;
+
+import com.company.core.model.MedicalRecord;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 病历二级索引 - patientId、doctorId 到记录ID集合，status 到记录数
+ * 由 DatabaseService 在单条记录的 compute 内调用 update，同一ID的索引变更串行执行；
+ * 索引键在写入时捕获，直接修改记录对象后需重新保存才会反映到索引。
+ * 批量导入使用 {@link Batch}：compute 内只登记索引键，批次结束后按患者/医生分组写入集合
+ */
+class MedicalRecordIndex {
+
+    static final String UNKNOWN = "UNKNOWN";
+
+    private final ConcurrentHashMap<String, Keys> keysById = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<String>> byPatient = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<String>> byDoctor = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongAdder> byStatus = new ConcurrentHashMap<>();
+
+    /**
+     * 记录写入或删除后更新索引，record 为 null 表示删除
+     */
+    void update(String id, MedicalRecord record) {
+        // 先登记索引键再改集合，批量写入据此判断其延迟变更是否仍然有效
+        Keys current = record != null ? new Keys(record) : null;
+        Keys previous = current != null ? keysById.put(id, current) : keysById.remove(id);
+        if (Objects.equals(previous, current)) {
+            return;
+        }
+        if (previous != null) {
+            removeFrom(byPatient, previous.patientId, id);
+            removeFrom(byDoctor, previous.doctorId, id);
+            statusCounter(previous.status).decrement();
+        }
+        if (current != null) {
+            addTo(byPatient, current.patientId, id);
+            addTo(byDoctor, current.doctorId, id);
+            statusCounter(current.status).increment();
+        }
+    }
+
+    Batch newBatch() {
+        return new Batch();
+    }
+
+    /**
+     * 已索引的全部记录ID，弱一致视图
+     */
+    Set<String> ids() {
+        return Collections.unmodifiableSet(keysById.keySet());
+    }
+
+    /**
+     * 索引中记录的键是否与病历当前字段一致，record 为 null 时要求索引中没有该ID
+     */
+    boolean matches(String id, MedicalRecord record) {
+        Keys keys = keysById.get(id);
+        return record != null ? new Keys(record).equals(keys) : keys == null;
+    }
+
+    Set<String> idsForPatient(String patientId) {
+        return view(byPatient, patientId);
+    }
+
+    Set<String> idsForDoctor(String doctorId) {
+        return view(byDoctor, doctorId);
+    }
+
+    long countByStatus(String status) {
+        LongAdder counter = byStatus.get(status != null ? status : UNKNOWN);
+        return counter != null ? counter.sum() : 0;
+    }
+
+    Map<String, Long> statusCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        byStatus.forEach((status, counter) -> {
+            long count = counter.sum();
+            if (count != 0) {
+                counts.put(status, count);
+            }
+        });
+        return counts;
+    }
+
+    int patientCount() {
+        return byPatient.size();
+    }
+
+    int doctorCount() {
+        return byDoctor.size();
+    }
+
+    private LongAdder statusCounter(String status) {
+        String key = status != null ? status : UNKNOWN;
+        LongAdder counter = byStatus.get(key);
+        return counter != null ? counter : byStatus.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    private static void addTo(ConcurrentHashMap<String, Set<String>> index, String key, String id) {
+        if (key != null) {
+            index.compute(key, (k, ids) -> {
+                Set<String> target = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                target.add(id);
+                return target;
+            });
+        }
+    }
+
+    // 集合为空时移除索引键，避免患者/医生变更后残留空集合
+    private static void removeFrom(ConcurrentHashMap<String, Set<String>> index, String key, String id) {
+        if (key != null) {
+            index.computeIfPresent(key, (k, ids) -> ids.remove(id) && ids.isEmpty() ? null : ids);
+        }
+    }
+
+    // 仅当记录当前索引键仍指向 key 时加入，被并发更新改走的ID跳过
+    private void addAll(ConcurrentHashMap<String, Set<String>> index, Function<Keys, String> field,
+                        String key, List<String> ids) {
+        index.compute(key, (k, existing) -> {
+            Set<String> target = existing != null ? existing : ConcurrentHashMap.newKeySet();
+            for (String id : ids) {
+                Keys keys = keysById.get(id);
+                if (keys != null && key.equals(field.apply(keys))) {
+                    target.add(id);
+                }
+            }
+            return target.isEmpty() ? null : target;
+        });
+    }
+
+    // 仅当记录当前索引键已不指向 key 时移除，被并发更新改回的ID保留
+    private void removeAll(ConcurrentHashMap<String, Set<String>> index, Function<Keys, String> field,
+                           String key, List<String> ids) {
+        index.computeIfPresent(key, (k, existing) -> {
+            for (String id : ids) {
+                Keys keys = keysById.get(id);
+                if (keys == null || !key.equals(field.apply(keys))) {
+                    existing.remove(id);
+                }
+            }
+            return existing.isEmpty() ? null : existing;
+        });
+    }
+
+    private static Set<String> view(ConcurrentHashMap<String, Set<String>> index, String key) {
+        Set<String> ids = key != null ? index.get(key) : null;
+        return ids != null ? Collections.unmodifiableSet(ids) : Collections.emptySet();
+    }
+
+    /**
+     * 一批记录的索引变更，单线程使用
+     * stage 在各记录的 compute 内立即登记索引键，集合与计数的变更按键分组，apply 时每个患者/医生
+     * 只做一次 compute；apply 之前按患者、医生查询可能暂时缺少本批记录
+     */
+    final class Batch {
+
+        private final Map<String, List<String>> patientAdds = new HashMap<>();
+        private final Map<String, List<String>> patientRemoves = new HashMap<>();
+        private final Map<String, List<String>> doctorAdds = new HashMap<>();
+        private final Map<String, List<String>> doctorRemoves = new HashMap<>();
+        private final Map<String, Long> statusDeltas = new HashMap<>();
+
+        void stage(String id, MedicalRecord record) {
+            Keys current = new Keys(record);
+            Keys previous = keysById.put(id, current);
+            if (Objects.equals(previous, current)) {
+                return;
+            }
+            if (previous != null) {
+                group(patientRemoves, previous.patientId, id);
+                group(doctorRemoves, previous.doctorId, id);
+                statusDeltas.merge(statusKey(previous.status), -1L, Long::sum);
+            }
+            group(patientAdds, current.patientId, id);
+            group(doctorAdds, current.doctorId, id);
+            statusDeltas.merge(statusKey(current.status), 1L, Long::sum);
+        }
+
+        void apply() {
+            patientRemoves.forEach((patientId, ids) -> removeAll(byPatient, keys -> keys.patientId, patientId, ids));
+            doctorRemoves.forEach((doctorId, ids) -> removeAll(byDoctor, keys -> keys.doctorId, doctorId, ids));
+            patientAdds.forEach((patientId, ids) -> addAll(byPatient, keys -> keys.patientId, patientId, ids));
+            doctorAdds.forEach((doctorId, ids) -> addAll(byDoctor, keys -> keys.doctorId, doctorId, ids));
+            statusDeltas.forEach((status, delta) -> {
+                if (delta != 0) {
+                    statusCounter(status).add(delta);
+                }
+            });
+            patientAdds.clear();
+            patientRemoves.clear();
+            doctorAdds.clear();
+            doctorRemoves.clear();
+            statusDeltas.clear();
+        }
+
+        private void group(Map<String, List<String>> groups, String key, String id) {
+            if (key != null) {
+                groups.computeIfAbsent(key, k -> new ArrayList<>()).add(id);
+            }
+        }
+
+        private String statusKey(String status) {
+            return status != null ? status : UNKNOWN;
+        }
+    }
+
+    /**
+     * 写入时捕获的索引键
+     */
+    private static final class Keys {
+
+        final String patientId;
+        final String doctorId;
+        final String status;
+
+        Keys(MedicalRecord record) {
+            this.patientId = record.getPatientId();
+            this.doctorId = record.getDoctorId();
+            this.status = record.getStatus();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Keys)) {
+                return false;
+            }
+            Keys other = (Keys) o;
+            return Objects.equals(patientId, other.patientId)
+                    && Objects.equals(doctorId, other.doctorId)
+                    && Objects.equals(status, other.status);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(patientId, doctorId, status);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.company.tenant2.service;
+
+import com.company.core.maintenance.KeyScanTask;
+import com.company.core.model.MedicalRecord;
+
+import java.time.LocalDateTime;
+
+/**
+ * 过期病历清理 - 增量扫描，删除创建时间早于保留期的病历
+ * 删除写入预写日志并同步索引与缓存；截止时间在每轮开始时确定
+ */
+class RecordRetentionTask extends KeyScanTask {
+
+    private final DatabaseService database;
+    private final int retentionDays;
+    private volatile LocalDateTime cutoff;
+    private volatile long removed;
+
+    RecordRetentionTask(DatabaseService database, MedicalRecordIndex index, int retentionDays) {
+        super("record-retention", index::ids);
+        this.database = database;
+        this.retentionDays = retentionDays;
+    }
+
+    @Override
+    public void startPass() {
+        cutoff = LocalDateTime.now().minusDays(retentionDays);
+        super.startPass();
+    }
+
+    @Override
+    protected long visit(String id) {
+        MedicalRecord record = database.readForMaintenance(id);
+        if (record == null) {
+            return 0;
+        }
+        if (database.removeIfCreatedBefore(id, cutoff)) {
+            removed++;
+        }
+        return DatabaseService.weightOf(record);
+    }
+
+    long getRemoved() {
+        return removed;
+    }
+}
@@ -0,0 +1,94 @@
+package com.company.tenant2.service;
+
+import com.company.core.maintenance.KeyScanTask;
+import com.company.core.model.MedicalRecord;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 病历统计刷新 - 增量扫描累计创建时间分布与估算容量，每轮结束后整体替换结果
+ * 查询统计时直接读取上一轮结果，不再同步遍历全部记录
+ */
+class RecordStatisticsTask extends KeyScanTask {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final DatabaseService database;
+    private volatile Map<String, Object> latest = Collections.emptyMap();
+
+    // 当前一轮的累计值，仅维护线程访问
+    private LocalDateTime passStart;
+    private long records;
+    private long estimatedBytes;
+    private long lastDay;
+    private long lastWeek;
+    private long lastMonth;
+    private LocalDateTime oldest;
+    private LocalDateTime newest;
+
+    RecordStatisticsTask(DatabaseService database, MedicalRecordIndex index) {
+        super("record-statistics", index::ids);
+        this.database = database;
+    }
+
+    @Override
+    public void startPass() {
+        passStart = LocalDateTime.now();
+        records = 0;
+        estimatedBytes = 0;
+        lastDay = 0;
+        lastWeek = 0;
+        lastMonth = 0;
+        oldest = null;
+        newest = null;
+        super.startPass();
+    }
+
+    @Override
+    protected long visit(String id) {
+        MedicalRecord record = database.readForMaintenance(id);
+        if (record == null) {
+            return 0;
+        }
+        int bytes = DatabaseService.weightOf(record);
+        records++;
+        estimatedBytes += bytes;
+        LocalDateTime created = record.getCreateTime();
+        if (created != null) {
+            long ageHours = Duration.between(created, passStart).toHours();
+            lastDay += ageHours < 24 ? 1 : 0;
+            lastWeek += ageHours < 24 * 7 ? 1 : 0;
+            lastMonth += ageHours < 24 * 30 ? 1 : 0;
+            oldest = oldest == null || created.isBefore(oldest) ? created : oldest;
+            newest = newest == null || created.isAfter(newest) ? created : newest;
+        }
+        return bytes;
+    }
+
+    @Override
+    protected void passCompleted() {
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("records", records);
+        statistics.put("estimatedBytes", estimatedBytes);
+        statistics.put("averageBytes", records == 0 ? 0 : estimatedBytes / records);
+        statistics.put("createdLastDay", lastDay);
+        statistics.put("createdLastWeek", lastWeek);
+        statistics.put("createdLastMonth", lastMonth);
+        statistics.put("oldestCreateTime", oldest != null ? oldest.format(FORMATTER) : null);
+        statistics.put("newestCreateTime", newest != null ? newest.format(FORMATTER) : null);
+        statistics.put("refreshedAt", LocalDateTime.now().format(FORMATTER));
+        latest = Collections.unmodifiableMap(statistics);
+    }
+
+    /**
+     * 最近一轮完成的统计，尚未完成任何一轮时为空
+     */
+    Map<String, Object> getLatest() {
+        return latest;
+    }
+}
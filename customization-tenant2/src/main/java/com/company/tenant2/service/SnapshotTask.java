@@ -0,0 +1,110 @@
+package com.company.tenant2.service;
+
+import com.company.core.maintenance.IncrementalTask;
+import com.company.core.maintenance.MaintenanceBudget;
+import com.company.core.model.MedicalRecord;
+import com.company.core.store.log.SnapshotStore;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * 快照任务 - 按增量预算分片写快照，完成后删除快照之前的日志分段
+ * 每轮开始时在快照栅栏下读取日志位置并打开快照文件，之后每个增量写入一批记录，期间不阻塞写入；
+ * 日志无新增时本轮直接结束。快照文件在最后一个增量中落盘并原子替换，中途失败则丢弃
+ */
+class SnapshotTask implements IncrementalTask {
+
+    private final DatabaseService database;
+    private final SnapshotStore<MedicalRecord> snapshots;
+    private volatile Map<String, Object> latest = Collections.emptyMap();
+
+    // 当前一轮的状态，仅维护线程访问
+    private SnapshotStore<MedicalRecord>.Writer writer;
+    private Iterator<MedicalRecord> records;
+    private volatile long total;
+    private volatile long written;
+
+    SnapshotTask(DatabaseService database, SnapshotStore<MedicalRecord> snapshots) {
+        this.database = database;
+        this.snapshots = snapshots;
+    }
+
+    @Override
+    public String getName() {
+        return "snapshot";
+    }
+
+    @Override
+    public void startPass() {
+        abort();
+        long lsn = database.snapshotLsn();
+        if (lsn < 0) {
+            return;
+        }
+        try {
+            writer = snapshots.begin(lsn);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        records = database.recordIterator();
+        total = database.recordCount();
+        written = 0;
+    }
+
+    @Override
+    public boolean runIncrement(MaintenanceBudget budget) {
+        if (writer == null) {
+            return true;
+        }
+        try {
+            while (records.hasNext() && !budget.isExhausted()) {
+                budget.recordItem(writer.append(records.next()));
+                written++;
+            }
+            if (records.hasNext()) {
+                return false;
+            }
+            SnapshotStore.Snapshot snapshot = writer.finish();
+            writer = null;
+            records = null;
+            latest = database.snapshotWritten(snapshot);
+            return true;
+        } catch (IOException e) {
+            abort();
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            abort();
+            throw e;
+        }
+    }
+
+    @Override
+    public double getProgress() {
+        long count = total;
+        return count == 0 ? 0.0 : Math.min(1.0, (double) written / count);
+    }
+
+    /**
+     * 丢弃未完成的快照文件，维护线程停止后由关闭流程调用
+     */
+    void abort() {
+        SnapshotStore<MedicalRecord>.Writer current = writer;
+        writer = null;
+        records = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                // 临时文件下次同一位置的快照会覆盖
+            }
+        }
+    }
+
+    Map<String, Object> getLatest() {
+        return latest;
+    }
+}
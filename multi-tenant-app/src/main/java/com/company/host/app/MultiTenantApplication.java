@@ -0,0 +1,21 @@
+package com.company.host.app;
+
+import com.company.core.config.CoreSystemConfig;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ComponentScan;
+
+/**
+ * 多租户宿主应用：一个 JVM 内并行运行多个租户
+ * 父容器只包含 Web 层与租户路由，不扫描 com.company.core，
+ * 核心与租户定制 Bean 由 TenantHost 为每个租户创建的子容器各自持有；
+ * 排除核心自动配置，否则父容器中的默认 Bean 会被子容器看到，使各租户的默认 Bean 不再创建
+ */
+@SpringBootApplication(exclude = CoreSystemConfig.class)
+@ComponentScan(basePackages = {"com.company.host.app"})
+public class MultiTenantApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(MultiTenantApplication.class, args);
+    }
+}
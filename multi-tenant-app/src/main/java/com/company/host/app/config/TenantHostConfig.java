@@ -0,0 +1,24 @@
+package com.company.host.app.config;
+
+import com.company.host.app.runtime.TenantHost;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Arrays;
+
+/**
+ * 启动 host.tenants 中列出的租户，宿主关闭时依次关闭各租户子容器
+ */
+@Configuration
+public class TenantHostConfig {
+
+    @Bean(destroyMethod = "close")
+    public TenantHost tenantHost(ConfigurableApplicationContext applicationContext,
+                                 @Value("${host.tenants:tenant1,tenant2}") String[] tenantIds) {
+        TenantHost host = new TenantHost(applicationContext);
+        host.startAll(Arrays.asList(tenantIds));
+        return host;
+    }
+}
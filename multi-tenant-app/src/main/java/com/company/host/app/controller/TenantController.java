@@ -0,0 +1,62 @@
+package com.company.host.app.controller;
+
+import com.company.core.dto.ApiResponse;
+import com.company.host.app.runtime.TenantHost;
+import com.company.host.app.runtime.TenantRuntime;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tenant Controller - hosted tenants and their processor, listeners and event bus
+ */
+@RestController
+@RequestMapping("/api/tenants")
+public class TenantController {
+
+    @Autowired
+    private TenantHost tenantHost;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> listTenants() {
+        List<Map<String, Object>> tenants = new ArrayList<>();
+        for (TenantRuntime tenant : tenantHost.getTenants()) {
+            tenants.add(describe(tenant));
+        }
+        return ResponseEntity.ok(ApiResponse.success("租户列表获取成功", tenants));
+    }
+
+    @GetMapping("/{tenantId}")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getTenant(@PathVariable String tenantId) {
+        TenantRuntime tenant = tenantHost.resolve(tenantId);
+        if (tenant == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("未知租户: " + tenantId, "UNKNOWN_TENANT"));
+        }
+        return ResponseEntity.ok(ApiResponse.success("租户信息获取成功", describe(tenant)));
+    }
+
+    private Map<String, Object> describe(TenantRuntime tenant) {
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("tenantId", tenant.getTenantId());
+        info.put("name", tenant.getName());
+        info.put("type", tenant.getType());
+        info.put("processor", tenant.getProcessor().getClass().getSimpleName());
+        info.put("listeners", tenant.getListeners());
+        info.put("startupMillis", tenant.getStartupMillis());
+        if (tenant.getEventBus() != null) {
+            Map<String, Object> eventBus = new LinkedHashMap<>();
+            eventBus.put("running", tenant.getEventBus().isRunning());
+            eventBus.put("published", tenant.getEventBus().getPublishedCount());
+            eventBus.put("pending", tenant.getEventBus().getPendingEvents());
+            info.put("eventBus", eventBus);
+        }
+        return info;
+    }
+}
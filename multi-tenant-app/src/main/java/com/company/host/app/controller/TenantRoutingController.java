@@ -0,0 +1,96 @@
+package com.company.host.app.controller;
+
+import com.company.core.dto.ApiResponse;
+import com.company.core.logging.CoreLogger;
+import com.company.core.logging.CoreLoggerFactory;
+import com.company.core.model.BusinessContext;
+import com.company.host.app.runtime.TenantHost;
+import com.company.host.app.runtime.TenantRuntime;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Tenant Routing Controller - one endpoint for every hosted tenant
+ * The tenant comes from the X-Tenant-Id header or the request's tenantId; the request is
+ * processed by that tenant's processor and listener chain on the processor's async executor.
+ */
+@RestController
+@RequestMapping("/api/business")
+public class TenantRoutingController {
+
+    public static final String TENANT_HEADER = "X-Tenant-Id";
+
+    private static final CoreLogger log = CoreLoggerFactory.getLogger(TenantRoutingController.class);
+
+    @Autowired
+    private TenantHost tenantHost;
+
+    @PostMapping("/process")
+    public CompletableFuture<ResponseEntity<Object>> processBusiness(
+            @RequestHeader(value = TENANT_HEADER, required = false) String headerTenantId,
+            @RequestBody Map<String, Object> request) {
+        String bodyTenantId = (String) request.get("tenantId");
+        if (headerTenantId != null && bodyTenantId != null && !headerTenantId.equals(bodyTenantId)) {
+            return reject(HttpStatus.BAD_REQUEST, "请求头与请求体中的租户不一致", "TENANT_MISMATCH");
+        }
+        String tenantId = headerTenantId != null ? headerTenantId : bodyTenantId;
+        if (tenantId == null) {
+            return reject(HttpStatus.BAD_REQUEST, "缺少租户标识，请设置 " + TENANT_HEADER + " 或 tenantId", "TENANT_REQUIRED");
+        }
+        TenantRuntime tenant = tenantHost.resolve(tenantId);
+        if (tenant == null) {
+            return reject(HttpStatus.NOT_FOUND, "未知租户: " + tenantId, "UNKNOWN_TENANT");
+        }
+
+        BusinessContext context = buildBusinessContext(request, tenantId);
+        log.debug("HOST: Routing {} to {}", context.getScenario(), tenantId);
+
+        return tenant.getProcessor().processBusinessAsync(context)
+            .thenApply(result -> ResponseEntity.<Object>ok(result));
+    }
+
+    @PostMapping("/{scenario}")
+    public CompletableFuture<ResponseEntity<Object>> processScenario(
+            @RequestHeader(value = TENANT_HEADER, required = false) String headerTenantId,
+            @PathVariable String scenario,
+            @RequestBody Map<String, Object> data) {
+        Map<String, Object> request = new HashMap<>();
+        request.put("scenario", scenario);
+        request.put("businessType", data.getOrDefault("businessType", scenario.toUpperCase() + "_PROCESS"));
+        request.put("tenantId", data.get("tenantId"));
+        request.put("operatorId", data.getOrDefault("operatorId", "system"));
+        request.put("data", data);
+
+        return processBusiness(headerTenantId, request);
+    }
+
+    private BusinessContext buildBusinessContext(Map<String, Object> request, String tenantId) {
+        String scenario = (String) request.get("scenario");
+        String businessType = (String) request.get("businessType");
+
+        BusinessContext context = new BusinessContext(scenario, businessType);
+        context.setBusinessId(tenantId.toUpperCase() + "-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+        context.setTenantId(tenantId);
+        context.setOperatorId((String) request.getOrDefault("operatorId", "system"));
+
+        Object data = request.get("data");
+        if (data instanceof Map) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> businessData = (Map<String, Object>) data;
+            context.setData(businessData);
+        }
+
+        return context;
+    }
+
+    private static CompletableFuture<ResponseEntity<Object>> reject(HttpStatus status, String message, String code) {
+        return CompletableFuture.completedFuture(ResponseEntity.status(status).body(ApiResponse.error(message, code)));
+    }
+}
@@ -0,0 +1,111 @@
+package com.company.host.app.runtime;
+
+import com.company.core.logging.CoreLogger;
+import com.company.core.logging.CoreLoggerFactory;
+import com.company.core.tenant.TenantTable;
+import com.company.host.tenant.TenantContextConfig;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 租户宿主：为每个租户启动独立的子容器，并按租户ID路由
+ * 子容器以父容器为 parent，激活与租户同名的 profile（加载 application-{租户}.yml），
+ * 设置 tenant.id 后导入核心自动配置并扫描 com.company.{租户}，因此各租户拥有自己的
+ * 处理器、事件总线与监听器链，而核心类只加载一次、共享 JIT 编译结果。
+ * 路由查询走无锁租户表 {@link TenantTable}，不加锁、不分配对象。
+ */
+public class TenantHost implements AutoCloseable {
+
+    private static final CoreLogger log = CoreLoggerFactory.getLogger(TenantHost.class);
+
+    private static final String TENANT_PACKAGE_PREFIX = "com.company.";
+
+    private final ConfigurableApplicationContext parent;
+    private final TenantTable<TenantRuntime> tenants = new TenantTable<>();
+
+    public TenantHost(ConfigurableApplicationContext parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * 依次启动租户，任一租户启动失败则关闭已启动的租户并抛出异常
+     */
+    public void startAll(List<String> tenantIds) {
+        try {
+            for (String tenantId : tenantIds) {
+                start(tenantId.trim());
+            }
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * 启动单个租户的子容器并登记到租户表，已存在的同名租户被替换并关闭
+     */
+    public TenantRuntime start(String tenantId) {
+        long start = System.nanoTime();
+        log.info("HOST: Starting tenant {}", tenantId);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TenantContextConfig.class)
+            .parent(parent)
+            .web(WebApplicationType.NONE)
+            .bannerMode(Banner.Mode.OFF)
+            .registerShutdownHook(false)
+            .profiles(tenantId)
+            .properties("tenant.id=" + tenantId)
+            .initializers(applicationContext ->
+                ((AnnotationConfigApplicationContext) applicationContext).scan(TENANT_PACKAGE_PREFIX + tenantId))
+            .run();
+        TenantRuntime runtime = new TenantRuntime(tenantId, context,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        TenantRuntime previous = tenants.register(tenantId, runtime);
+        if (previous != null) {
+            previous.close();
+        }
+        log.info("HOST: Tenant {} started in {} ms with processor {}", tenantId, runtime.getStartupMillis(),
+            runtime.getProcessor().getClass().getSimpleName());
+        return runtime;
+    }
+
+    /**
+     * 按租户ID查找运行时，未知租户返回 null
+     */
+    public TenantRuntime resolve(String tenantId) {
+        return tenants.resolve(tenantId);
+    }
+
+    /**
+     * 从路由中移除租户并关闭其子容器
+     */
+    public boolean stop(String tenantId) {
+        TenantRuntime runtime = tenants.remove(tenantId);
+        if (runtime == null) {
+            return false;
+        }
+        runtime.close();
+        log.info("HOST: Tenant {} stopped", tenantId);
+        return true;
+    }
+
+    public List<String> getTenantIds() {
+        return tenants.tenantIds();
+    }
+
+    public List<TenantRuntime> getTenants() {
+        return tenants.runtimes();
+    }
+
+    @Override
+    public void close() {
+        for (String tenantId : tenants.tenantIds()) {
+            stop(tenantId);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.company.host.app.runtime;
+
+import com.company.core.event.BusinessEventBus;
+import com.company.core.event.BusinessEventListener;
+import com.company.core.processor.UniversalProcessor;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 单个租户的运行时：租户子容器及从中解析出的处理器与监听器链
+ * 处理器、事件总线等在启动时解析一次，请求路由时直接使用
+ */
+public class TenantRuntime implements AutoCloseable {
+
+    private final String tenantId;
+    private final String name;
+    private final String type;
+    private final ConfigurableApplicationContext context;
+    private final UniversalProcessor processor;
+    private final BusinessEventBus eventBus;
+    private final List<String> listeners;
+    private final long startupMillis;
+
+    TenantRuntime(String tenantId, ConfigurableApplicationContext context, long startupMillis) {
+        this.tenantId = tenantId;
+        this.context = context;
+        this.name = context.getEnvironment().getProperty("tenant.name", tenantId);
+        this.type = context.getEnvironment().getProperty("tenant.type", "STANDARD");
+        this.processor = context.getBean(UniversalProcessor.class);
+        this.eventBus = processor.getEventBus();
+        List<String> listenerNames = new ArrayList<>();
+        for (BusinessEventListener listener : context.getBeansOfType(BusinessEventListener.class).values()) {
+            listenerNames.add(listener.getClass().getSimpleName());
+        }
+        this.listeners = Collections.unmodifiableList(listenerNames);
+        this.startupMillis = startupMillis;
+    }
+
+    public String getTenantId() { return tenantId; }
+    public String getName() { return name; }
+    public String getType() { return type; }
+    public UniversalProcessor getProcessor() { return processor; }
+    public BusinessEventBus getEventBus() { return eventBus; }
+    public List<String> getListeners() { return listeners; }
+    public long getStartupMillis() { return startupMillis; }
+    public ConfigurableApplicationContext getContext() { return context; }
+
+    /**
+     * 关闭租户子容器，由容器按依赖顺序停止事件总线、发件箱等组件
+     */
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,18 @@
+package com.company.host.tenant;
+
+import com.company.core.config.CoreLoggingConfig;
+import com.company.core.config.CoreSystemConfig;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 租户子容器的根配置：核心组件与租户级配置，每个租户各一份
+ * 租户自身的定制包（com.company.{租户}）由 TenantHost 在启动子容器时追加扫描；
+ * 核心默认组件按自动配置导入，在租户组件之后处理，租户已声明的同类组件优先
+ */
+@Configuration
+@ImportAutoConfiguration({CoreLoggingConfig.class, CoreSystemConfig.class})
+@ComponentScan(basePackages = {"com.company.host.tenant"})
+public class TenantContextConfig {
+}
@@ -0,0 +1,63 @@
+package com.company.host.app;
+
+import com.company.core.processor.UniversalProcessor;
+import com.company.host.app.controller.TenantRoutingController;
+import com.company.host.app.runtime.TenantHost;
+import com.company.host.app.runtime.TenantRuntime;
+import com.company.tenant1.processor.CustomOrderProcessor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 宿主启动测试：启动全部租户子容器，并经路由控制器为每个租户处理一次请求
+ */
+@SpringBootTest
+class MultiTenantApplicationTest {
+
+    @Autowired
+    private TenantHost tenantHost;
+
+    @Autowired
+    private TenantRoutingController routingController;
+
+    @Test
+    void startsEveryTenantWithItsOwnProcessor() {
+        assertEquals(Arrays.asList("tenant1", "tenant2"), tenantHost.getTenantIds());
+
+        TenantRuntime tenant1 = tenantHost.resolve("tenant1");
+        TenantRuntime tenant2 = tenantHost.resolve("tenant2");
+        assertTrue(tenant1.getProcessor() instanceof CustomOrderProcessor);
+        assertEquals(UniversalProcessor.class, tenant2.getProcessor().getClass());
+        assertNotNull(tenant1.getEventBus());
+        assertNotNull(tenant2.getEventBus());
+    }
+
+    @Test
+    void routesOneRequestPerTenant() throws Exception {
+        for (String tenantId : tenantHost.getTenantIds()) {
+            Map<String, Object> data = new HashMap<>();
+            data.put("orderId", "ORD-" + tenantId);
+            data.put("amount", 100);
+
+            ResponseEntity<Object> response = routingController
+                .processScenario(tenantId, "order", data)
+                .get(10, TimeUnit.SECONDS);
+
+            assertEquals(HttpStatus.OK, response.getStatusCode(), tenantId);
+            UniversalProcessor.ProcessResult result = (UniversalProcessor.ProcessResult) response.getBody();
+            assertTrue(result.isSuccess(), tenantId + ": " + result.getMessage());
+        }
+    }
+}
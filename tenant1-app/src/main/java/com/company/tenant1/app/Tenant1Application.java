@@ -12,7 +12,7 @@ import org.springframework.context.annotation.ComponentScan;
 import java.math.BigDecimal;
 
 @SpringBootApplication
-@ComponentScan(basePackages = {"com.company.core", "com.company.tenant1"})
+@ComponentScan(basePackages = {"com.company.tenant1"})
 public class Tenant1Application implements CommandLineRunner {
 
     @Autowired
@@ -26,17 +26,21 @@ public class Tenant1Application implements CommandLineRunner {
     public void run(String... args) throws Exception {
         System.out.println("\n=== TENANT1 APPLICATION DEMO ===");
         
-        User user = new User("user1", "John Doe", "john@example.com", "123-456-7890");
+        User user = new User("user1", "John Doe");
+        user.setEmail("john@example.com");
+        user.setPhone("123-456-7890");
         
         System.out.println("\n--- Processing Regular Order ---");
-        Order order1 = new Order("order1", "user1", new BigDecimal("1000"));
+        Order order1 = new Order("user1", new BigDecimal("1000"));
+        order1.setId("order1");
         order1.setUser(user);
-        orderProcessor.process(order1);
+        orderProcessor.processOrder(order1);
         
         System.out.println("\n--- Processing High-Value Order (Audit Required) ---");
-        Order order2 = new Order("order2", "user1", new BigDecimal("15000"));
+        Order order2 = new Order("user1", new BigDecimal("15000"));
+        order2.setId("order2");
         order2.setUser(user);
-        orderProcessor.process(order2);
+        orderProcessor.processOrder(order2);
         
         System.out.println("\n=== DEMO COMPLETED ===\n");
     }
@@ -1,9 +1,14 @@
 package com.company.tenant1.app.controller;
 
 import com.company.core.dto.ApiResponse;
+import com.company.core.dto.CursorPage;
+import com.company.core.event.BusinessEventBus;
 import com.company.core.model.Order;
 import com.company.core.model.User;
 import com.company.core.processor.OrderProcessor;
+import com.company.core.processor.UniversalProcessor;
+import com.company.core.store.OrderStatistics;
+import com.company.core.store.OrderStore;
 import com.company.tenant1.app.dto.CreateOrderRequest;
 import com.company.tenant1.app.dto.OrderDto;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,10 +16,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -24,9 +29,13 @@ public class OrderController {
     @Autowired
     private OrderProcessor orderProcessor;
 
-    // 简单内存存储，演示用
-    private final Map<String, Order> orderStorage = new HashMap<>();
-    private final Map<String, User> userStorage = new HashMap<>();
+    @Autowired
+    private UniversalProcessor universalProcessor;
+
+    @Autowired
+    private OrderStore orderStore;
+
+    private final Map<String, User> userStorage = new ConcurrentHashMap<>();
 
     /**
      * 创建订单
@@ -46,20 +55,21 @@ public class OrderController {
             }
 
             // 创建用户对象
-            User user = new User(request.getUserId(), request.getUserName(), 
-                               request.getUserEmail(), request.getUserPhone());
+            User user = new User(request.getUserId(), request.getUserName());
+            user.setEmail(request.getUserEmail());
+            user.setPhone(request.getUserPhone());
             userStorage.put(user.getId(), user);
 
             // 创建订单
-            Order order = new Order(java.util.UUID.randomUUID().toString(), 
-                                  request.getUserId(), request.getAmount());
+            Order order = new Order(request.getUserId(), request.getAmount());
+            order.setId(java.util.UUID.randomUUID().toString());
             order.setUser(user);
             
             // 处理订单
-            orderProcessor.process(order);
+            orderProcessor.processOrder(order);
             
             // 存储订单
-            orderStorage.put(order.getId(), order);
+            orderStore.save(order);
             
             // 转换为DTO并返回
             OrderDto dto = convertToDto(order);
@@ -78,7 +88,7 @@ public class OrderController {
     @GetMapping("/{orderId}")
     public ResponseEntity<ApiResponse<OrderDto>> getOrder(@PathVariable String orderId) {
         try {
-            Order order = orderStorage.get(orderId);
+            Order order = orderStore.findById(orderId);
             
             if (order == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -102,24 +112,13 @@ public class OrderController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         try {
-            List<Order> allOrders = new ArrayList<>(orderStorage.values());
-            
-            // 按创建时间倒序排列
-            allOrders.sort((o1, o2) -> {
-                if (o1.getCreatedAt() == null && o2.getCreatedAt() == null) return 0;
-                if (o1.getCreatedAt() == null) return 1;
-                if (o2.getCreatedAt() == null) return -1;
-                return o2.getCreatedAt().compareTo(o1.getCreatedAt());
-            });
-            
-            // 简单分页
-            int startIndex = page * size;
-            int endIndex = Math.min(startIndex + size, allOrders.size());
-            
-            List<Order> pageOrders = new ArrayList<>();
-            if (startIndex < allOrders.size()) {
-                pageOrders = allOrders.subList(startIndex, endIndex);
+            if (page < 0 || size < 1) {
+                return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("分页参数无效", "INVALID_PAGE"));
             }
+
+            // 按创建时间倒序分页，直接读取时间索引
+            List<Order> pageOrders = orderStore.findNewest((long) page * size, size);
             
             // 转换为DTO
             List<OrderDto> dtos = pageOrders.stream()
@@ -134,6 +133,32 @@ public class OrderController {
         }
     }
 
+    /**
+     * 游标分页获取订单列表，按创建时间倒序
+     * 返回的 nextCursor 用于获取下一页，深分页与首页耗时相同
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiResponse<CursorPage<OrderDto>>> scrollOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            if (size < 1) {
+                return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("分页参数无效", "INVALID_PAGE"));
+            }
+
+            CursorPage<OrderDto> page = orderStore.scroll(cursor, size).map(this::convertToDto);
+            return ResponseEntity.ok(ApiResponse.success(page));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error("游标无效", "INVALID_CURSOR"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("获取订单列表失败: " + e.getMessage(), "LIST_FAILED"));
+        }
+    }
+
     /**
      * 获取租户1特有的订单统计信息
      */
@@ -143,23 +168,17 @@ public class OrderController {
             Map<String, Object> statistics = new HashMap<>();
             
             // 基础统计
-            statistics.put("totalOrders", orderStorage.size());
+            statistics.put("totalOrders", orderStore.size());
             statistics.put("tenantId", "tenant1");
             statistics.put("tenantName", "高级租户");
             
             // 按状态统计
-            Map<String, Long> statusCount = orderStorage.values().stream()
-                .collect(java.util.stream.Collectors.groupingBy(
-                    order -> order.getStatus() != null ? order.getStatus() : "UNKNOWN",
-                    java.util.stream.Collectors.counting()
-                ));
-            statistics.put("statusStatistics", statusCount);
+            OrderStatistics orderStatistics = orderStore.getStatistics();
+            statistics.put("statusStatistics", orderStatistics.getStatusCounts());
             
             // 特有功能统计
             statistics.put("smsNotificationsEnabled", true);
-            statistics.put("auditRequiredOrders", orderStorage.values().stream()
-                .mapToLong(order -> order.getAmount().compareTo(new java.math.BigDecimal("10000")) > 0 ? 1 : 0)
-                .sum());
+            statistics.put("auditRequiredOrders", orderStatistics.getHighValueCount());
             
             statistics.put("generatedAt", java.time.LocalDateTime.now());
             
@@ -176,7 +195,7 @@ public class OrderController {
     @PostMapping("/{orderId}/reprocess")
     public ResponseEntity<ApiResponse<String>> reprocessOrder(@PathVariable String orderId) {
         try {
-            Order order = orderStorage.get(orderId);
+            Order order = orderStore.findById(orderId);
             
             if (order == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -184,7 +203,9 @@ public class OrderController {
             }
             
             // 重新处理订单
-            orderProcessor.process(order);
+            orderProcessor.processOrder(order);
+            // 处理过程可能修改订单状态，重新保存以同步统计
+            orderStore.save(order);
             
             return ResponseEntity.ok(ApiResponse.success("订单重新处理成功", "订单已重新通过租户1的处理流程"));
         } catch (Exception e) {
@@ -202,7 +223,7 @@ public class OrderController {
             Map<String, Object> health = new HashMap<>();
             health.put("tenantId", "tenant1");
             health.put("status", "健康");
-            health.put("totalOrders", orderStorage.size());
+            health.put("totalOrders", orderStore.size());
             health.put("checkTime", java.time.LocalDateTime.now());
             health.put("features", java.util.Arrays.asList("SMS通知", "高额订单审核", "库存更新"));
             
@@ -213,6 +234,33 @@ public class OrderController {
         }
     }
 
+    /**
+     * 处理指标：按租户/场景统计各阶段延迟分位数（p50/p99/p999，单位微秒）、请求数与错误率
+     */
+    @GetMapping("/metrics")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> metrics() {
+        try {
+            Map<String, Object> metrics = new HashMap<>();
+            metrics.put("tenantId", "tenant1");
+            metrics.put("scenarios", universalProcessor.getMetrics().snapshot());
+            BusinessEventBus eventBus = universalProcessor.getEventBus();
+            if (eventBus != null) {
+                Map<String, Object> events = new HashMap<>();
+                events.put("published", eventBus.getPublishedCount());
+                events.put("dispatched", eventBus.getDispatchedCount());
+                events.put("pending", eventBus.getPendingEvents());
+                events.put("listenerFailures", eventBus.getListenerFailureCount());
+                metrics.put("eventBus", events);
+            }
+            metrics.put("checkTime", java.time.LocalDateTime.now());
+
+            return ResponseEntity.ok(ApiResponse.success("获取处理指标成功", metrics));
+        } catch (Exception e) {
+            return ResponseEntity.status(500)
+                .body(ApiResponse.error("获取处理指标失败: " + e.getMessage(), "METRICS_FAILED"));
+        }
+    }
+
     /**
      * 转换Order为OrderDto
      */
@@ -222,7 +270,7 @@ public class OrderController {
         dto.setUserId(order.getUserId());
         dto.setAmount(order.getAmount());
         dto.setStatus(order.getStatus());
-        dto.setCreatedAt(order.getCreatedAt());
+        dto.setCreatedAt(order.getCreateTime());
         
         if (order.getUser() != null) {
             dto.setUserName(order.getUser().getName());
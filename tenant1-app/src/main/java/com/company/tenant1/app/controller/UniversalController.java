@@ -1,5 +1,7 @@
 package com.company.tenant1.app.controller;
 
+import com.company.core.logging.CoreLogger;
+import com.company.core.logging.CoreLoggerFactory;
 import com.company.core.model.BusinessContext;
 import com.company.core.processor.UniversalProcessor;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,6 +10,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Tenant1 Universal Controller - Enterprise Edition
@@ -16,40 +19,46 @@ import java.util.UUID;
 @RequestMapping("/api/business")
 public class UniversalController {
 
+    private static final CoreLogger log = CoreLoggerFactory.getLogger(UniversalController.class);
+
     @Autowired
     private UniversalProcessor universalProcessor;
 
+    /**
+     * Processing runs on the processor's async executor, the servlet thread is released
+     * until the result is ready
+     */
     @PostMapping("/process")
-    public UniversalProcessor.ProcessResult processBusiness(@RequestBody Map<String, Object> request) {
+    public CompletableFuture<UniversalProcessor.ProcessResult> processBusiness(@RequestBody Map<String, Object> request) {
         BusinessContext context = buildBusinessContext(request);
         
-        System.out.println("TENANT1-APP: Processing " + context);
+        log.debug("TENANT1-APP: Processing {}", context);
         
-        return universalProcessor.processBusiness(context);
+        return universalProcessor.processBusinessAsync(context);
     }
 
     @PostMapping("/order")
-    public UniversalProcessor.ProcessResult processOrder(@RequestBody Map<String, Object> orderData) {
+    public CompletableFuture<UniversalProcessor.ProcessResult> processOrder(@RequestBody Map<String, Object> orderData) {
         return processBusinessScenario("order", "ORDER_PROCESS", orderData);
     }
 
     @PostMapping("/medical")
-    public UniversalProcessor.ProcessResult processMedical(@RequestBody Map<String, Object> medicalData) {
+    public CompletableFuture<UniversalProcessor.ProcessResult> processMedical(@RequestBody Map<String, Object> medicalData) {
         return processBusinessScenario("medical", "PRESCRIPTION", medicalData);
     }
 
     @PostMapping("/finance")
-    public UniversalProcessor.ProcessResult processFinance(@RequestBody Map<String, Object> financeData) {
+    public CompletableFuture<UniversalProcessor.ProcessResult> processFinance(@RequestBody Map<String, Object> financeData) {
         return processBusinessScenario("finance", "EXPENSE_AUDIT", financeData);
     }
 
     @PostMapping("/procurement")
-    public UniversalProcessor.ProcessResult processProcurement(@RequestBody Map<String, Object> procurementData) {
+    public CompletableFuture<UniversalProcessor.ProcessResult> processProcurement(@RequestBody Map<String, Object> procurementData) {
         return processBusinessScenario("procurement", "VENDOR_APPROVAL", procurementData);
     }
 
     @PostMapping("/hr")
-    public UniversalProcessor.ProcessResult processHR(@RequestBody Map<String, Object> hrData) {
+    public CompletableFuture<UniversalProcessor.ProcessResult> processHR(@RequestBody Map<String, Object> hrData) {
         return processBusinessScenario("hr", "EMPLOYEE_ONBOARD", hrData);
     }
 
@@ -72,7 +81,7 @@ public class UniversalController {
         return info;
     }
 
-    private UniversalProcessor.ProcessResult processBusinessScenario(String scenario, String businessType, Map<String, Object> data) {
+    private CompletableFuture<UniversalProcessor.ProcessResult> processBusinessScenario(String scenario, String businessType, Map<String, Object> data) {
         Map<String, Object> request = new HashMap<>();
         request.put("scenario", scenario);
         request.put("businessType", businessType);
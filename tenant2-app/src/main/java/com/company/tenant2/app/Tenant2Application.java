@@ -12,7 +12,7 @@ import org.springframework.context.annotation.ComponentScan;
 import java.math.BigDecimal;
 
 @SpringBootApplication
-@ComponentScan(basePackages = {"com.company.core", "com.company.tenant2"})
+@ComponentScan(basePackages = {"com.company.tenant2"})
 public class Tenant2Application implements CommandLineRunner {
 
     @Autowired
@@ -26,17 +26,21 @@ public class Tenant2Application implements CommandLineRunner {
     public void run(String... args) throws Exception {
         System.out.println("\n=== TENANT2 ENTERPRISE APPLICATION DEMO ===");
         
-        User user = new User("user2", "Jane Smith", "jane@enterprise.com", "987-654-3210");
+        User user = new User("user2", "Jane Smith");
+        user.setEmail("jane@enterprise.com");
+        user.setPhone("987-654-3210");
         
         System.out.println("\n--- Processing Small Enterprise Order ---");
-        Order order1 = new Order("order1", "user2", new BigDecimal("3000"));
+        Order order1 = new Order("user2", new BigDecimal("3000"));
+        order1.setId("order1");
         order1.setUser(user);
-        orderProcessor.process(order1);
+        orderProcessor.processOrder(order1);
         
         System.out.println("\n--- Processing Large Enterprise Order (Complex Validation) ---");
-        Order order2 = new Order("order2", "user2", new BigDecimal("25000"));
+        Order order2 = new Order("user2", new BigDecimal("25000"));
+        order2.setId("order2");
         order2.setUser(user);
-        orderProcessor.process(order2);
+        orderProcessor.processOrder(order2);
         
         System.out.println("\n=== ENTERPRISE DEMO COMPLETED ===\n");
     }
@@ -1,9 +1,14 @@
 package com.company.tenant2.app.controller;
 
 import com.company.core.dto.ApiResponse;
+import com.company.core.dto.CursorPage;
+import com.company.core.event.BusinessEventBus;
 import com.company.core.model.Order;
 import com.company.core.model.User;
 import com.company.core.processor.OrderProcessor;
+import com.company.core.processor.UniversalProcessor;
+import com.company.core.store.OrderStatistics;
+import com.company.core.store.OrderStore;
 import com.company.tenant2.app.dto.CreateOrderRequest;
 import com.company.tenant2.app.dto.OrderDto;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,10 +16,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -24,8 +29,13 @@ public class OrderController {
     @Autowired
     private OrderProcessor orderProcessor;
 
-    private final Map<String, Order> orderStorage = new HashMap<>();
-    private final Map<String, User> userStorage = new HashMap<>();
+    @Autowired
+    private UniversalProcessor universalProcessor;
+
+    @Autowired
+    private OrderStore orderStore;
+
+    private final Map<String, User> userStorage = new ConcurrentHashMap<>();
     
     @PostMapping
     public ResponseEntity<ApiResponse<OrderDto>> createOrder(@RequestBody CreateOrderRequest request) {
@@ -45,17 +55,19 @@ public class OrderController {
                     .body(ApiResponse.error("企业ID不能为空", "INVALID_ENTERPRISE_ID"));
             }
 
-            User user = new User(request.getUserId(), request.getUserName(), 
-                               request.getUserEmail(), request.getUserPhone());
+            User user = new User(request.getUserId(), request.getUserName());
+            user.setEmail(request.getUserEmail());
+            user.setPhone(request.getUserPhone());
             userStorage.put(user.getId(), user);
 
-            Order order = new Order(java.util.UUID.randomUUID().toString(), 
-                                  request.getUserId(), request.getAmount());
+            Order order = new Order(request.getUserId(), request.getAmount());
+            order.setId(java.util.UUID.randomUUID().toString());
             order.setUser(user);
+            order.setEnterpriseId(request.getEnterpriseId());
             
-            orderProcessor.process(order);
+            orderProcessor.processOrder(order);
             
-            orderStorage.put(order.getId(), order);
+            orderStore.save(order);
             
             OrderDto dto = convertToDto(order, request.getOrderType(), request.getEnterpriseId());
             return ResponseEntity.status(HttpStatus.CREATED)
@@ -70,7 +82,7 @@ public class OrderController {
     @GetMapping("/{orderId}")
     public ResponseEntity<ApiResponse<OrderDto>> getOrder(@PathVariable String orderId) {
         try {
-            Order order = orderStorage.get(orderId);
+            Order order = orderStore.findById(orderId);
             
             if (order == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -92,22 +104,12 @@ public class OrderController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String enterpriseId) {
         try {
-            List<Order> allOrders = new ArrayList<>(orderStorage.values());
-            
-            allOrders.sort((o1, o2) -> {
-                if (o1.getCreatedAt() == null && o2.getCreatedAt() == null) return 0;
-                if (o1.getCreatedAt() == null) return 1;
-                if (o2.getCreatedAt() == null) return -1;
-                return o2.getCreatedAt().compareTo(o1.getCreatedAt());
-            });
-            
-            int startIndex = page * size;
-            int endIndex = Math.min(startIndex + size, allOrders.size());
-            
-            List<Order> pageOrders = new ArrayList<>();
-            if (startIndex < allOrders.size()) {
-                pageOrders = allOrders.subList(startIndex, endIndex);
+            if (page < 0 || size < 1) {
+                return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("分页参数无效", "INVALID_PAGE"));
             }
+
+            List<Order> pageOrders = orderStore.findNewest((long) page * size, size);
             
             List<OrderDto> dtos = pageOrders.stream()
                 .map(order -> convertToDto(order, "ENTERPRISE", enterpriseId != null ? enterpriseId : "ENT-001"))
@@ -121,29 +123,48 @@ public class OrderController {
         }
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiResponse<CursorPage<OrderDto>>> scrollOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String enterpriseId) {
+        try {
+            if (size < 1) {
+                return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("分页参数无效", "INVALID_PAGE"));
+            }
+
+            CursorPage<OrderDto> page = orderStore.scroll(enterpriseId, cursor, size)
+                .map(order -> convertToDto(order, "ENTERPRISE",
+                    order.getEnterpriseId() != null ? order.getEnterpriseId() : "ENT-001"));
+            return ResponseEntity.ok(ApiResponse.success(page));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error("游标无效", "INVALID_CURSOR"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("获取订单列表失败: " + e.getMessage(), "LIST_FAILED"));
+        }
+    }
+
     @GetMapping("/tenant2-statistics")
     public ResponseEntity<ApiResponse<Map<String, Object>>> getTenant2Statistics() {
         try {
             Map<String, Object> statistics = new HashMap<>();
             
-            statistics.put("totalOrders", orderStorage.size());
+            statistics.put("totalOrders", orderStore.size());
             statistics.put("tenantId", "tenant2");
             statistics.put("tenantName", "企业租户");
             
-            Map<String, Long> statusCount = orderStorage.values().stream()
-                .collect(java.util.stream.Collectors.groupingBy(
-                    order -> order.getStatus() != null ? order.getStatus() : "UNKNOWN",
-                    java.util.stream.Collectors.counting()
-                ));
-            statistics.put("statusStatistics", statusCount);
+            OrderStatistics orderStatistics = orderStore.getStatistics();
+            statistics.put("statusStatistics", orderStatistics.getStatusCounts());
             
             statistics.put("approvalWorkflowEnabled", true);
             statistics.put("integrationEnabled", true);
-            statistics.put("highValueOrders", orderStorage.values().stream()
-                .mapToLong(order -> order.getAmount().compareTo(new java.math.BigDecimal("50000")) > 0 ? 1 : 0)
-                .sum());
+            statistics.put("highValueOrders", orderStatistics.getHighValueCount());
             
-            statistics.put("workflowTriggered", orderStorage.size());
+            statistics.put("workflowTriggered", orderStore.size());
             statistics.put("generatedAt", java.time.LocalDateTime.now());
             
             return ResponseEntity.ok(ApiResponse.success("租户2统计信息获取成功", statistics));
@@ -156,15 +177,13 @@ public class OrderController {
     @PostMapping("/{orderId}/approve")
     public ResponseEntity<ApiResponse<String>> approveOrder(@PathVariable String orderId) {
         try {
-            Order order = orderStorage.get(orderId);
+            Order order = orderStore.updateStatus(orderId, "APPROVED");
             
             if (order == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.error("订单不存在", "ORDER_NOT_FOUND"));
             }
             
-            order.setStatus("APPROVED");
-            
             return ResponseEntity.ok(ApiResponse.success("订单审批通过", "订单已通过企业审批流程"));
         } catch (Exception e) {
             return ResponseEntity.status(500)
@@ -175,14 +194,16 @@ public class OrderController {
     @PostMapping("/{orderId}/workflow-restart")  
     public ResponseEntity<ApiResponse<String>> restartWorkflow(@PathVariable String orderId) {
         try {
-            Order order = orderStorage.get(orderId);
+            Order order = orderStore.findById(orderId);
             
             if (order == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.error("订单不存在", "ORDER_NOT_FOUND"));
             }
             
-            orderProcessor.process(order);
+            orderProcessor.processOrder(order);
+            // 处理过程可能修改订单状态，重新保存以同步统计
+            orderStore.save(order);
             
             return ResponseEntity.ok(ApiResponse.success("工作流重启成功", "订单工作流已重新启动"));
         } catch (Exception e) {
@@ -215,7 +236,7 @@ public class OrderController {
             Map<String, Object> health = new HashMap<>();
             health.put("tenantId", "tenant2");
             health.put("status", "健康");
-            health.put("totalOrders", orderStorage.size());
+            health.put("totalOrders", orderStore.size());
             health.put("checkTime", java.time.LocalDateTime.now());
             health.put("features", java.util.Arrays.asList("企业工作流", "订单审批", "系统集成"));
             health.put("mode", "企业模式");
@@ -227,13 +248,40 @@ public class OrderController {
         }
     }
 
+    /**
+     * 处理指标：按租户/场景统计各阶段延迟分位数（p50/p99/p999，单位微秒）、请求数与错误率
+     */
+    @GetMapping("/metrics")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> metrics() {
+        try {
+            Map<String, Object> metrics = new HashMap<>();
+            metrics.put("tenantId", "tenant2");
+            metrics.put("scenarios", universalProcessor.getMetrics().snapshot());
+            BusinessEventBus eventBus = universalProcessor.getEventBus();
+            if (eventBus != null) {
+                Map<String, Object> events = new HashMap<>();
+                events.put("published", eventBus.getPublishedCount());
+                events.put("dispatched", eventBus.getDispatchedCount());
+                events.put("pending", eventBus.getPendingEvents());
+                events.put("listenerFailures", eventBus.getListenerFailureCount());
+                metrics.put("eventBus", events);
+            }
+            metrics.put("checkTime", java.time.LocalDateTime.now());
+
+            return ResponseEntity.ok(ApiResponse.success("获取处理指标成功", metrics));
+        } catch (Exception e) {
+            return ResponseEntity.status(500)
+                .body(ApiResponse.error("获取处理指标失败: " + e.getMessage(), "METRICS_FAILED"));
+        }
+    }
+
     private OrderDto convertToDto(Order order, String orderType, String enterpriseId) {
         OrderDto dto = new OrderDto();
         dto.setId(order.getId());
         dto.setUserId(order.getUserId());
         dto.setAmount(order.getAmount());
         dto.setStatus(order.getStatus());
-        dto.setCreatedAt(order.getCreatedAt());
+        dto.setCreatedAt(order.getCreateTime());
         dto.setOrderType(orderType);
         dto.setEnterpriseId(enterpriseId);
         dto.setWorkflowStatus("ACTIVE");
@@ -1,5 +1,7 @@
 package com.company.tenant2.app.controller;
 
+import com.company.core.logging.CoreLogger;
+import com.company.core.logging.CoreLoggerFactory;
 import com.company.core.model.BusinessContext;
 import com.company.core.processor.UniversalProcessor;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,6 +10,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Tenant2 Universal Controller - Professional Edition
@@ -16,50 +19,56 @@ import java.util.UUID;
 @RequestMapping("/api/business")
 public class UniversalController {
 
+    private static final CoreLogger log = CoreLoggerFactory.getLogger(UniversalController.class);
+
     @Autowired
     private UniversalProcessor universalProcessor;
 
+    /**
+     * Processing runs on the processor's async executor, the servlet thread is released
+     * until the result is ready
+     */
     @PostMapping("/process")
-    public UniversalProcessor.ProcessResult processBusiness(@RequestBody Map<String, Object> request) {
+    public CompletableFuture<UniversalProcessor.ProcessResult> processBusiness(@RequestBody Map<String, Object> request) {
         BusinessContext context = buildBusinessContext(request);
         
-        System.out.println("TENANT2-APP: Processing " + context);
+        log.debug("TENANT2-APP: Processing {}", context);
         
-        return universalProcessor.processBusiness(context);
+        return universalProcessor.processBusinessAsync(context);
     }
 
     @PostMapping("/order")
-    public UniversalProcessor.ProcessResult processOrder(@RequestBody Map<String, Object> orderData) {
+    public CompletableFuture<UniversalProcessor.ProcessResult> processOrder(@RequestBody Map<String, Object> orderData) {
         return processBusinessScenario("order", "ORDER_PROCESS", orderData);
     }
 
     @PostMapping("/medical")
-    public UniversalProcessor.ProcessResult processMedical(@RequestBody Map<String, Object> medicalData) {
+    public CompletableFuture<UniversalProcessor.ProcessResult> processMedical(@RequestBody Map<String, Object> medicalData) {
         return processBusinessScenario("medical", "PRESCRIPTION", medicalData);
     }
 
     @PostMapping("/analytics")
-    public UniversalProcessor.ProcessResult processAnalytics(@RequestBody Map<String, Object> analyticsData) {
+    public CompletableFuture<UniversalProcessor.ProcessResult> processAnalytics(@RequestBody Map<String, Object> analyticsData) {
         return processBusinessScenario("analytics", "INTELLIGENT_ANALYSIS", analyticsData);
     }
 
     @PostMapping("/warehouse")
-    public UniversalProcessor.ProcessResult processWarehouse(@RequestBody Map<String, Object> warehouseData) {
+    public CompletableFuture<UniversalProcessor.ProcessResult> processWarehouse(@RequestBody Map<String, Object> warehouseData) {
         return processBusinessScenario("warehouse", "INVENTORY_OPTIMIZE", warehouseData);
     }
 
     @PostMapping("/customer-service")
-    public UniversalProcessor.ProcessResult processCustomerService(@RequestBody Map<String, Object> serviceData) {
+    public CompletableFuture<UniversalProcessor.ProcessResult> processCustomerService(@RequestBody Map<String, Object> serviceData) {
         return processBusinessScenario("customer-service", "AI_SUPPORT", serviceData);
     }
 
     @PostMapping("/marketing")
-    public UniversalProcessor.ProcessResult processMarketing(@RequestBody Map<String, Object> marketingData) {
+    public CompletableFuture<UniversalProcessor.ProcessResult> processMarketing(@RequestBody Map<String, Object> marketingData) {
         return processBusinessScenario("marketing", "PRECISION_CAMPAIGN", marketingData);
     }
 
     @PostMapping("/quality")
-    public UniversalProcessor.ProcessResult processQuality(@RequestBody Map<String, Object> qualityData) {
+    public CompletableFuture<UniversalProcessor.ProcessResult> processQuality(@RequestBody Map<String, Object> qualityData) {
         return processBusinessScenario("quality", "INTELLIGENT_QC", qualityData);
     }
 
@@ -92,7 +101,7 @@ public class UniversalController {
         return info;
     }
 
-    private UniversalProcessor.ProcessResult processBusinessScenario(String scenario, String businessType, Map<String, Object> data) {
+    private CompletableFuture<UniversalProcessor.ProcessResult> processBusinessScenario(String scenario, String businessType, Map<String, Object> data) {
         Map<String, Object> request = new HashMap<>();
         request.put("scenario", scenario);
         request.put("businessType", businessType);